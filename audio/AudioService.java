@@ -0,0 +1,223 @@
+package audio;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import interfaces.IToneBackend;
+
+public class AudioService {
+
+	/**
+	 * <p>The one audio service of the program. It plays the tones of the buttons with one
+	 * of the {@link IToneBackend}s:</p>
+	 * <ul>
+	 * <li>"midi": the MIDI synthesizer of the JDK ({@link MidiToneBackend}).</li>
+	 * <li>"pcm": pre-synthesized samples mixed into a small-buffer line
+	 * ({@link PcmToneBackend}), which has a lower latency.</li>
+	 * <li>"null": the PCM mixer writing into a {@link NullSink}, for machines without a
+	 * sound card.</li>
+	 * </ul>
+	 * <p>The backend is chosen with -Dsimon.audio (midi by default) and can be changed
+	 * while the program runs with setBackend(). Backends are opened and closed on one
+	 * daemon thread, "simon-audio", so that never blocks the Event Dispatch Thread:</p>
+	 * <ul>
+	 * <li>start() opens the backend there. Tones requested before it is open are skipped.
+	 * The returned future completes when the backend is open, or could not be opened.</li>
+	 * <li>playTone() hands the tone to the backend and returns at once.</li>
+	 * <li>When the sound is off, playTone() returns at once and nothing is synthesized.</li>
+	 * <li>shutdown() stops every note and closes the backend. It is also run by a
+	 * shutdown hook, so the backend is closed whichever way the program exits.</li>
+	 * </ul>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final String BACKEND_PROPERTY = "simon.audio";
+
+	//Singleton class
+	private static final AudioService INSTANCE = new AudioService();
+
+	/**
+	 * <p>Static function which returns the only one instance of this class.</p>
+	 *
+	 * @return the audio service.
+	 */
+	public static AudioService getInstance() {
+		return INSTANCE;
+	}
+
+	//Instance variables
+	private final ScheduledExecutorService executor;
+	private volatile IToneBackend backend;
+	private volatile boolean isMuted;
+	private CompletableFuture<Boolean> started;
+
+	private AudioService() {
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "simon-audio");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		executor.setRemoveOnCancelPolicy(true);
+		this.executor = executor;
+	}
+
+	/**
+	 * <p>Method opens the backend chosen with -Dsimon.audio on the audio thread and
+	 * registers the shutdown hook. Calling it again only returns the future of the
+	 * first call.</p>
+	 *
+	 * @return future which completes with true when the backend is open.
+	 */
+	public synchronized CompletableFuture<Boolean> start() {
+		if(this.started != null) {
+			return this.started;
+		}
+		this.started = setBackend(System.getProperty(BACKEND_PROPERTY, MidiToneBackend.NAME));
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				shutdown();
+			}
+		}, "simon-audio-shutdown"));
+		return this.started;
+	}
+
+	/**
+	 * <p>Method opens a new backend on the audio thread, and when it is open, closes the
+	 * current one. If the new backend cannot be opened, the current one is kept.</p>
+	 *
+	 * @param name "midi", "pcm" or "null".
+	 * @return future which completes with true when the new backend is open.
+	 * @throws IllegalArgumentException if there is no backend with this name.
+	 */
+	public CompletableFuture<Boolean> setBackend(String name) {
+		final IToneBackend next = createBackend(name);
+		final CompletableFuture<Boolean> opened = new CompletableFuture<Boolean>();
+		try {
+			this.executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					long start = System.nanoTime();
+					if(!next.open()) {
+						System.out.println("Cannot open the " + next.getName() + " audio backend");
+						opened.complete(false);
+						return;
+					}
+					IToneBackend previous = backend;
+					backend = next;
+					System.out.println("Audio (" + next.getName() + ") ready in " + (System.nanoTime() - start) / 1000000 + " ms");
+					opened.complete(true);
+					if(previous != null) {
+						previous.close();
+					}
+				}
+			});
+		} catch(RejectedExecutionException rex) {
+			//The service is shut down, the program is exiting
+			opened.complete(false);
+		}
+		return opened;
+	}
+
+	/**
+	 * <p>Method plays the tone of a button. It returns immediately.</p>
+	 *
+	 * @param button index of the button.
+	 * @param durationMillis how long the tone is held.
+	 */
+	public void playTone(int button, long durationMillis) {
+		IToneBackend backend = this.backend;
+		if(this.isMuted || backend == null) {
+			return;
+		}
+		backend.play(button, durationMillis);
+	}
+
+	/**
+	 * <p>Mutator method which turns the sound off or on. Notes which are playing when the
+	 * sound is turned off are stopped.</p>
+	 *
+	 * @param isMuted true to turn the sound off.
+	 */
+	public void setMuted(boolean isMuted) {
+		this.isMuted = isMuted;
+		IToneBackend backend = this.backend;
+		if(isMuted && backend != null) {
+			backend.stopAll();
+		}
+	}
+
+	/**
+	 * <p>Accessor method which returns true if the sound is off.</p>
+	 *
+	 * @return isMuted.
+	 */
+	public boolean isMuted() {
+		return this.isMuted;
+	}
+
+	/**
+	 * <p>Accessor method which returns true once a backend is open.</p>
+	 *
+	 * @return true if tones can be played.
+	 */
+	public boolean isReady() {
+		return this.backend != null;
+	}
+
+	/**
+	 * <p>Accessor method which returns the name of the open backend.</p>
+	 *
+	 * @return name of the backend, or null if none is open yet.
+	 */
+	public String getBackendName() {
+		IToneBackend backend = this.backend;
+		return backend == null ? null : backend.getName();
+	}
+
+	/**
+	 * <p>Method stops every note, closes the backend and stops the audio thread. It
+	 * waits at most one second for the audio thread.</p>
+	 */
+	public void shutdown() {
+		if(this.executor.isShutdown()) {
+			return;
+		}
+		this.executor.shutdownNow();
+		try {
+			this.executor.awaitTermination(1, TimeUnit.SECONDS);
+		} catch(InterruptedException ix) {
+			Thread.currentThread().interrupt();
+		}
+		//The audio thread is stopped, so the backend can be closed from this thread
+		IToneBackend backend = this.backend;
+		this.backend = null;
+		if(backend != null) {
+			backend.close();
+		}
+	}
+
+	/**
+	 * <p>Private method which creates a backend, which is not open yet.</p>
+	 */
+	private IToneBackend createBackend(String name) {
+		if(MidiToneBackend.NAME.equals(name)) {
+			return new MidiToneBackend(this.executor);
+		} else if(PcmToneBackend.NAME.equals(name)) {
+			return new PcmToneBackend(new LineSink(), PcmToneBackend.NAME);
+		} else if(PcmToneBackend.NULL_NAME.equals(name)) {
+			return new PcmToneBackend(new NullSink(), PcmToneBackend.NULL_NAME);
+		}
+		throw new IllegalArgumentException("Unknown audio backend: " + name);
+	}
+}
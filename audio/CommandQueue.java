@@ -0,0 +1,112 @@
+package audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class CommandQueue {
+
+	/**
+	 * <p>Bounded lock-free queue which carries the commands of the game threads to the
+	 * mixer thread. Every slot has a sequence number (the array-based queue of Dmitry
+	 * Vyukov): a producer claims a slot with one CAS on the tail, writes the command and
+	 * its timestamp, and publishes it by setting the sequence of the slot. There is only
+	 * one consumer, so poll() needs no CAS.</p>
+	 * <p>A command is a long and its timestamp is a long, so nothing is allocated. When
+	 * the queue is full, offer() returns false and the command is dropped.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Instance variables
+	private final int mask;
+	private final AtomicLongArray sequences;
+	private final long[] commands;
+	private final long[] stamps;
+	private final AtomicLong tail;
+	private long head;
+	private long command;
+	private long stamp;
+
+	/**
+	 * <p>Constructor method creates an empty queue.</p>
+	 *
+	 * @param capacity number of slots, a power of two.
+	 */
+	public CommandQueue(int capacity) {
+		if(capacity < 2 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+		}
+		this.mask = capacity - 1;
+		this.sequences = new AtomicLongArray(capacity);
+		for(int i = 0; i < capacity; i++) {
+			this.sequences.set(i, i);
+		}
+		this.commands = new long[capacity];
+		this.stamps = new long[capacity];
+		this.tail = new AtomicLong();
+		this.head = 0;
+	}
+
+	/**
+	 * <p>Method appends a command. It can be called from any thread.</p>
+	 *
+	 * @param command the command.
+	 * @param stamp a timestamp of the command, e.g. System.nanoTime().
+	 * @return false if the queue is full.
+	 */
+	public boolean offer(long command, long stamp) {
+		long position = this.tail.get();
+		while(true) {
+			int index = (int) position & this.mask;
+			long difference = this.sequences.get(index) - position;
+			if(difference == 0) {
+				if(this.tail.compareAndSet(position, position + 1)) {
+					this.commands[index] = command;
+					this.stamps[index] = stamp;
+					this.sequences.set(index, position + 1);
+					return true;
+				}
+				position = this.tail.get();
+			} else if(difference < 0) {
+				return false;
+			} else {
+				position = this.tail.get();
+			}
+		}
+	}
+
+	/**
+	 * <p>Method takes the oldest command. It must only be called from the consumer
+	 * thread. The command is returned by getCommand() and getStamp().</p>
+	 *
+	 * @return false if the queue is empty.
+	 */
+	public boolean poll() {
+		int index = (int) this.head & this.mask;
+		if(this.sequences.get(index) != this.head + 1) {
+			return false;
+		}
+		this.command = this.commands[index];
+		this.stamp = this.stamps[index];
+		this.sequences.set(index, this.head + this.mask + 1);
+		this.head++;
+		return true;
+	}
+
+	/**
+	 * <p>Accessor method which returns the last command taken by poll().</p>
+	 *
+	 * @return command.
+	 */
+	public long getCommand() {
+		return this.command;
+	}
+
+	/**
+	 * <p>Accessor method which returns the timestamp of the last command taken by poll().</p>
+	 *
+	 * @return stamp.
+	 */
+	public long getStamp() {
+		return this.stamp;
+	}
+}
@@ -0,0 +1,55 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+import interfaces.IPcmSink;
+
+public class LineSink implements IPcmSink {
+
+	/**
+	 * <p>Plays the samples of the PCM mixer on a SourceDataLine of the default mixer. The
+	 * line is opened with a small buffer, so a tone is heard a few milliseconds after it
+	 * is mixed. The driver may give a larger buffer than the one asked for.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Instance variables
+	private SourceDataLine line;
+
+	@Override
+	public void open(AudioFormat format, int bufferFrames) throws LineUnavailableException {
+		this.line = AudioSystem.getSourceDataLine(format);
+		this.line.open(format, bufferFrames * format.getFrameSize());
+		this.line.start();
+		if(PcmToneBackend.IS_TRACE_ON) {
+			System.out.println("PCM line buffer: " + this.line.getBufferSize() / format.getFrameSize() + " frames");
+		}
+	}
+
+	@Override
+	public void write(byte[] data, int length) {
+		this.line.write(data, 0, length);
+	}
+
+	@Override
+	public long getFramePosition() {
+		return this.line.getLongFramePosition();
+	}
+
+	@Override
+	public void close() {
+		if(this.line != null) {
+			this.line.stop();
+			this.line.flush();
+			this.line.close();
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "line";
+	}
+}
@@ -0,0 +1,141 @@
+package audio;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sound.midi.MidiChannel;
+import javax.sound.midi.MidiSystem;
+import javax.sound.midi.MidiUnavailableException;
+import javax.sound.midi.Synthesizer;
+
+import interfaces.IToneBackend;
+
+public class MidiToneBackend implements IToneBackend {
+
+	/**
+	 * <p>Plays the tones of the buttons on the MIDI synthesizer of the JDK. Every call to
+	 * the synthesizer runs on the audio thread of the {@link AudioService}: play()
+	 * schedules the noteOn right away, and the noteOn schedules the noteOff after the
+	 * duration.</p>
+	 * <p>Every noteOn of a button starts a new generation of its note. A noteOff is
+	 * skipped if the button was played again since its noteOn, so it doesn't cut the new
+	 * tone short.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final String NAME = "midi";
+
+	//Notes of the buttons, in the order of the button constants of the GamePanel: A, E, C# and the high E
+	static final int[] BUTTON_NOTES = new int[] {69, 64, 73, 76};
+	private static final int CHANNEL = 0;
+	private static final int VELOCITY = 80;
+
+	//Instance variables
+	private final ScheduledExecutorService executor;
+	private final int[] generations;			//Only used on the audio thread
+	private Synthesizer synthesizer;
+	private volatile MidiChannel channel;
+
+	/**
+	 * <p>Constructor method creates an instance of this class.</p>
+	 *
+	 * @param executor the audio thread, which runs every call to the synthesizer.
+	 */
+	public MidiToneBackend(ScheduledExecutorService executor) {
+		this.executor = executor;
+		this.generations = new int[BUTTON_NOTES.length];
+	}
+
+	/**
+	 * <p>Method opens the synthesizer. Loading the soundbank takes a while, so it must be
+	 * called on the audio thread.</p>
+	 *
+	 * @return true if the synthesizer is open.
+	 */
+	@Override
+	public boolean open() {
+		try {
+			this.synthesizer = MidiSystem.getSynthesizer();
+			this.synthesizer.open();
+			this.channel = this.synthesizer.getChannels()[CHANNEL];
+			return true;
+		} catch(MidiUnavailableException mux) {
+			System.out.println(mux.getMessage());
+			return false;
+		}
+	}
+
+	@Override
+	public void play(final int button, final long durationMillis) {
+		final int note = BUTTON_NOTES[button];
+		try {
+			this.executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					MidiChannel channel = MidiToneBackend.this.channel;
+					if(channel != null) {
+						channel.noteOn(note, VELOCITY);
+					}
+					final int generation = ++generations[button];
+					try {
+						executor.schedule(new Runnable() {
+
+							@Override
+							public void run() {
+								MidiChannel channel = MidiToneBackend.this.channel;
+								if(channel != null && generations[button] == generation) {
+									channel.noteOff(note);
+								}
+							}
+						}, durationMillis, TimeUnit.MILLISECONDS);
+					} catch(RejectedExecutionException rex) {
+						//The service is shut down, close() stops every note
+					}
+				}
+			});
+		} catch(RejectedExecutionException rex) {
+			//The service is shut down, the program is exiting
+		}
+	}
+
+	@Override
+	public void stopAll() {
+		try {
+			this.executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					MidiChannel channel = MidiToneBackend.this.channel;
+					if(channel != null) {
+						channel.allNotesOff();
+					}
+				}
+			});
+		} catch(RejectedExecutionException rex) {
+			//The service is shut down, the program is exiting
+		}
+	}
+
+	/**
+	 * <p>Method stops every note and closes the synthesizer. It is called on the audio
+	 * thread, or after the audio thread is stopped.</p>
+	 */
+	@Override
+	public void close() {
+		MidiChannel channel = this.channel;
+		this.channel = null;
+		if(channel != null) {
+			channel.allNotesOff();
+		}
+		if(this.synthesizer != null) {
+			this.synthesizer.close();
+		}
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+}
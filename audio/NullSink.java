@@ -0,0 +1,92 @@
+package audio;
+
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sound.sampled.AudioFormat;
+
+import interfaces.IPcmSink;
+
+public class NullSink implements IPcmSink {
+
+	/**
+	 * <p>Sink which discards the samples of the PCM mixer, for machines without a sound
+	 * card (e.g. headless CI). It emulates the clock of a sound card: frames are "played"
+	 * at the sample rate from the moment it is opened, and write() waits while the
+	 * emulated buffer is full. So the mixer runs at the same pace as with a real line and
+	 * the output latency is measured the same way.</p>
+	 * <p>Frames which aren't silent are counted, so a test can check that the tones were
+	 * mixed.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Instance variables
+	private float sampleRate;
+	private int frameSize;
+	private int bufferFrames;
+	private long startNanos;
+	private long framesWritten;
+	private volatile long signalFrames;
+
+	@Override
+	public void open(AudioFormat format, int bufferFrames) {
+		this.sampleRate = format.getSampleRate();
+		this.frameSize = format.getFrameSize();
+		this.bufferFrames = bufferFrames;
+		this.startNanos = System.nanoTime();
+		this.framesWritten = 0;
+	}
+
+	@Override
+	public void write(byte[] data, int length) {
+		int frames = length / this.frameSize;
+		//After an underrun the emulated clock waits for the new samples, like a real line
+		long played = (long) ((System.nanoTime() - this.startNanos) * (double) this.sampleRate / 1e9);
+		if(played > this.framesWritten) {
+			this.startNanos += (long) ((played - this.framesWritten) * 1e9 / this.sampleRate);
+		}
+		long signal = 0;
+		for(int i = 0; i < length; i += this.frameSize) {
+			for(int j = 0; j < this.frameSize; j++) {
+				if(data[i + j] != 0) {
+					signal++;
+					break;
+				}
+			}
+		}
+		this.signalFrames += signal;
+		this.framesWritten += frames;
+		//Wait until the emulated buffer has room for the next write
+		while(this.framesWritten - getFramePosition() > this.bufferFrames) {
+			long excess = this.framesWritten - getFramePosition() - this.bufferFrames;
+			LockSupport.parkNanos((long) (excess * 1e9 / this.sampleRate));
+			if(Thread.interrupted()) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	@Override
+	public long getFramePosition() {
+		long played = (long) ((System.nanoTime() - this.startNanos) * (double) this.sampleRate / 1e9);
+		return Math.min(played, this.framesWritten);
+	}
+
+	@Override
+	public void close() {
+	}
+
+	@Override
+	public String getName() {
+		return "null";
+	}
+
+	/**
+	 * <p>Accessor method which returns the number of frames written which weren't silent.</p>
+	 *
+	 * @return number of frames.
+	 */
+	public long getSignalFrames() {
+		return this.signalFrames;
+	}
+}
@@ -0,0 +1,258 @@
+package audio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+
+import interfaces.IPcmSink;
+import interfaces.IToneBackend;
+import monitoring.GameMetrics;
+
+public class PcmToneBackend implements IToneBackend {
+
+	/**
+	 * <p>Plays the tones of the buttons as PCM samples, without the MIDI synthesizer.</p>
+	 * <ul>
+	 * <li>open() synthesizes the four tones once, into direct buffers, and starts the mixer
+	 * thread, "simon-pcm-mixer".</li>
+	 * <li>play() and stopAll() only put a command into a lock-free {@link CommandQueue},
+	 * so the game thread never waits for the audio.</li>
+	 * <li>The mixer takes the commands, mixes the playing tones into short periods of
+	 * PERIOD_FRAMES frames and writes them into the {@link IPcmSink}. The sink is opened
+	 * with a buffer of a few periods, so a tone is played a few milliseconds after it is
+	 * requested. The line is fed continuously, with silence between the tones, so it
+	 * never has to restart.</li>
+	 * <li>The output latency, from play() until the sink has played the first frame of the
+	 * tone, is recorded in the simon_audio_output_latency_seconds metric. With
+	 * -Dsimon.audioTrace=true, the buffer of the line and the latency are also printed
+	 * when the backend is opened and closed.</li>
+	 * </ul>
+	 * <p>A tone is at most TONE_MILLIS long; longer tones are cut there.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final String NAME = "pcm";
+	public static final String NULL_NAME = "null";
+
+	//Diagnostics are only printed if -Dsimon.audioTrace=true, the metrics have them anyway
+	static final boolean IS_TRACE_ON = "true".equals(System.getProperty("simon.audioTrace"));
+
+	public static final int SAMPLE_RATE = 44100;
+	public static final int PERIOD_FRAMES = 128;
+	public static final int BUFFER_PERIODS = 4;
+	public static final int TONE_MILLIS = 2000;
+	private static final int TONE_FRAMES = SAMPLE_RATE / 1000 * TONE_MILLIS;
+	private static final int ATTACK_FRAMES = SAMPLE_RATE / 200;
+	private static final int RELEASE_FRAMES = SAMPLE_RATE / 100;
+	private static final double AMPLITUDE = 0.2 * Short.MAX_VALUE;
+
+	//Commands of the queue: type in the two highest bits, button and duration in frames below
+	private static final long PLAY = 1L << 62;
+	private static final long STOP_ALL = 2L << 62;
+
+	//Instance variables
+	private final IPcmSink sink;
+	private final String name;
+	private final AudioFormat format;
+	private final CommandQueue commands;
+	private final ShortBuffer[] tones;
+	private final int[] positions;
+	private final int[] holdFrames;
+	private final int[] releaseFrames;
+	private final long[] pendingStamps;
+	private final long[] pendingFrames;
+	private final byte[] period;
+	private long framesMixed;
+	private Thread mixer;
+	private volatile boolean isRunning;
+
+	/**
+	 * <p>Constructor method creates an instance of this class.</p>
+	 *
+	 * @param sink where the mixed samples are written.
+	 * @param name name of the backend.
+	 */
+	public PcmToneBackend(IPcmSink sink, String name) {
+		int buttons = MidiToneBackend.BUTTON_NOTES.length;
+		this.sink = sink;
+		this.name = name;
+		this.format = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+		this.commands = new CommandQueue(64);
+		this.tones = new ShortBuffer[buttons];
+		this.positions = new int[buttons];
+		this.holdFrames = new int[buttons];
+		this.releaseFrames = new int[buttons];
+		this.pendingStamps = new long[buttons];
+		this.pendingFrames = new long[buttons];
+		this.period = new byte[PERIOD_FRAMES * this.format.getFrameSize()];
+	}
+
+	/**
+	 * <p>Method synthesizes the tones, opens the sink and starts the mixer thread.</p>
+	 *
+	 * @return true if the sink is open.
+	 */
+	@Override
+	public boolean open() {
+		for(int button = 0; button < this.tones.length; button++) {
+			this.tones[button] = synthesize(MidiToneBackend.BUTTON_NOTES[button]);
+		}
+		try {
+			this.sink.open(this.format, PERIOD_FRAMES * BUFFER_PERIODS);
+		} catch(LineUnavailableException | IllegalArgumentException lux) {
+			System.out.println(lux.getMessage());
+			return false;
+		}
+		this.isRunning = true;
+		this.mixer = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				mix();
+			}
+		}, "simon-pcm-mixer");
+		this.mixer.setDaemon(true);
+		this.mixer.setPriority(Thread.MAX_PRIORITY);
+		this.mixer.start();
+		return true;
+	}
+
+	@Override
+	public void play(int button, long durationMillis) {
+		long frames = Math.min(durationMillis * SAMPLE_RATE / 1000, TONE_FRAMES);
+		if(!this.commands.offer(PLAY | ((long) button << 32) | frames, System.nanoTime())) {
+			GameMetrics.AUDIO_COMMANDS_DROPPED.increment();
+		}
+	}
+
+	@Override
+	public void stopAll() {
+		if(!this.commands.offer(STOP_ALL, System.nanoTime())) {
+			GameMetrics.AUDIO_COMMANDS_DROPPED.increment();
+		}
+	}
+
+	/**
+	 * <p>Method stops the mixer thread and closes the sink. With -Dsimon.audioTrace=true,
+	 * it prints the measured output latency.</p>
+	 */
+	@Override
+	public void close() {
+		this.isRunning = false;
+		if(this.mixer != null) {
+			try {
+				this.mixer.join(1000);
+			} catch(InterruptedException ix) {
+				Thread.currentThread().interrupt();
+			}
+			this.sink.close();
+			this.mixer = null;
+			if(IS_TRACE_ON) {
+				System.out.printf("PCM output latency (%s): p50 %.1f ms, p99 %.1f ms over %d tones%n", this.sink.getName(),
+						GameMetrics.AUDIO_OUTPUT_LATENCY.getNanosAtPercentile(50) / 1e6,
+						GameMetrics.AUDIO_OUTPUT_LATENCY.getNanosAtPercentile(99) / 1e6,
+						GameMetrics.AUDIO_OUTPUT_LATENCY.getCount());
+			}
+		}
+	}
+
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * <p>Private method which is the loop of the mixer thread.</p>
+	 */
+	private void mix() {
+		while(this.isRunning) {
+			while(this.commands.poll()) {
+				execute(this.commands.getCommand(), this.commands.getStamp());
+			}
+			mixPeriod();
+			this.sink.write(this.period, this.period.length);
+			this.framesMixed += PERIOD_FRAMES;
+
+			//Record the latency of the tones whose first frame has been played
+			long played = this.sink.getFramePosition();
+			for(int button = 0; button < this.pendingStamps.length; button++) {
+				if(this.pendingStamps[button] != 0 && played >= this.pendingFrames[button]) {
+					GameMetrics.AUDIO_OUTPUT_LATENCY.recordSince(this.pendingStamps[button]);
+					this.pendingStamps[button] = 0;
+				}
+			}
+		}
+	}
+
+	/**
+	 * <p>Private method which executes a command on the mixer thread. A tone which is
+	 * played again starts from the beginning.</p>
+	 */
+	private void execute(long command, long stamp) {
+		if((command & STOP_ALL) == STOP_ALL) {
+			for(int button = 0; button < this.holdFrames.length; button++) {
+				this.holdFrames[button] = 0;
+				this.pendingStamps[button] = 0;
+			}
+			return;
+		}
+		int button = (int) (command >>> 32) & 3;
+		int frames = (int) command;
+		this.positions[button] = 0;
+		this.holdFrames[button] = Math.max(0, frames - RELEASE_FRAMES);
+		this.releaseFrames[button] = RELEASE_FRAMES;
+		this.pendingStamps[button] = stamp;
+		this.pendingFrames[button] = this.framesMixed;
+	}
+
+	/**
+	 * <p>Private method which mixes the playing tones into the next period. A tone fades
+	 * out during RELEASE_FRAMES at the end, so stopping it doesn't click.</p>
+	 */
+	private void mixPeriod() {
+		byte[] period = this.period;
+		for(int frame = 0; frame < PERIOD_FRAMES; frame++) {
+			int sample = 0;
+			for(int button = 0; button < this.tones.length; button++) {
+				int release = this.releaseFrames[button];
+				if(release == 0) {
+					continue;
+				}
+				int value = this.tones[button].get(this.positions[button]++);
+				if(this.holdFrames[button] > 0) {
+					this.holdFrames[button]--;
+				} else {
+					value = value * release / RELEASE_FRAMES;
+					this.releaseFrames[button] = release - 1;
+				}
+				sample += value;
+			}
+			if(sample > Short.MAX_VALUE) {
+				sample = Short.MAX_VALUE;
+			} else if(sample < Short.MIN_VALUE) {
+				sample = Short.MIN_VALUE;
+			}
+			period[2 * frame] = (byte) sample;
+			period[2 * frame + 1] = (byte) (sample >> 8);
+		}
+	}
+
+	/**
+	 * <p>Private static method which synthesizes the tone of a MIDI note: the fundamental
+	 * and two softer harmonics, with a short attack so the tone doesn't click.</p>
+	 */
+	private static ShortBuffer synthesize(int note) {
+		double frequency = 440 * Math.pow(2, (note - 69) / 12.0);
+		ShortBuffer tone = ByteBuffer.allocateDirect(TONE_FRAMES * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+		for(int i = 0; i < TONE_FRAMES; i++) {
+			double phase = 2 * Math.PI * frequency * i / SAMPLE_RATE;
+			double value = Math.sin(phase) + 0.3 * Math.sin(2 * phase) + 0.1 * Math.sin(3 * phase);
+			double envelope = i < ATTACK_FRAMES ? (double) i / ATTACK_FRAMES : 1;
+			tone.put(i, (short) Math.round(AMPLITUDE * envelope * value / 1.4));
+		}
+		return tone;
+	}
+}
@@ -0,0 +1,148 @@
+package benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BaselineComparator {
+
+	/**
+	 * <p>Compares the CSV results of a JMH run with the stored baseline. Every row
+	 * (benchmark, parameters and secondary metrics like gc.alloc.rate.norm) is compared
+	 * on its own. Rows with a time or B/op unit are worse when they grow, rows with an
+	 * ops/time unit are worse when they shrink. A row which got worse by more than the
+	 * threshold percentage is a regression, and the program exits with status 1.</p>
+	 * <p>Usage: java benchmarks.BaselineComparator baseline.csv results.csv [threshold %]</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Allocation rates below this are noise (escape analysis may or may not kick in)
+	private static final double MIN_BYTES_PER_OP = 1.0;
+
+	public static void main(String[] args) throws IOException {
+		if(args.length < 2) {
+			System.out.println("Usage: BaselineComparator baseline.csv results.csv [threshold %]");
+			System.exit(2);
+		}
+		File baselineFile = new File(args[0]);
+		if(!baselineFile.exists()) {
+			System.out.println("No baseline at " + baselineFile + ", run the jmhBaseline task first.");
+			System.exit(2);
+		}
+		double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+		Map<String, double[]> baseline = read(baselineFile);
+		Map<String, double[]> current = read(new File(args[1]));
+		Map<String, String> units = readUnits(new File(args[1]));
+
+		int regressions = 0;
+		for(Map.Entry<String, double[]> entry : current.entrySet()) {
+			double[] old = baseline.get(entry.getKey());
+			if(old == null) {
+				System.out.printf("NEW    %-70s %14.3f%n", entry.getKey(), entry.getValue()[0]);
+				continue;
+			}
+			String unit = units.get(entry.getKey());
+			double now = entry.getValue()[0];
+			boolean higherIsBetter = unit.startsWith("ops/");
+			if(unit.equals("B/op") && Math.max(now, old[0]) < MIN_BYTES_PER_OP) {
+				continue;
+			}
+			double change = old[0] == 0 ? (now == 0 ? 0 : 100) : (now - old[0]) / old[0] * 100;
+			double worse = higherIsBetter ? -change : change;
+			String status = worse > threshold ? "WORSE" : (worse < -threshold ? "BETTER" : "OK");
+			if(worse > threshold) {
+				regressions++;
+			}
+			System.out.printf("%-7s%-70s %14.3f -> %14.3f %-8s (%+.1f%%)%n", status, entry.getKey(), old[0], now, unit, change);
+		}
+
+		System.out.println(regressions == 0 ? "No regressions." : regressions + " regression(s) above " + threshold + "%.");
+		System.exit(regressions == 0 ? 0 : 1);
+	}
+
+	/**
+	 * <p>Private method which reads the score and error of every row of a JMH CSV file,
+	 * keyed by benchmark name and parameters.</p>
+	 */
+	private static Map<String, double[]> read(File file) throws IOException {
+		Map<String, double[]> rows = new LinkedHashMap<String, double[]>();
+		for(List<String> row : parse(file)) {
+			rows.put(key(row), new double[] {Double.parseDouble(row.get(4)), parseOrNaN(row.get(5))});
+		}
+		return rows;
+	}
+
+	/**
+	 * <p>Private method which reads the unit of every row of a JMH CSV file.</p>
+	 */
+	private static Map<String, String> readUnits(File file) throws IOException {
+		Map<String, String> units = new LinkedHashMap<String, String>();
+		for(List<String> row : parse(file)) {
+			units.put(key(row), row.get(6));
+		}
+		return units;
+	}
+
+	/**
+	 * <p>Private method which returns the key of a row: benchmark name followed by the
+	 * parameter values (columns after Unit).</p>
+	 */
+	private static String key(List<String> row) {
+		StringBuilder key = new StringBuilder(row.get(0));
+		for(int i = 7; i < row.size(); i++) {
+			if(!row.get(i).isEmpty()) {
+				key.append(' ').append(row.get(i));
+			}
+		}
+		return key.toString();
+	}
+
+	/**
+	 * <p>Private method which parses a CSV file, skipping the header line. Fields may
+	 * be quoted.</p>
+	 */
+	private static List<List<String>> parse(File file) throws IOException {
+		List<List<String>> rows = new ArrayList<List<String>>();
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		try {
+			String line = reader.readLine();
+			while((line = reader.readLine()) != null) {
+				if(line.trim().isEmpty()) {
+					continue;
+				}
+				List<String> fields = new ArrayList<String>();
+				StringBuilder field = new StringBuilder();
+				boolean quoted = false;
+				for(int i = 0; i < line.length(); i++) {
+					char c = line.charAt(i);
+					if(c == '"') {
+						quoted = !quoted;
+					} else if(c == ',' && !quoted) {
+						fields.add(field.toString());
+						field.setLength(0);
+					} else {
+						field.append(c);
+					}
+				}
+				fields.add(field.toString());
+				rows.add(fields);
+			}
+		} finally {
+			reader.close();
+		}
+		return rows;
+	}
+
+	/**
+	 * <p>Private method which parses a number, or returns NaN for an empty field.</p>
+	 */
+	private static double parseOrNaN(String value) {
+		return value.isEmpty() || value.equals("NaN") ? Double.NaN : Double.parseDouble(value);
+	}
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import controller.MemoryGameController;
+import interfaces.IDataPersistor;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerBenchmark {
+
+	/**
+	 * <p>Benchmarks of the {@link MemoryGameController} methods called by the game
+	 * panel on every click. The controller is given an in-memory data persistor, so
+	 * the numbers don't include disk I/O; that is measured by {@link PersistorBenchmark}.</p>
+	 * <p>levelUp starts a new game when the stage reaches MAX_LEVEL, so it measures the
+	 * levels of a real game; the new game costs less than 1% of the level ups.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final int LEVELS = 1000;
+	private static final int MAX_LEVEL = 200;
+
+	private MemoryGameController controller;
+	private int index;
+	private int size;
+
+	/**
+	 * <p>Data persistor which keeps the high score in memory.</p>
+	 */
+	private static class MemoryPersistor implements IDataPersistor {
+		private Integer highScore;
+
+		@Override
+		public void write(Integer highScore) {
+			this.highScore = highScore;
+		}
+
+		@Override
+		public Integer read() {
+			return this.highScore;
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		this.controller = MemoryGameController.getInstance();
+		this.controller.setDataPersistor(new MemoryPersistor());
+		//High score which is never beaten, increasePlayerPoint doesn't write
+		this.controller.setHighScore(Integer.MAX_VALUE);
+		this.controller.createPlayer("benchmark");
+		this.controller.createNewGame(MemoryGameController.MEDIUM_DIFFICULTY, 42L);
+		for(int i = 0; i < LEVELS; i++) {
+			this.controller.getGame().getStage().levelUp();
+		}
+		this.size = this.controller.getColorSequenceSize();
+		this.index = 0;
+	}
+
+	@Benchmark
+	public int getColorIndex() {
+		int color = this.controller.getColorIndex(this.index);
+		if(++this.index == this.size) {
+			this.index = 0;
+		}
+		return color;
+	}
+
+	@Benchmark
+	public int increasePlayerPoint() {
+		this.controller.increasePlayerPoint();
+		return this.controller.getPlayerScore();
+	}
+
+	@Benchmark
+	public int levelUp() {
+		if(this.controller.getGameStage() >= MAX_LEVEL) {
+			this.controller.createNewGame(MemoryGameController.MEDIUM_DIFFICULTY, 42L);
+		}
+		this.controller.levelUp();
+		return this.controller.getGameStage();
+	}
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import simulation.Bot;
+import simulation.SimulationResult;
+import simulation.SimulationTask;
+import simulation.SpanErrorModel;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FullGameBenchmark {
+
+	/**
+	 * <p>Benchmark of a complete game played by a simulated player at each difficulty
+	 * (flash delay in milliseconds). The games are the same as in the difficulty
+	 * calibration with its default error model.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final int MAX_LEVEL = 200;
+
+	//MemoryGameController.EASY_DIFFICULTY, MEDIUM_DIFFICULTY, HARD_DIFFICULTY and
+	//EXPERT_DIFFICULTY; annotation values must be constants, so keep them in sync
+	@Param({"2000", "1500", "1000", "90"})
+	public int difficulty;
+
+	private Bot bot;
+	private SimulationResult result;
+	private long game;
+
+	@Setup
+	public void setUp() {
+		this.bot = new Bot(new SpanErrorModel(9, 0.005, 0.002, 0.15, 1.0), MAX_LEVEL);
+		this.result = new SimulationResult(MAX_LEVEL);
+		this.game = 0;
+	}
+
+	@Benchmark
+	public long playGame() {
+		this.bot.play(this.difficulty, SimulationTask.gameSeed(42L, this.difficulty, this.game++), this.result);
+		return this.result.getGames();
+	}
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import controller.MemoryGameDataPersistor;
+import controller.WriteBehindDataPersistor;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistorBenchmark {
+
+	/**
+	 * <p>Benchmarks of {@link MemoryGameDataPersistor} and of {@link WriteBehindDataPersistor}. The jmh task runs in a working
+	 * directory of its own, so the high score file of the game is not touched.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private MemoryGameDataPersistor persistor;
+	private WriteBehindDataPersistor writeBehind;
+	private int highScore;
+
+	@Setup
+	public void setUp() {
+		this.persistor = new MemoryGameDataPersistor();
+		this.persistor.write(1000);
+		this.writeBehind = new WriteBehindDataPersistor(this.persistor);
+		this.highScore = 1000;
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.writeBehind.close();
+	}
+
+	@Benchmark
+	public void write() {
+		this.persistor.write(++this.highScore);
+	}
+
+	/**
+	 * <p>Cost of a write for the caller, i.e. for the Event Dispatch Thread.</p>
+	 */
+	@Benchmark
+	public void writeBehind() {
+		this.writeBehind.write(++this.highScore);
+	}
+
+	@Benchmark
+	public Integer read() {
+		return this.persistor.read();
+	}
+}
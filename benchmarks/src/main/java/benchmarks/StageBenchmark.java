@@ -0,0 +1,62 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.SeededSequenceSource;
+import model.Stage;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StageBenchmark {
+
+	/**
+	 * <p>Benchmarks of {@link Stage}: a single level up (which extends the color
+	 * sequence by one color) and building a 100 level stage from scratch. The single
+	 * level ups start again with a new stage at MAX_LEVEL, so they measure the levels
+	 * of a real game and not the growth of a sequence of millions of colors.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final int MAX_LEVEL = 200;
+
+	private Stage stage;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		this.stage = new Stage(new SeededSequenceSource(42L));
+	}
+
+	@Benchmark
+	public int levelUp() {
+		if(this.stage.getLevelNumber() >= MAX_LEVEL) {
+			this.stage = new Stage(new SeededSequenceSource(42L));
+		}
+		this.stage.levelUp();
+		return this.stage.getLevelNumber();
+	}
+
+	@Benchmark
+	public int newStageAndLevelUp100() {
+		Stage fresh = new Stage(new SeededSequenceSource(42L));
+		for(int i = 0; i < 100; i++) {
+			fresh.levelUp();
+		}
+		return fresh.getNumberOfColors();
+	}
+}
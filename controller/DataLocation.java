@@ -0,0 +1,43 @@
+package controller;
+
+import java.io.File;
+
+public final class DataLocation {
+
+	/**
+	 * <p>Location of the data files of the game (high score, players, journal,
+	 * recordings). It is the directory given with -Dsimon.dataDir, or ".simon" in the
+	 * home directory of the user, so it doesn't depend on the working directory and works
+	 * when the game runs from a jar. The directory is created when it is first used.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final String PROPERTY = "simon.dataDir";
+
+	private DataLocation() {
+	}
+
+	/**
+	 * <p>Static method which returns the data directory, creating it if needed.</p>
+	 *
+	 * @return the data directory.
+	 */
+	public static File getDirectory() {
+		String path = System.getProperty(PROPERTY);
+		File directory = path != null ? new File(path) : new File(System.getProperty("user.home"), ".simon");
+		if(!directory.isDirectory() && !directory.mkdirs()) {
+			System.out.println("Cannot create the data directory " + directory);
+		}
+		return directory;
+	}
+
+	/**
+	 * <p>Static method which returns a file of the data directory.</p>
+	 *
+	 * @param name name of the file.
+	 * @return the file.
+	 */
+	public static File getFile(String name) {
+		return new File(getDirectory(), name);
+	}
+}
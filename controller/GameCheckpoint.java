@@ -0,0 +1,376 @@
+package controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32C;
+
+import model.ColorSequence;
+import model.Game;
+import monitoring.GameMetrics;
+
+public class GameCheckpoint {
+
+	/**
+	 * <p>Checkpoint of the game which is being played, in checkpoint.bin of the
+	 * {@link DataLocation}. It is written at the start of every level, so a game which
+	 * was interrupted, even by a power cut, can be resumed at the start of its last
+	 * level with "Load Game".</p>
+	 * <p>The file is mapped into memory and has two slots, like {@link MappedScoreStore}:
+	 * a checkpoint is written into the older slot with the next sequence number and its
+	 * CRC32C last, so a torn write leaves the other slot valid. Writing a checkpoint only
+	 * copies a few hundred bytes into the mapped pages; the pages are forced to the disk
+	 * on a background thread, "simon-checkpoint", so the Event Dispatch Thread never
+	 * waits for the disk.</p>
+	 * <p>File layout (little-endian): "SIMC", u32 version, then two slots of SLOT_SIZE
+	 * bytes at SLOT_A and SLOT_B. Slot: u64 sequence, i32 payload length, payload, u32
+	 * CRC32C of the sequence, the length and the payload. Payload: i64 seed, i32
+	 * difficulty, i32 level, i32 score at the start of the level, i64 time, u16 name
+	 * length, name (UTF-8), i32 number of colors, colors packed four in a byte. A level
+	 * of 0 means that the last game is over and there is nothing to resume.</p>
+	 * <p>The colors are only used to check that the seed still generates the same
+	 * sequence. When they don't fit into a slot, the number of colors is 0 and only the
+	 * seed, the level and the score are stored, so a checkpoint is never skipped.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final String FILE_NAME = "checkpoint.bin";
+
+	private static final int MAGIC = 0x434D4953;	//"SIMC" read as a little-endian int
+	private static final int VERSION = 1;
+	private static final int SLOT_SIZE = 8 * 1024;
+	private static final int SLOT_A = 64;
+	private static final int SLOT_B = SLOT_A + SLOT_SIZE;
+	private static final int FILE_SIZE = SLOT_B + SLOT_SIZE;
+	private static final int SLOT_HEADER = 12;
+	private static final int FIXED_PAYLOAD = 8 + 4 + 4 + 4 + 8 + 2 + 4;
+	private static final int MAX_NAME_BYTES = 1024;
+
+	/**
+	 * <p>The game stored in a checkpoint.</p>
+	 */
+	public static class Snapshot {
+		private final long seed;
+		private final int difficulty;
+		private final int level;
+		private final int score;
+		private final long time;
+		private final String playerName;
+		private final int[] colors;
+
+		private Snapshot(long seed, int difficulty, int level, int score, long time, String playerName, int[] colors) {
+			this.seed = seed;
+			this.difficulty = difficulty;
+			this.level = level;
+			this.score = score;
+			this.time = time;
+			this.playerName = playerName;
+			this.colors = colors;
+		}
+
+		/**
+		 * <p>Accessor method which returns the seed of the game.</p>
+		 *
+		 * @return seed.
+		 */
+		public long getSeed() {
+			return this.seed;
+		}
+
+		/**
+		 * <p>Accessor method which returns the difficulty of the game.</p>
+		 *
+		 * @return difficulty.
+		 */
+		public int getDifficulty() {
+			return this.difficulty;
+		}
+
+		/**
+		 * <p>Accessor method which returns the level where the game continues.</p>
+		 *
+		 * @return level number.
+		 */
+		public int getLevel() {
+			return this.level;
+		}
+
+		/**
+		 * <p>Accessor method which returns player's score at the start of the level.</p>
+		 *
+		 * @return score.
+		 */
+		public int getScore() {
+			return this.score;
+		}
+
+		/**
+		 * <p>Accessor method which returns the time when the checkpoint was written.</p>
+		 *
+		 * @return milliseconds since the epoch.
+		 */
+		public long getTime() {
+			return this.time;
+		}
+
+		/**
+		 * <p>Accessor method which returns player's name.</p>
+		 *
+		 * @return player's name.
+		 */
+		public String getPlayerName() {
+			return this.playerName;
+		}
+
+		/**
+		 * <p>Accessor method which returns the color sequence of the level. It is empty
+		 * when the sequence was too long to store.</p>
+		 *
+		 * @return colors.
+		 */
+		public int[] getColors() {
+			return this.colors.clone();
+		}
+	}
+
+	//Instance variables
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final CRC32C crc;
+	private final ExecutorService syncer;
+	private final AtomicBoolean isSyncScheduled;
+	private int[] colors;
+
+	/**
+	 * <p>Constructor method opens checkpoint.bin of the {@link DataLocation}.</p>
+	 *
+	 * @throws IOException if the file cannot be opened or it is not a checkpoint.
+	 */
+	public GameCheckpoint() throws IOException {
+		this(DataLocation.getFile(FILE_NAME));
+	}
+
+	/**
+	 * <p>Constructor method opens a checkpoint file, and creates it if it doesn't exist.</p>
+	 *
+	 * @param file the checkpoint file.
+	 * @throws IOException if the file cannot be opened or it is not a checkpoint.
+	 */
+	public GameCheckpoint(File file) throws IOException {
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			boolean isNew = this.channel.size() < FILE_SIZE;
+			this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+			this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+			if(isNew) {
+				this.buffer.putInt(0, MAGIC);
+				this.buffer.putInt(4, VERSION);
+				this.buffer.force();
+			} else if(this.buffer.getInt(0) != MAGIC || this.buffer.getInt(4) != VERSION) {
+				throw new IOException(file + " is not a checkpoint");
+			}
+		} catch(IOException iox) {
+			this.channel.close();
+			throw iox;
+		}
+		this.crc = new CRC32C();
+		this.colors = new int[64];
+		this.isSyncScheduled = new AtomicBoolean();
+		this.syncer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "simon-checkpoint");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * <p>Method writes a checkpoint of the game at the start of its current level.</p>
+	 *
+	 * @param game the game being played.
+	 * @param difficulty difficulty of the game.
+	 */
+	public synchronized void save(Game game, int difficulty) {
+		long start = System.nanoTime();
+		ColorSequence sequence = game.getStage().getColorSequence();
+		int count = sequence.size();
+		if(this.colors.length < count) {
+			this.colors = new int[Math.max(count, this.colors.length * 2)];
+		}
+		sequence.copyTo(0, this.colors, 0, count);
+		write(game.getSeed(), difficulty, game.getStage().getLevelNumber(), game.getPlayer().getCurrentScore(),
+				game.getPlayer().getPlayerName(), this.colors, count);
+		GameMetrics.CHECKPOINT_WRITE.recordSince(start);
+	}
+
+	/**
+	 * <p>Method marks the last game as over, so there is nothing to resume.</p>
+	 */
+	public synchronized void clear() {
+		Snapshot last = load();
+		if(last != null) {
+			write(last.seed, last.difficulty, 0, last.score, last.playerName, new int[0], 0);
+		}
+	}
+
+	/**
+	 * <p>Method reads the newest valid checkpoint.</p>
+	 *
+	 * @return the checkpoint, or null if there is no game to resume.
+	 */
+	public synchronized Snapshot load() {
+		int slot = newestSlot();
+		if(slot < 0) {
+			return null;
+		}
+		ByteBuffer payload = slice(slot + SLOT_HEADER, this.buffer.getInt(slot + 8));
+		long seed = payload.getLong();
+		int difficulty = payload.getInt();
+		int level = payload.getInt();
+		if(level <= 0) {
+			return null;
+		}
+		int score = payload.getInt();
+		long time = payload.getLong();
+		byte[] name = new byte[payload.getShort() & 0xFFFF];
+		payload.get(name);
+		int[] colors = new int[payload.getInt()];
+		for(int i = 0; i < colors.length; i++) {
+			colors[i] = (payload.get(payload.position() + (i >> 2)) >> ((i & 3) * 2)) & 3;
+		}
+		return new Snapshot(seed, difficulty, level, score, time, new String(name, StandardCharsets.UTF_8), colors);
+	}
+
+	/**
+	 * <p>Method forces the last checkpoint to the disk and closes the file.</p>
+	 *
+	 * @throws IOException if the file cannot be closed.
+	 */
+	public synchronized void close() throws IOException {
+		this.syncer.shutdown();
+		this.buffer.force();
+		this.channel.close();
+	}
+
+	/**
+	 * <p>Private method which writes a checkpoint into the older slot. The checksum is
+	 * written last.</p>
+	 */
+	private void write(long seed, int difficulty, int level, int score, String playerName, int[] colors, int count) {
+		byte[] name = playerName.getBytes(StandardCharsets.UTF_8);
+		if(name.length > MAX_NAME_BYTES) {
+			name = Arrays.copyOf(name, MAX_NAME_BYTES);
+		}
+		int length = FIXED_PAYLOAD + name.length + (count + 3) / 4;
+		if(SLOT_HEADER + length + 4 > SLOT_SIZE) {
+			//A sequence of tens of thousands of colors: the colors are left out, the
+			//sequence is regenerated from the seed anyway. The name is at most
+			//MAX_NAME_BYTES, so the rest always fits.
+			count = 0;
+			length = FIXED_PAYLOAD + name.length;
+		}
+		int newest = newestSlot();
+		long sequence = newest >= 0 ? this.buffer.getLong(newest) : 0;
+		int slot = newest == SLOT_A ? SLOT_B : SLOT_A;
+		this.buffer.putLong(slot, sequence + 1);
+		this.buffer.putInt(slot + 8, length);
+		ByteBuffer payload = slice(slot + SLOT_HEADER, length);
+		payload.putLong(seed);
+		payload.putInt(difficulty);
+		payload.putInt(level);
+		payload.putInt(score);
+		payload.putLong(System.currentTimeMillis());
+		payload.putShort((short) name.length);
+		payload.put(name);
+		payload.putInt(count);
+		for(int i = 0; i < count; i += 4) {
+			int packed = 0;
+			for(int k = 0; k < 4 && i + k < count; k++) {
+				packed |= (colors[i + k] & 3) << (k * 2);
+			}
+			payload.put((byte) packed);
+		}
+		this.buffer.putInt(slot + SLOT_HEADER + length, checksum(slot, length));
+		scheduleSync();
+	}
+
+	/**
+	 * <p>Private method which forces the mapped pages to the disk on the background
+	 * thread, unless a force is scheduled already.</p>
+	 */
+	private void scheduleSync() {
+		if(this.isSyncScheduled.compareAndSet(false, true)) {
+			try {
+				this.syncer.execute(new Runnable() {
+
+					@Override
+					public void run() {
+						isSyncScheduled.set(false);
+						buffer.force();
+					}
+				});
+			} catch(RejectedExecutionException rex) {
+				//Closed, close() forced the pages
+			}
+		}
+	}
+
+	/**
+	 * <p>Private method which returns the offset of the valid slot with the higher
+	 * sequence, or -1 if neither slot is valid.</p>
+	 */
+	private int newestSlot() {
+		boolean isAValid = isValid(SLOT_A);
+		boolean isBValid = isValid(SLOT_B);
+		if(isAValid && isBValid) {
+			return this.buffer.getLong(SLOT_A) > this.buffer.getLong(SLOT_B) ? SLOT_A : SLOT_B;
+		} else if(isAValid) {
+			return SLOT_A;
+		} else if(isBValid) {
+			return SLOT_B;
+		}
+		return -1;
+	}
+
+	/**
+	 * <p>Private method which returns true if the CRC of a slot matches. An empty slot
+	 * (sequence 0) is not valid.</p>
+	 */
+	private boolean isValid(int slot) {
+		int length = this.buffer.getInt(slot + 8);
+		if(this.buffer.getLong(slot) == 0 || length < FIXED_PAYLOAD || SLOT_HEADER + length + 4 > SLOT_SIZE) {
+			return false;
+		}
+		return this.buffer.getInt(slot + SLOT_HEADER + length) == checksum(slot, length);
+	}
+
+	/**
+	 * <p>Private method which returns the CRC32C of the header and the payload of a slot.</p>
+	 */
+	private int checksum(int slot, int length) {
+		this.crc.reset();
+		this.crc.update(this.buffer.duplicate().position(slot).limit(slot + SLOT_HEADER + length));
+		return (int) this.crc.getValue();
+	}
+
+	/**
+	 * <p>Private method which returns a little-endian view of a part of the file.</p>
+	 */
+	private ByteBuffer slice(int offset, int length) {
+		return this.buffer.duplicate().position(offset).limit(offset + length).slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+}
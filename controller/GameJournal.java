@@ -0,0 +1,746 @@
+package controller;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+import monitoring.GameMetrics;
+
+public class GameJournal {
+
+	/**
+	 * <p>Append-only journal of finished games. Every game is one record: player's name,
+	 * difficulty, final level, score, duration and end time.</p>
+	 * <ul>
+	 * <li>append() only puts the record into a bounded queue, so it never blocks the Event
+	 * Dispatch Thread. If the queue is full, the game is dropped and counted.</li>
+	 * <li>The "simon-journal" thread takes every queued record at once, writes them with
+	 * one write and forces them to the disk once (group commit).</li>
+	 * <li>Records are written into segments, journal-NNNNNNNN.log, of at most SEGMENT_SIZE
+	 * bytes. When there are more than MAX_SEGMENTS segments, the oldest ones are folded
+	 * into summaries.bin, one {@link Summary} per player, and deleted. The disk use is
+	 * bounded by the segments and the number of players.</li>
+	 * <li>Every record has a length and a CRC32C. When the journal is opened, the newest
+	 * segment is read until the first incomplete or damaged record, and it is truncated
+	 * there, so a crash in the middle of a write loses only that batch.</li>
+	 * <li>summaries.bin is replaced with an atomic move, and it stores the number of the
+	 * last segment folded into it. A segment which is still on the disk after a crash
+	 * during compaction is deleted when the journal is opened, and is not counted twice.</li>
+	 * <li>A summaries file or a segment which cannot be read is renamed to *.corrupt, and
+	 * the journal goes on without it; a failed compaction is tried again at the next
+	 * segment. Games are only dropped if the directory itself cannot be used.</li>
+	 * </ul>
+	 * <p>Record layout: i32 length of the payload, i32 CRC32C of the payload, then the
+	 * payload: u8 version, i64 end time, varint duration in milliseconds, varint
+	 * difficulty, varint level, varint score, UTF name.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final String DIRECTORY_NAME = "journal";
+	public static final String SUMMARIES_FILE_NAME = "summaries.bin";
+	public static final int SEGMENT_SIZE = 1024 * 1024;
+	public static final int MAX_SEGMENTS = 4;
+	public static final int QUEUE_CAPACITY = 1024;
+
+	private static final int VERSION = 1;
+	private static final long POLL_MILLIS = 100;
+	private static final int HEADER_SIZE = 8;
+	private static final int MAX_PAYLOAD = 64 * 1024;
+	private static final int SUMMARIES_MAGIC = 0x53494D4A;	//"SIMJ"
+	private static final String SEGMENT_PREFIX = "journal-";
+	private static final String SEGMENT_SUFFIX = ".log";
+
+	/**
+	 * <p>One finished game.</p>
+	 */
+	public static class Record {
+		private final String playerName;
+		private final int difficulty;
+		private final int level;
+		private final int score;
+		private final long durationMillis;
+		private final long endTime;
+
+		/**
+		 * <p>Constructor method creates a record.</p>
+		 *
+		 * @param playerName player's name.
+		 * @param difficulty difficulty of the game.
+		 * @param level final level.
+		 * @param score final score.
+		 * @param durationMillis length of the game.
+		 * @param endTime end of the game in milliseconds since the epoch.
+		 */
+		public Record(String playerName, int difficulty, int level, int score, long durationMillis, long endTime) {
+			this.playerName = playerName;
+			this.difficulty = difficulty;
+			this.level = level;
+			this.score = score;
+			this.durationMillis = Math.max(0, durationMillis);
+			this.endTime = endTime;
+		}
+
+		/**
+		 * <p>Accessor method which returns the player's name.</p>
+		 *
+		 * @return player's name.
+		 */
+		public String getPlayerName() {
+			return this.playerName;
+		}
+
+		/**
+		 * <p>Accessor method which returns the difficulty of the game.</p>
+		 *
+		 * @return difficulty.
+		 */
+		public int getDifficulty() {
+			return this.difficulty;
+		}
+
+		/**
+		 * <p>Accessor method which returns the final level of the game.</p>
+		 *
+		 * @return level.
+		 */
+		public int getLevel() {
+			return this.level;
+		}
+
+		/**
+		 * <p>Accessor method which returns the final score of the game.</p>
+		 *
+		 * @return score.
+		 */
+		public int getScore() {
+			return this.score;
+		}
+
+		/**
+		 * <p>Accessor method which returns the length of the game.</p>
+		 *
+		 * @return milliseconds.
+		 */
+		public long getDurationMillis() {
+			return this.durationMillis;
+		}
+
+		/**
+		 * <p>Accessor method which returns the end of the game.</p>
+		 *
+		 * @return milliseconds since the epoch.
+		 */
+		public long getEndTime() {
+			return this.endTime;
+		}
+	}
+
+	/**
+	 * <p>Games of one player folded together by the compaction.</p>
+	 */
+	public static class Summary {
+		private int games;
+		private long totalScore;
+		private int bestScore;
+		private int bestLevel;
+		private long totalMillis;
+		private long lastEndTime;
+
+		private void add(Record record) {
+			this.games++;
+			this.totalScore += record.score;
+			this.bestScore = Math.max(this.bestScore, record.score);
+			this.bestLevel = Math.max(this.bestLevel, record.level);
+			this.totalMillis += record.durationMillis;
+			this.lastEndTime = Math.max(this.lastEndTime, record.endTime);
+		}
+
+		/**
+		 * <p>Accessor method which returns the number of games.</p>
+		 *
+		 * @return number of games.
+		 */
+		public int getGames() {
+			return this.games;
+		}
+
+		/**
+		 * <p>Accessor method which returns the sum of the scores.</p>
+		 *
+		 * @return total score.
+		 */
+		public long getTotalScore() {
+			return this.totalScore;
+		}
+
+		/**
+		 * <p>Accessor method which returns the best score.</p>
+		 *
+		 * @return best score.
+		 */
+		public int getBestScore() {
+			return this.bestScore;
+		}
+
+		/**
+		 * <p>Accessor method which returns the highest level reached.</p>
+		 *
+		 * @return level.
+		 */
+		public int getBestLevel() {
+			return this.bestLevel;
+		}
+
+		/**
+		 * <p>Accessor method which returns the time spent playing.</p>
+		 *
+		 * @return milliseconds.
+		 */
+		public long getTotalMillis() {
+			return this.totalMillis;
+		}
+
+		/**
+		 * <p>Accessor method which returns the end of the last game.</p>
+		 *
+		 * @return milliseconds since the epoch.
+		 */
+		public long getLastEndTime() {
+			return this.lastEndTime;
+		}
+	}
+
+	//Instance variables
+	private final File directory;
+	private final BlockingQueue<Record> queue;
+	private final Thread writer;
+	private final ByteArrayOutputStream batch;
+	private volatile boolean running;
+	private volatile boolean isFailed;
+	private FileChannel segment;
+	private long segmentNumber;
+
+	/**
+	 * <p>Constructor method creates a journal in the journal directory of the
+	 * {@link DataLocation}.</p>
+	 */
+	public GameJournal() {
+		this(DataLocation.getFile(DIRECTORY_NAME));
+	}
+
+	/**
+	 * <p>Constructor method creates a journal. Call start() to open it.</p>
+	 *
+	 * @param directory the directory of the segments.
+	 */
+	public GameJournal(File directory) {
+		this.directory = directory;
+		this.queue = new ArrayBlockingQueue<Record>(QUEUE_CAPACITY);
+		this.batch = new ByteArrayOutputStream(4096);
+		this.writer = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				writeLoop();
+			}
+		}, "simon-journal");
+		this.writer.setDaemon(true);
+	}
+
+	/**
+	 * <p>Method starts the background thread, which recovers the journal and then
+	 * writes the appended games. A shutdown hook writes the games which are still
+	 * queued when the program exits.</p>
+	 */
+	public void start() {
+		this.running = true;
+		this.writer.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				close();
+			}
+		}, "simon-journal-shutdown"));
+	}
+
+	/**
+	 * <p>Method queues a finished game. It never blocks.</p>
+	 *
+	 * @param record the finished game.
+	 * @return false if the queue was full, or the journal could not be opened, and the
+	 * game was dropped.
+	 */
+	public boolean append(Record record) {
+		if(this.isFailed || !this.queue.offer(record)) {
+			GameMetrics.JOURNAL_DROPPED.increment();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * <p>Method stops the background thread after it wrote every queued game.</p>
+	 */
+	public void close() {
+		if(!this.running) {
+			return;
+		}
+		this.running = false;
+		try {
+			this.writer.join(2000);
+		} catch(InterruptedException ix) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * <p>Method reads every game which is still in a segment, oldest first. Compacted
+	 * games are only in the summaries.</p>
+	 *
+	 * @return the games of the segments.
+	 * @throws IOException if a segment cannot be read.
+	 */
+	public List<Record> readRecords() throws IOException {
+		List<Record> records = new ArrayList<Record>();
+		for(long number : listSegments()) {
+			readSegment(segmentFile(number), records);
+		}
+		return records;
+	}
+
+	/**
+	 * <p>Method reads the summaries of the compacted games.</p>
+	 *
+	 * @return summaries by player's name.
+	 * @throws IOException if the summaries file is damaged.
+	 */
+	public Map<String, Summary> readSummaries() throws IOException {
+		Map<String, Summary> summaries = new HashMap<String, Summary>();
+		readSummaries(summaries);
+		return summaries;
+	}
+
+	/**
+	 * <p>Private method which is the loop of the background thread.</p>
+	 */
+	private void writeLoop() {
+		try {
+			recover();
+		} catch(IOException iox) {
+			//Damaged files are set aside by recover(), so the directory itself is unusable
+			System.out.println("Cannot open the game journal, games are not journaled: " + iox.getMessage());
+			this.isFailed = true;
+			GameMetrics.JOURNAL_DROPPED.add(this.queue.size());
+			this.queue.clear();
+			this.running = false;
+			return;
+		}
+		List<Record> records = new ArrayList<Record>();
+		while(true) {
+			try {
+				Record first = this.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+				if(first != null) {
+					records.add(first);
+				}
+			} catch(InterruptedException ix) {
+				//The thread is not interrupted, an interrupt would close the segment
+			}
+			this.queue.drainTo(records);
+			if(!records.isEmpty()) {
+				commit(records);
+				records.clear();
+			}
+			if(!this.running && this.queue.isEmpty()) {
+				break;
+			}
+		}
+		try {
+			this.segment.close();
+		} catch(IOException iox) {
+			System.out.println(iox.getMessage());
+		}
+	}
+
+	/**
+	 * <p>Private method which writes a batch of games with one write and forces it to
+	 * the disk once.</p>
+	 */
+	private void commit(List<Record> records) {
+		long start = System.nanoTime();
+		this.batch.reset();
+		int encoded = 0;
+		for(Record record : records) {
+			if(encode(record)) {
+				encoded++;
+			} else {
+				GameMetrics.JOURNAL_DROPPED.increment();
+			}
+		}
+		if(encoded == 0) {
+			return;
+		}
+		try {
+			if(this.segment.size() > 0 && this.segment.size() + this.batch.size() > SEGMENT_SIZE) {
+				rollSegment();
+			}
+			ByteBuffer buffer = ByteBuffer.wrap(this.batch.toByteArray());
+			while(buffer.hasRemaining()) {
+				this.segment.write(buffer);
+			}
+			this.segment.force(false);
+			GameMetrics.JOURNAL_RECORDS.add(encoded);
+		} catch(IOException iox) {
+			System.out.println("Cannot write the game journal: " + iox.getMessage());
+			GameMetrics.JOURNAL_DROPPED.add(encoded);
+		}
+		GameMetrics.JOURNAL_COMMIT.recordSince(start);
+	}
+
+	/**
+	 * <p>Private method which appends one record to the batch. The name is cut like in
+	 * the {@link PlayerStore}, so it fits writeUTF.</p>
+	 *
+	 * @return false if the record cannot be encoded and is left out.
+	 */
+	private boolean encode(Record record) {
+		ByteArrayOutputStream payload = new ByteArrayOutputStream(64);
+		DataOutputStream out = new DataOutputStream(payload);
+		try {
+			out.writeByte(VERSION);
+			out.writeLong(record.endTime);
+			writeVarint(out, record.durationMillis);
+			writeVarint(out, record.difficulty);
+			writeVarint(out, record.level);
+			writeVarint(out, record.score);
+			out.writeUTF(PlayerStore.capName(record.playerName));
+			byte[] bytes = payload.toByteArray();
+			CRC32C crc = new CRC32C();
+			crc.update(bytes, 0, bytes.length);
+			DataOutputStream batchOut = new DataOutputStream(this.batch);
+			batchOut.writeInt(bytes.length);
+			batchOut.writeInt((int) crc.getValue());
+			batchOut.write(bytes);
+			return true;
+		} catch(IOException iox) {
+			//Only the payload was written, the batch is untouched
+			System.out.println("Cannot encode a game of " + record.playerName.length() + " char name: " + iox.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * <p>Private method which opens the journal: it deletes the segments which are in
+	 * the summaries already, truncates the newest segment after its last whole record
+	 * and opens it for appending. A summaries file or a newest segment which cannot be
+	 * read is renamed to *.corrupt, and the journal goes on without it. It only throws
+	 * if the directory cannot be used.</p>
+	 */
+	private void recover() throws IOException {
+		if(!this.directory.isDirectory() && !this.directory.mkdirs()) {
+			throw new IOException("Cannot create " + this.directory);
+		}
+		long compactedThrough = 0;
+		try {
+			compactedThrough = readSummaries(null);
+		} catch(IOException iox) {
+			quarantine(new File(this.directory, SUMMARIES_FILE_NAME), iox);
+		}
+		long[] segments = listSegments();
+		for(long number : segments) {
+			if(number <= compactedThrough) {
+				Files.delete(segmentFile(number).toPath());
+			}
+		}
+		segments = listSegments();
+		this.segmentNumber = segments.length == 0 ? compactedThrough + 1 : segments[segments.length - 1];
+		File file = segmentFile(this.segmentNumber);
+		long valid = 0;
+		if(file.exists()) {
+			try {
+				valid = readSegment(file, null);
+			} catch(IOException iox) {
+				quarantine(file, iox);
+				this.segmentNumber++;
+				file = segmentFile(this.segmentNumber);
+			}
+		}
+		this.segment = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		if(this.segment.size() > valid) {
+			System.out.println("Game journal " + file.getName() + " truncated from " + this.segment.size() + " to " + valid + " bytes");
+			this.segment.truncate(valid);
+			this.segment.force(true);
+		}
+		this.segment.position(valid);
+		compactSafely();
+	}
+
+	/**
+	 * <p>Private method which closes the current segment and opens the next one.</p>
+	 */
+	private void rollSegment() throws IOException {
+		//The next segment is opened first, so the current one is kept if it cannot be
+		FileChannel next = FileChannel.open(segmentFile(this.segmentNumber + 1).toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		this.segment.close();
+		this.segment = next;
+		this.segmentNumber++;
+		compactSafely();
+	}
+
+	/**
+	 * <p>Private method which compacts the journal. A failure is only logged: the batch
+	 * is still written to the new segment, and compaction is tried again at the next
+	 * roll.</p>
+	 */
+	private void compactSafely() {
+		try {
+			compact();
+		} catch(IOException iox) {
+			System.out.println("Cannot compact the game journal: " + iox.getMessage());
+		}
+	}
+
+	/**
+	 * <p>Private method which renames a file which cannot be read to *.corrupt, where it
+	 * is kept for inspection and never read again.</p>
+	 */
+	private void quarantine(File file, IOException cause) throws IOException {
+		File corrupt = new File(file.getPath() + ".corrupt");
+		System.out.println("Game journal: " + file.getName() + " cannot be read (" + cause.getMessage()
+				+ "), it is renamed to " + corrupt.getName());
+		Files.move(file.toPath(), corrupt.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * <p>Private method which folds the oldest segments into the summaries when there are
+	 * more than MAX_SEGMENTS. The summaries are written to a new file which replaces the
+	 * old one with an atomic move; the segments are deleted after that.</p>
+	 */
+	private void compact() throws IOException {
+		long[] segments = listSegments();
+		if(segments.length <= MAX_SEGMENTS) {
+			return;
+		}
+		long start = System.nanoTime();
+		Map<String, Summary> summaries = new HashMap<String, Summary>();
+		try {
+			readSummaries(summaries);
+		} catch(IOException iox) {
+			quarantine(new File(this.directory, SUMMARIES_FILE_NAME), iox);
+			summaries.clear();
+		}
+		List<Record> records = new ArrayList<Record>();
+		long[] oldest = Arrays.copyOf(segments, segments.length - MAX_SEGMENTS);
+		for(long number : oldest) {
+			try {
+				readSegment(segmentFile(number), records);
+			} catch(IOException iox) {
+				quarantine(segmentFile(number), iox);
+			}
+		}
+		for(Record record : records) {
+			Summary summary = summaries.get(record.playerName);
+			if(summary == null) {
+				summary = new Summary();
+				summaries.put(record.playerName, summary);
+			}
+			summary.add(record);
+		}
+		writeSummaries(summaries, oldest[oldest.length - 1]);
+		for(long number : oldest) {
+			Files.deleteIfExists(segmentFile(number).toPath());
+		}
+		System.out.println("Game journal: " + records.size() + " games of " + oldest.length + " segments compacted in "
+				+ (System.nanoTime() - start) / 1000000 + " ms");
+	}
+
+	/**
+	 * <p>Private method which reads the records of a segment until its end or its first
+	 * incomplete or damaged record, and returns the length of the valid part.</p>
+	 */
+	private static long readSegment(File file, List<Record> records) throws IOException {
+		byte[] bytes = Files.readAllBytes(file.toPath());
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		CRC32C crc = new CRC32C();
+		while(buffer.remaining() >= HEADER_SIZE) {
+			int start = buffer.position();
+			int length = buffer.getInt();
+			int checksum = buffer.getInt();
+			if(length <= 0 || length > MAX_PAYLOAD || length > buffer.remaining()) {
+				return start;
+			}
+			crc.reset();
+			crc.update(bytes, buffer.position(), length);
+			if((int) crc.getValue() != checksum) {
+				return start;
+			}
+			if(records != null) {
+				DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, buffer.position(), length));
+				in.readByte();
+				long endTime = in.readLong();
+				long duration = readVarint(in);
+				int difficulty = (int) readVarint(in);
+				int level = (int) readVarint(in);
+				int score = (int) readVarint(in);
+				records.add(new Record(in.readUTF(), difficulty, level, score, duration, endTime));
+			}
+			buffer.position(buffer.position() + length);
+		}
+		return buffer.position();
+	}
+
+	/**
+	 * <p>Private method which reads the summaries file into the map, if it is not null,
+	 * and returns the number of the last compacted segment.</p>
+	 */
+	private long readSummaries(Map<String, Summary> summaries) throws IOException {
+		File file = new File(this.directory, SUMMARIES_FILE_NAME);
+		if(!file.isFile()) {
+			return 0;
+		}
+		byte[] bytes = Files.readAllBytes(file.toPath());
+		if(bytes.length < 16) {
+			throw new IOException("Truncated " + file);
+		}
+		CRC32C crc = new CRC32C();
+		crc.update(bytes, 0, bytes.length - 4);
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+		if(in.readInt() != SUMMARIES_MAGIC || in.readByte() != VERSION
+				|| (int) crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - 4, 4).getInt()) {
+			throw new IOException("Damaged " + file);
+		}
+		long compactedThrough = in.readLong();
+		if(summaries != null) {
+			int count = (int) readVarint(in);
+			for(int i = 0; i < count; i++) {
+				String name = in.readUTF();
+				Summary summary = new Summary();
+				summary.games = (int) readVarint(in);
+				summary.totalScore = readVarint(in);
+				summary.bestScore = (int) readVarint(in);
+				summary.bestLevel = (int) readVarint(in);
+				summary.totalMillis = readVarint(in);
+				summary.lastEndTime = in.readLong();
+				summaries.put(name, summary);
+			}
+		}
+		return compactedThrough;
+	}
+
+	/**
+	 * <p>Private method which replaces the summaries file.</p>
+	 */
+	private void writeSummaries(Map<String, Summary> summaries, long compactedThrough) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bos);
+		out.writeInt(SUMMARIES_MAGIC);
+		out.writeByte(VERSION);
+		out.writeLong(compactedThrough);
+		writeVarint(out, summaries.size());
+		for(Map.Entry<String, Summary> entry : summaries.entrySet()) {
+			Summary summary = entry.getValue();
+			out.writeUTF(entry.getKey());
+			writeVarint(out, summary.games);
+			writeVarint(out, summary.totalScore);
+			writeVarint(out, summary.bestScore);
+			writeVarint(out, summary.bestLevel);
+			writeVarint(out, summary.totalMillis);
+			out.writeLong(summary.lastEndTime);
+		}
+		CRC32C crc = new CRC32C();
+		byte[] bytes = bos.toByteArray();
+		crc.update(bytes, 0, bytes.length);
+		out.writeInt((int) crc.getValue());
+
+		File file = new File(this.directory, SUMMARIES_FILE_NAME);
+		File temporary = new File(this.directory, SUMMARIES_FILE_NAME + ".tmp");
+		FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(bos.toByteArray());
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		} finally {
+			channel.close();
+		}
+		Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * <p>Private method which returns the numbers of the segments, in order.</p>
+	 */
+	private long[] listSegments() {
+		String[] names = this.directory.list();
+		if(names == null) {
+			return new long[0];
+		}
+		long[] numbers = new long[names.length];
+		int count = 0;
+		for(String name : names) {
+			if(name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+				try {
+					numbers[count++] = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+				} catch(NumberFormatException nfx) {
+					count--;
+				}
+			}
+		}
+		numbers = Arrays.copyOf(numbers, count);
+		Arrays.sort(numbers);
+		return numbers;
+	}
+
+	/**
+	 * <p>Private method which returns the file of a segment.</p>
+	 */
+	private File segmentFile(long number) {
+		return new File(this.directory, String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+	}
+
+	/**
+	 * <p>Private static method which writes an unsigned LEB128 varint.</p>
+	 */
+	private static void writeVarint(DataOutputStream out, long value) throws IOException {
+		while((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	/**
+	 * <p>Private static method which reads an unsigned LEB128 varint.</p>
+	 */
+	private static long readVarint(DataInputStream in) throws IOException {
+		long value = 0;
+		int shift = 0;
+		while(true) {
+			byte b = in.readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if(b >= 0) {
+				return value;
+			}
+			shift += 7;
+		}
+	}
+}
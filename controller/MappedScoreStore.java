@@ -0,0 +1,298 @@
+package controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+import interfaces.IDataPersistor;
+import monitoring.GameMetrics;
+import monitoring.PersistenceEvent;
+
+public class MappedScoreStore implements IDataPersistor {
+
+	/**
+	 * <p>Data persistor which keeps the high score in a small binary file, scores.bin in
+	 * the {@link DataLocation}, mapped into memory. Several game processes on one host can
+	 * share the file.</p>
+	 * <p>File layout (little-endian, FILE_SIZE bytes):</p>
+	 * <ul>
+	 * <li>Header: "SIMS", u32 version</li>
+	 * <li>Two slots, A at SLOT_A and B at SLOT_B: u64 sequence, i32 high score, i32 unused,
+	 * u64 time of the write in milliseconds, u32 CRC32C of the 24 bytes before it</li>
+	 * </ul>
+	 * <p>The valid slot with the higher sequence holds the high score. A write goes into
+	 * the other slot, with the next sequence number, so a crash in the middle of a write
+	 * can only break the older slot: its CRC doesn't match, and the newer slot is still
+	 * read.</p>
+	 * <p>write() is a compare-and-swap max: the high score is only replaced by a higher
+	 * one. It is checked under a FileLock of the file (and a monitor, because the lock is
+	 * held by the whole process), so two processes never write at the same time. A score
+	 * which is not higher than the stored one returns without locking. Two stores of the
+	 * same file in one process, e.g. a benchmark and the game, take the FileLock one after
+	 * the other, under a monitor shared by every store of the file.</p>
+	 * <p>The mapped pages are written by the operating system, so a write takes
+	 * microseconds and survives the process crashing. With -Dsimon.syncScores=true every
+	 * write is also forced to the disk, which survives a power cut but takes milliseconds.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final String FILE_NAME = "scores.bin";
+
+	private static final int MAGIC = 0x534D4953;	//"SIMS" read as a little-endian int
+	private static final int VERSION = 1;
+	private static final int FILE_SIZE = 256;
+	private static final int SLOT_A = 64;
+	private static final int SLOT_B = 128;
+	private static final int CRC_OFFSET = 24;
+	private static final boolean IS_SYNC_ON = Boolean.getBoolean("simon.syncScores");
+
+	//Monitor of every file, by canonical path. A FileLock is held by the whole process, so
+	//a second lock of the same file in the process would throw OverlappingFileLockException.
+	private static final ConcurrentHashMap<String, Object> FILE_MONITORS = new ConcurrentHashMap<String, Object>();
+
+	//Instance variables
+	private final File file;
+	private final FileChannel channel;
+	private final Object fileMonitor;
+	private final MappedByteBuffer buffer;
+	private final CRC32C crc;
+
+	/**
+	 * <p>Constructor method opens scores.bin of the {@link DataLocation}.</p>
+	 *
+	 * @throws IOException if the file cannot be opened or it is not a score store.
+	 */
+	public MappedScoreStore() throws IOException {
+		this(DataLocation.getFile(FILE_NAME));
+	}
+
+	/**
+	 * <p>Constructor method opens a score store, and creates it if the file doesn't exist.</p>
+	 *
+	 * @param file the file of the store.
+	 * @throws IOException if the file cannot be opened or it is not a score store.
+	 */
+	public MappedScoreStore(File file) throws IOException {
+		this.file = file;
+		this.fileMonitor = FILE_MONITORS.computeIfAbsent(file.getCanonicalPath(), new Function<String, Object>() {
+
+			@Override
+			public Object apply(String path) {
+				return new Object();
+			}
+		});
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.crc = new CRC32C();
+		synchronized(this.fileMonitor) {
+			this.buffer = mapLocked(file);
+		}
+	}
+
+	/**
+	 * <p>Method implements {@link IDataPersistor}.write method. The high score is stored
+	 * if it is higher than the stored one.</p>
+	 */
+	@Override
+	public void write(Integer highScore) {
+		if(highScore != null) {
+			updateMax(highScore);
+		}
+	}
+
+	/**
+	 * <p>Method implements {@link IDataPersistor}.read method. It returns the stored high
+	 * score, or null if no high score was stored yet.</p>
+	 */
+	@Override
+	public Integer read() {
+		long start = System.nanoTime();
+		Integer highScore = null;
+		synchronized(this) {
+			int slot = newestSlot();
+			if(slot >= 0) {
+				highScore = this.buffer.getInt(slot + 8);
+			}
+		}
+		GameMetrics.PERSISTENCE_READ.recordSince(start);
+		return highScore;
+	}
+
+	/**
+	 * <p>Method stores the high score if it is higher than the stored one, and returns
+	 * the high score which is stored afterwards.</p>
+	 *
+	 * @param highScore the new high score.
+	 * @return the stored high score.
+	 */
+	public synchronized int updateMax(int highScore) {
+		int slot = newestSlot();
+		if(slot >= 0 && this.buffer.getInt(slot + 8) >= highScore) {
+			return this.buffer.getInt(slot + 8);
+		}
+
+		long start = System.nanoTime();
+		PersistenceEvent event = new PersistenceEvent();
+		event.begin();
+		boolean success = false;
+		int stored = highScore;
+		try {
+			synchronized(this.fileMonitor) {
+				FileLock lock = this.channel.lock();
+				try {
+					//Another process, or another store of the file, may have written since the check above
+					slot = newestSlot();
+					long sequence = slot >= 0 ? this.buffer.getLong(slot) : 0;
+					int current = slot >= 0 ? this.buffer.getInt(slot + 8) : Integer.MIN_VALUE;
+					if(highScore > current) {
+						writeSlot(slot == SLOT_A ? SLOT_B : SLOT_A, sequence + 1, highScore);
+					} else {
+						stored = current;
+					}
+					success = true;
+				} finally {
+					lock.release();
+				}
+			}
+		} catch(IOException iox) {
+			System.out.println(iox.getMessage());
+			GameMetrics.PERSISTENCE_ERRORS.increment();
+		} catch(OverlappingFileLockException oflx) {
+			//The file is locked through another path, e.g. a link; the score is not written
+			System.out.println(this.file + " is locked by this process");
+			GameMetrics.PERSISTENCE_ERRORS.increment();
+		}
+		GameMetrics.PERSISTENCE_WRITE.recordSince(start);
+		event.end();
+		if(event.shouldCommit()) {
+			event.operation = PersistenceEvent.WRITE;
+			event.path = this.file.getPath();
+			event.bytes = CRC_OFFSET + 4;
+			event.success = success;
+			event.commit();
+		}
+		return stored;
+	}
+
+	/**
+	 * <p>Method closes the file. The store must not be used after this.</p>
+	 *
+	 * @throws IOException if the file cannot be closed.
+	 */
+	public synchronized void close() throws IOException {
+		this.channel.close();
+	}
+
+	/**
+	 * <p>Static method which opens the store of the {@link DataLocation}. When the store
+	 * has no high score yet, the high score of the old src/data/savedGame.ser file is
+	 * copied into it, if that file exists.</p>
+	 *
+	 * @return the store.
+	 * @throws IOException if the store cannot be opened.
+	 */
+	public static MappedScoreStore openWithMigration() throws IOException {
+		MappedScoreStore store = new MappedScoreStore();
+		if(store.read() == null && new File(MemoryGameDataPersistor.FILE_LOCATION).isFile()) {
+			Integer legacy = new MemoryGameDataPersistor().read();
+			if(legacy != null) {
+				store.updateMax(legacy);
+				System.out.println("High score " + legacy + " copied from " + MemoryGameDataPersistor.FILE_LOCATION + " to " + store.file);
+			}
+		}
+		return store;
+	}
+
+	/**
+	 * <p>Private method which maps the file under its FileLock, and writes the header of a
+	 * new file. The channel is closed if it fails.</p>
+	 */
+	private MappedByteBuffer mapLocked(File file) throws IOException {
+		FileLock lock;
+		try {
+			lock = this.channel.lock();
+		} catch(OverlappingFileLockException oflx) {
+			//The file is locked through another path, e.g. a link
+			this.channel.close();
+			throw new IOException(file + " is locked by this process", oflx);
+		}
+		MappedByteBuffer mapped;
+		try {
+			if(this.channel.size() < FILE_SIZE) {
+				//A new file, or one whose creator crashed before the header was written
+				mapped = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+				mapped.order(ByteOrder.LITTLE_ENDIAN);
+				mapped.putInt(0, MAGIC);
+				mapped.putInt(4, VERSION);
+				mapped.force();
+			} else {
+				mapped = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+				mapped.order(ByteOrder.LITTLE_ENDIAN);
+				if(mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+					throw new IOException(file + " is not a score store");
+				}
+			}
+		} catch(IOException iox) {
+			lock.release();
+			this.channel.close();
+			throw iox;
+		}
+		lock.release();
+		return mapped;
+	}
+
+	/**
+	 * <p>Private method which returns the offset of the valid slot with the higher
+	 * sequence, or -1 if neither slot is valid.</p>
+	 */
+	private int newestSlot() {
+		boolean isAValid = isValid(SLOT_A);
+		boolean isBValid = isValid(SLOT_B);
+		if(isAValid && isBValid) {
+			return this.buffer.getLong(SLOT_A) > this.buffer.getLong(SLOT_B) ? SLOT_A : SLOT_B;
+		} else if(isAValid) {
+			return SLOT_A;
+		} else if(isBValid) {
+			return SLOT_B;
+		}
+		return -1;
+	}
+
+	/**
+	 * <p>Private method which returns true if the CRC of a slot matches. An empty slot
+	 * (sequence 0) is not valid.</p>
+	 */
+	private boolean isValid(int slot) {
+		return this.buffer.getLong(slot) != 0 && this.buffer.getInt(slot + CRC_OFFSET) == checksum(slot);
+	}
+
+	/**
+	 * <p>Private method which writes a slot. The checksum is written last.</p>
+	 */
+	private void writeSlot(int slot, long sequence, int highScore) {
+		this.buffer.putLong(slot, sequence);
+		this.buffer.putInt(slot + 8, highScore);
+		this.buffer.putInt(slot + 12, 0);
+		this.buffer.putLong(slot + 16, System.currentTimeMillis());
+		this.buffer.putInt(slot + CRC_OFFSET, checksum(slot));
+		if(IS_SYNC_ON) {
+			this.buffer.force();
+		}
+	}
+
+	/**
+	 * <p>Private method which returns the CRC32C of the first 24 bytes of a slot.</p>
+	 */
+	private int checksum(int slot) {
+		this.crc.reset();
+		this.crc.update(this.buffer.duplicate().position(slot).limit(slot + CRC_OFFSET));
+		return (int) this.crc.getValue();
+	}
+}
@@ -1,23 +1,34 @@
 package controller;
 
+import java.io.File;
+
+import audio.AudioService;
 import interfaces.IDataPersistor;
 import interfaces.IMemoryGameGui;
 import model.Game;
+import model.GameEngine;
+import model.GameEngine.InputResult;
 import model.Player;
+import model.SeededSequenceSource;
 import model.Stage;
+import monitoring.GameEndEvent;
+import monitoring.GameEvents;
+import monitoring.GameMetrics;
+import monitoring.InputEvent;
 
 public class MemoryGameController {
 	
 	/**
 	 * <p>Controller class which connects classes of model package with
 	 * classes of view package.</p>
-	 * <p>Date of last modification: 27-11/2015</p>
+	 * <p>Date of last modification: 18/10/2026</p>
 	 * 
 	 * @author Csaba Farkas csaba.farkas@mycit.ie
 	 */
 	
-	//Singleton class
-	private static MemoryGameController instance = null;
+	//Singleton class. The instance is created when the class is initialized, because the
+	//startup threads and the EDT reach it at the same time.
+	private static final MemoryGameController instance = new MemoryGameController();
 	
 	//static final variables are used to define the difficulty of the game
 	//eg. they define the delay the buttons are flashed
@@ -25,31 +36,60 @@ public class MemoryGameController {
 	public static final int EASY_DIFFICULTY = 2000;
 	public static final int MEDIUM_DIFFICULTY = 1500;
 	public static final int HARD_DIFFICULTY = 1000;
+	public static final int EXPERT_DIFFICULTY = 90;
+	
+	//Every game is recorded, unless -Dsimon.record=false is set
+	public static final String RECORDING_DIR_PROPERTY = "simon.recordingDir";
+	public static final String RECORDING_DIR_NAME = "recordings";
+	private static final boolean IS_RECORDING_ON = !"false".equals(System.getProperty("simon.record"));
+	
+	/**
+	 * <p>Static function which returns the directory of the recordings: the one given
+	 * with -Dsimon.recordingDir, or the recordings directory of the {@link DataLocation},
+	 * so it doesn't depend on the working directory.</p>
+	 * 
+	 * @return the directory of the recordings.
+	 */
+	public static File getRecordingDirectory() {
+		String path = System.getProperty(RECORDING_DIR_PROPERTY);
+		return path != null ? new File(path) : DataLocation.getFile(RECORDING_DIR_NAME);
+	}
 	
 	/**
 	 * <p>Static function which returns the only one instance of this class.</p>
-	 * <p>When the program is started, instance = null, so it creates a new
-	 * instance of this class, before returning.</p>
+	 * <p>The instance is created eagerly, so every thread gets the same one.</p>
 	 * 
 	 * @return the instance of {@link MemoryGameController}
 	 */
 	public static MemoryGameController getInstance() {
-		
-		if(instance == null) {
-			instance = new MemoryGameController();
-		}
-		
 		return instance;
 	}
 	
 	//Field variables
 	private Player player;					//Player object of game
 	private Game game;						//Game object
+	private GameEngine engine;				//Rules of the current game
 	private IMemoryGameGui gui;				//Instance of gui object which implements IMemoryGameGui
 	private int difficulty;					//int variable indicating the difficulty of the game
 	private Integer highScore;				//Current high score
 	private IDataPersistor dataPersistor;	//Instance of data persistor object which implements IDataPersistor
+	private PlayerStore playerStore;		//Profiles and leaderboards of every player
+	private GameJournal journal;			//Journal of finished games
+	private GameCheckpoint checkpoint;		//Checkpoint of the current game, written at every level
 	private boolean isSoundOn;				//Boolan variable indicating if game is muted or not
+	private volatile SessionRecorder recorder;	//Records the presses of the current game
+	private boolean isRecorderHookAdded;	//Boolean variable indicating if the shutdown hook saves the recording
+	private boolean isReplaying;			//Boolean variable indicating if a recording is replayed
+	private GameEndEvent gameEvent;			//Flight Recorder event which measures the current game
+	
+	/**
+	 * <p>Private constructor method of the singleton. Sound is on when the program starts.
+	 * High score is 0 until the saved high score is read in the background.</p>
+	 */
+	private MemoryGameController() {
+		this.isSoundOn = true;
+		this.highScore = 0;
+	}
 	
 	/**
 	 * <p>Accessor method returns the {@link Game} object stored in 
@@ -79,9 +119,101 @@ public class MemoryGameController {
 	 * @param difficulty indicates the difficulty of the new game.
 	 */
 	public void createNewGame(int difficulty) {
+		createNewGame(difficulty, SeededSequenceSource.newSeed());
+	}
+	
+	/**
+	 * <p>This method creates a new game with the given seed. The seed defines the whole
+	 * color sequence of the game, so passing the seed of a previous game reproduces
+	 * that game exactly.</p>
+	 * 
+	 * @param difficulty indicates the difficulty of the new game.
+	 * @param seed defines the color sequence of the new game.
+	 */
+	public void createNewGame(int difficulty, long seed) {
+		resumeGame(difficulty, seed, 1, 0);
+	}
+	
+	/**
+	 * <p>This method recreates a game at the start of the given level. The color sequence
+	 * is regenerated from the seed, and player's score is set to the score at the start
+	 * of that level. A new recording is started unless a recording is being replayed.</p>
+	 * 
+	 * @param difficulty indicates the difficulty of the game.
+	 * @param seed defines the color sequence of the game.
+	 * @param level the game continues at the start of this level.
+	 * @param score player's score at the start of the level.
+	 */
+	public void resumeGame(int difficulty, long seed, int level, int score) {
 		this.difficulty = difficulty;
-		this.game = new Game(this.player, this.difficulty);
+		this.game = new Game(this.player, this.difficulty, seed);
 		this.game.setHighScore(this.highScore);
+		while(this.game.getStage().getLevelNumber() < level) {
+			this.game.getStage().levelUp();
+		}
+		this.player.setCurrentScore(score);
+		if(this.playerStore != null && this.playerStore.isLoaded()) {
+			this.player.setHighScore(this.playerStore.getBest(this.player.getPlayerName(), difficulty));
+		}
+		this.engine = new GameEngine(this.game);
+		GameMetrics.GAMES_STARTED.increment();
+		GameMetrics.MAX_LEVEL.setMax(level);
+		this.gameEvent = GameEvents.gameStarted(this.player.getPlayerName(), difficulty, level, seed, this.isReplaying);
+		
+		//The game in progress is abandoned, but its recording is kept
+		saveRecording();
+		if(IS_RECORDING_ON && !this.isReplaying) {
+			addRecorderHook();
+			SessionRecorder newRecorder = new SessionRecorder(seed, difficulty, this.player.getPlayerName());
+			newRecorder.markLevel(level, score);
+			this.recorder = newRecorder;
+		}
+		if(this.checkpoint != null && !this.isReplaying) {
+			this.checkpoint.save(this.game, difficulty);
+		}
+	}
+	
+	/**
+	 * <p>This method resumes the game of the checkpoint at the start of its last level.
+	 * The player of the checkpoint becomes the current player.</p>
+	 * 
+	 * @return false if there is no game to resume.
+	 */
+	public boolean loadGame() {
+		if(this.checkpoint == null) {
+			return false;
+		}
+		GameCheckpoint.Snapshot snapshot = this.checkpoint.load();
+		if(snapshot == null) {
+			return false;
+		}
+		
+		//The sequence is regenerated from the seed, it must be the one which was saved.
+		//It is checked before anything changes, so a bad checkpoint leaves the current
+		//game and the checkpoint as they are. A very long sequence is stored without its
+		//colors, then there is nothing to compare.
+		int[] colors = snapshot.getColors();
+		SeededSequenceSource source = new SeededSequenceSource(snapshot.getSeed());
+		boolean isSameSequence = colors.length == 0 || colors.length == snapshot.getLevel() + 1;
+		for(int i = 0; isSameSequence && i < colors.length; i++) {
+			isSameSequence = source.colorAt(i) == colors[i];
+		}
+		if(!isSameSequence) {
+			System.out.println("The checkpoint doesn't match the sequence of its seed, it is not resumed");
+			return false;
+		}
+		createPlayer(snapshot.getPlayerName());
+		resumeGame(snapshot.getDifficulty(), snapshot.getSeed(), snapshot.getLevel(), snapshot.getScore());
+		return true;
+	}
+	
+	/**
+	 * <p>Accessor method returns the {@link GameEngine} which drives the current game.</p>
+	 * 
+	 * @return {@link GameEngine} object.
+	 */
+	public GameEngine getEngine() {
+		return this.engine;
 	}
 	
 	/**
@@ -98,6 +230,7 @@ public class MemoryGameController {
 		} else {
 			this.highScore = 0;
 		}
+		GameMetrics.HIGH_SCORE.set(this.highScore);
 	}
 	
 	/**
@@ -111,12 +244,13 @@ public class MemoryGameController {
 	
 	/**
 	 * <p>Method which creates a new {@link Player} object. It sets the name 
-	 * of the new player to the value of the String object parameter.</p>
+	 * of the new player to the value of the String object parameter. Names longer
+	 * than {@link PlayerStore#MAX_NAME_LENGTH} are cut, so every store can save them.</p>
 	 * 
 	 * @param playerName indicates the name of the new {@link Player}.
 	 */
 	public void createPlayer(String playerName) {
-		this.player = new Player(playerName);
+		this.player = new Player(PlayerStore.capName(playerName));
 	}
 	
 	/**
@@ -177,6 +311,63 @@ public class MemoryGameController {
 		return this.dataPersistor;
 	}
 	
+	/**
+	 * <p>Mutator method which sets the {@link PlayerStore} which keeps the best scores of
+	 * every player. Finished games are recorded in it.</p>
+	 * 
+	 * @param playerStore the store of player profiles.
+	 */
+	public void setPlayerStore(PlayerStore playerStore) {
+		this.playerStore = playerStore;
+	}
+	
+	/**
+	 * <p>Accessor method which returns the store of player profiles.</p>
+	 * 
+	 * @return the {@link PlayerStore}, or null if there is none.
+	 */
+	public PlayerStore getPlayerStore() {
+		return this.playerStore;
+	}
+	
+	/**
+	 * <p>Mutator method which sets the {@link GameCheckpoint}. A checkpoint is written at
+	 * the start of every level of a game which is not replayed.</p>
+	 * 
+	 * @param checkpoint the checkpoint of the current game.
+	 */
+	public void setCheckpoint(GameCheckpoint checkpoint) {
+		this.checkpoint = checkpoint;
+	}
+	
+	/**
+	 * <p>Accessor method which returns the checkpoint of the current game.</p>
+	 * 
+	 * @return the {@link GameCheckpoint}, or null if there is none.
+	 */
+	public GameCheckpoint getCheckpoint() {
+		return this.checkpoint;
+	}
+	
+	/**
+	 * <p>Mutator method which sets the {@link GameJournal}. Every finished game is
+	 * appended to it.</p>
+	 * 
+	 * @param journal the journal of finished games.
+	 */
+	public void setJournal(GameJournal journal) {
+		this.journal = journal;
+	}
+	
+	/**
+	 * <p>Accessor method which returns the journal of finished games.</p>
+	 * 
+	 * @return the {@link GameJournal}, or null if there is none.
+	 */
+	public GameJournal getJournal() {
+		return this.journal;
+	}
+	
 	/**
 	 * <p>Accessor method which returns level number of the current game.</p>
 	 * 
@@ -208,18 +399,152 @@ public class MemoryGameController {
 	 */
 	public void increasePlayerPoint() {
 		this.game.getPlayer().addPointForButton();
+		updateHighScore();
+	}
+	
+	/**
+	 * <p>This method is called when player presses a button during the game. The color
+	 * is checked by the {@link GameEngine}. If it was the right color, high score is 
+	 * updated, if it was the wrong color, game is over and high score is saved.</p>
+	 * 
+	 * @param color an integer indicating the color pressed by the player.
+	 * @return the result of the input.
+	 */
+	public InputResult submitColor(int color) {
+		InputEvent event = new InputEvent();
+		event.begin();
+		InputResult result = this.engine.submit(color);
+		SessionRecorder currentRecorder = this.recorder;
+		if(currentRecorder != null && result != InputResult.IGNORED) {
+			currentRecorder.recordPress(color, System.nanoTime());
+			if(result == InputResult.LEVEL_COMPLETE) {
+				currentRecorder.markLevel(this.game.getStage().getLevelNumber(), this.player.getCurrentScore());
+			} else if(result == InputResult.WRONG) {
+				saveRecording();
+			}
+		}
+		if(!this.isReplaying) {
+			if(result.isCorrect()) {
+				updateHighScore();
+				if(result == InputResult.LEVEL_COMPLETE && this.checkpoint != null) {
+					this.checkpoint.save(this.game, this.difficulty);
+				}
+			} else if(result == InputResult.WRONG) {
+				if(this.checkpoint != null) {
+					this.checkpoint.clear();
+				}
+				if(this.dataPersistor != null) {
+					this.dataPersistor.write(this.highScore);
+				}
+				if(this.playerStore != null) {
+					this.playerStore.recordGame(this.player.getPlayerName(), this.difficulty, this.player.getCurrentScore());
+				}
+				if(this.journal != null) {
+					long now = System.currentTimeMillis();
+					this.journal.append(new GameJournal.Record(this.player.getPlayerName(), this.difficulty, getGameStage(),
+							this.player.getCurrentScore(), now - this.game.getStartTime(), now));
+				}
+			}
+		}
+		
+		//Metrics and Flight Recorder events, the events cost nothing unless a recording enables them
+		if(result == InputResult.IGNORED) {
+			GameMetrics.INPUTS_IGNORED.increment();
+		} else if(result == InputResult.WRONG) {
+			GameMetrics.INPUTS_WRONG.increment();
+			GameMetrics.GAMES_OVER.increment();
+			GameEvents.gameEnded(this.gameEvent, this.player.getPlayerName(), this.difficulty, getGameStage(), getPlayerScore());
+		} else {
+			GameMetrics.INPUTS_CORRECT.increment();
+			if(result == InputResult.LEVEL_COMPLETE) {
+				GameMetrics.LEVELS_COMPLETED.increment();
+				GameMetrics.MAX_LEVEL.setMax(getGameStage());
+				GameEvents.levelUp(getGameStage(), getColorSequenceSize(), getPlayerScore());
+			}
+		}
+		event.end();
+		if(event.shouldCommit()) {
+			event.color = color;
+			event.result = result.name();
+			event.correct = result.isCorrect();
+			event.inputIndex = this.engine.getInputIndex();
+			event.level = getGameStage();
+			event.commit();
+		}
+		return result;
+	}
+	
+	/**
+	 * <p>Mutator method which sets isReplaying. While a recording is replayed, the game is
+	 * not recorded again and high score is not saved.</p>
+	 * 
+	 * @param isReplaying a boolean value.
+	 */
+	public void setIsReplaying(boolean isReplaying) {
+		this.isReplaying = isReplaying;
+	}
+	
+	/**
+	 * <p>Accessor method which returns true if a recording is being replayed.</p>
+	 * 
+	 * @return isReplaying.
+	 */
+	public boolean getIsReplaying() {
+		return this.isReplaying;
+	}
+	
+	/**
+	 * <p>Private method which checks whether current score is higher than high score,
+	 * and saves current score as the new high score if it is.</p>
+	 */
+	private void updateHighScore() {
 		if(this.highScore < this.player.getCurrentScore()) {
 			this.highScore = this.player.getCurrentScore();
-			this.dataPersistor.write(highScore);
-			System.out.println("High score: " + this.highScore);
+			if(this.dataPersistor != null) {
+				this.dataPersistor.write(highScore);
+			}
+			GameMetrics.HIGH_SCORE.set(this.highScore);
 		}
 	}
 	
+	/**
+	 * <p>Private method which saves the recording of the current game in the background,
+	 * if a button was pressed in it.</p>
+	 */
+	private void saveRecording() {
+		SessionRecorder currentRecorder = this.recorder;
+		this.recorder = null;
+		if(currentRecorder != null && currentRecorder.getEventCount() > 0) {
+			currentRecorder.saveTo(getRecordingDirectory());
+		}
+	}
+	
+	/**
+	 * <p>Private method which registers, once, the shutdown hook which saves the
+	 * recording of the game in progress when the program exits.</p>
+	 */
+	private void addRecorderHook() {
+		if(this.isRecorderHookAdded) {
+			return;
+		}
+		this.isRecorderHookAdded = true;
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				SessionRecorder currentRecorder = recorder;
+				if(currentRecorder != null && currentRecorder.getEventCount() > 0) {
+					currentRecorder.save(getRecordingDirectory());
+				}
+			}
+		}, "simon-recording-shutdown"));
+	}
+	
 	/**
 	 * <p>Accessor method which returns the size of the color sequence of current 
 	 * stage of the game.</p>
 	 * 
-	 * @return an integer value indicating the size of color sequence list.
+	 * @return an integer value indicating the size of color sequence.
 	 */
 	public int getColorSequenceSize() {
 		return this.game.getStage().getColorSequence().size();
@@ -244,12 +569,25 @@ public class MemoryGameController {
 	
 	/**
 	 * <p>Mutator method which sets the isSoundOn field variable to the boolean parameter. 
-	 * This method triggers turning off or on the sound in the game.</p>
+	 * This method triggers turning off or on the sound in the game. While the sound is
+	 * off, the {@link AudioService} doesn't synthesize anything.</p>
 	 * 
 	 * @param isSoundOn a boolean value.
 	 */
 	public void setIsSoundOn(boolean isSoundOn) {
 		this.isSoundOn = isSoundOn;
+		AudioService.getInstance().setMuted(!isSoundOn);
+	}
+	
+	/**
+	 * <p>Mutator method which changes how the tones are played, e.g. with the MIDI
+	 * synthesizer or with the low latency PCM mixer. The new backend is opened in the
+	 * background and replaces the current one when it is ready.</p>
+	 * 
+	 * @param name name of the audio backend.
+	 */
+	public void setAudioBackend(String name) {
+		AudioService.getInstance().setBackend(name);
 	}
 	
 	/**
@@ -8,6 +8,8 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 
 import interfaces.IDataPersistor;
+import monitoring.GameMetrics;
+import monitoring.PersistenceEvent;
 
 public class MemoryGameDataPersistor implements IDataPersistor {
 	
@@ -15,13 +17,15 @@ public class MemoryGameDataPersistor implements IDataPersistor {
 	 * <p>Data persistor class which implements {@link IDataPersistor}. 
 	 * It handles the reading and writing of the high score from and to 
 	 * savedGame.ser file.</p>
-	 * <p>Date of last modification: 27-11/2015</p>
+	 * <p>The game keeps its high score in a {@link MappedScoreStore}; this persistor is only
+	 * used when the store cannot be opened, and to copy an old high score into the store.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
 	 * 
 	 * @author Csaba Farkas csaba.farkas@mycit.ie
 	 */
 	
 	//final static variable stores the file location
-	private final static String FILE_LOCATION = "src/data/savedGame.ser";
+	final static String FILE_LOCATION = "src/data/savedGame.ser";
 
 	/**
 	 * <p>Method implements {@link IDataPersistor}.write method. Method creates a {@link FileOutputStream}
@@ -29,15 +33,24 @@ public class MemoryGameDataPersistor implements IDataPersistor {
 	 */
 	@Override
 	public void write(Integer highScore) {
+		long start = System.nanoTime();
+		PersistenceEvent event = new PersistenceEvent();
+		event.begin();
+		long bytes = 0;
+		boolean success = false;
 		try {
 			FileOutputStream fos = new FileOutputStream(FILE_LOCATION);
 			ObjectOutputStream oos = new ObjectOutputStream(fos);
 			oos.writeObject(highScore);
+			oos.flush();
+			bytes = fos.getChannel().position();
 			oos.close();
+			success = true;
 		} catch(IOException iox) {
 			System.out.println(iox.getMessage());
 		}
-		
+		GameMetrics.PERSISTENCE_WRITE.recordSince(start);
+		commit(event, PersistenceEvent.WRITE, bytes, success);
 	}
 
 	/**
@@ -49,11 +62,22 @@ public class MemoryGameDataPersistor implements IDataPersistor {
 	 */
 	@Override
 	public Integer read() {
+		long start = System.nanoTime();
+		PersistenceEvent event = new PersistenceEvent();
+		event.begin();
+		long bytes = 0;
+		Integer highScore = null;
+		boolean success = false;
 		try {
 			FileInputStream fis = new FileInputStream(FILE_LOCATION);
 			ObjectInputStream ois = new ObjectInputStream(fis);
-			Integer highScore = (Integer) ois.readObject();
-			return highScore;
+			try {
+				highScore = (Integer) ois.readObject();
+				bytes = fis.getChannel().position();
+				success = true;
+			} finally {
+				ois.close();
+			}
 		} catch (FileNotFoundException e) {
 			System.out.println(e.getMessage());
 		} catch (IOException e) {
@@ -61,7 +85,27 @@ public class MemoryGameDataPersistor implements IDataPersistor {
 		} catch (ClassNotFoundException e) {
 			System.out.println(e.getMessage());
 		}
-		return null;
+		GameMetrics.PERSISTENCE_READ.recordSince(start);
+		commit(event, PersistenceEvent.READ, bytes, success);
+		return highScore;
+	}
+	
+	/**
+	 * <p>Private method which commits the Flight Recorder event of a read or write and counts
+	 * the failures. The event is disabled by default, and then nothing is recorded.</p>
+	 */
+	private static void commit(PersistenceEvent event, String operation, long bytes, boolean success) {
+		if(!success) {
+			GameMetrics.PERSISTENCE_ERRORS.increment();
+		}
+		event.end();
+		if(event.shouldCommit()) {
+			event.operation = operation;
+			event.path = FILE_LOCATION;
+			event.bytes = bytes;
+			event.success = success;
+			event.commit();
+		}
 	}
 
 }
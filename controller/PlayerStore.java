@@ -0,0 +1,648 @@
+package controller;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+public class PlayerStore {
+
+	/**
+	 * <p>Profiles of every player who ever played on this machine: the best score of
+	 * the player at every difficulty and the number of games played, with a top-N
+	 * leaderboard for every difficulty.</p>
+	 * <ul>
+	 * <li>Profiles are kept in parallel arrays, indexed by an int id. An open addressing
+	 * hash table of ids finds the id of a name in O(1), without an object per entry, so
+	 * a million profiles fit in memory.</li>
+	 * <li>Every leaderboard is an array of the LEADERBOARD_SIZE best scores, kept in order
+	 * when a score is recorded. Best scores only go up, so the array is always exact and
+	 * a query only copies it.</li>
+	 * <li>The store is saved as a compact binary snapshot, players.ser in the
+	 * {@link DataLocation}, on a background thread, "simon-players". The snapshot is
+	 * written to a temporary file and moved over the old one, so a crash never leaves a
+	 * half-written file. It is written at most once every SNAPSHOT_INTERVAL_MILLIS, and
+	 * when the program exits. The arrays are copied under the lock and encoded after it
+	 * is released, so queries don't wait for the encoding.</li>
+	 * <li>load() reads the snapshot on the same thread, and games are recorded on it, so
+	 * the Event Dispatch Thread never waits for the file. Queries wait until the snapshot
+	 * is loaded; isLoaded() tells whether they would.</li>
+	 * </ul>
+	 * <p>Snapshot layout: "SIMP", u8 version, i32 count, then for every player: UTF name,
+	 * varint games played and one varint best score per difficulty; then the CRC32C of
+	 * everything before it. A file which starts with the magic number of Java
+	 * serialization is the old, always empty, list of players, and is read as an empty
+	 * store.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final String FILE_NAME = "players.ser";
+	public static final int LEADERBOARD_SIZE = 100;
+
+	//Difficulties in the order of the columns of the best scores
+	public static final int[] DIFFICULTIES = new int[] {
+			MemoryGameController.EASY_DIFFICULTY,
+			MemoryGameController.MEDIUM_DIFFICULTY,
+			MemoryGameController.HARD_DIFFICULTY,
+			MemoryGameController.EXPERT_DIFFICULTY
+	};
+
+	private static final int MAGIC = 0x53494D50;	//"SIMP"
+	private static final int VERSION = 1;
+	private static final int JAVA_SERIALIZATION_MAGIC = 0xACED;
+
+	//A snapshot of a million players is about 20 MB, so it isn't written after every game
+	public static final long SNAPSHOT_INTERVAL_MILLIS = 30000;
+
+	//Longest name, in chars; its modified UTF-8 is always shorter than the 64 KB of writeUTF
+	public static final int MAX_NAME_LENGTH = 256;
+
+	/**
+	 * <p>One line of a leaderboard.</p>
+	 */
+	public static class Entry {
+		private final String name;
+		private final int score;
+
+		private Entry(String name, int score) {
+			this.name = name;
+			this.score = score;
+		}
+
+		/**
+		 * <p>Accessor method which returns the name of the player.</p>
+		 *
+		 * @return player's name.
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * <p>Accessor method which returns the best score of the player.</p>
+		 *
+		 * @return best score.
+		 */
+		public int getScore() {
+			return this.score;
+		}
+
+		@Override
+		public String toString() {
+			return this.name + " " + this.score;
+		}
+	}
+
+	/**
+	 * <p>The best scores of one difficulty, highest first. Of two equal scores, the one
+	 * recorded first is ahead.</p>
+	 */
+	private static class Leaderboard {
+		private final int[] ids = new int[LEADERBOARD_SIZE];
+		private final int[] scores = new int[LEADERBOARD_SIZE];
+		private int size;
+
+		private void offer(int id, int score) {
+			if(this.size == LEADERBOARD_SIZE && score <= this.scores[this.size - 1]) {
+				return;
+			}
+			//A player is on the board once, with the best score
+			for(int i = 0; i < this.size; i++) {
+				if(this.ids[i] == id) {
+					System.arraycopy(this.ids, i + 1, this.ids, i, this.size - i - 1);
+					System.arraycopy(this.scores, i + 1, this.scores, i, this.size - i - 1);
+					this.size--;
+					break;
+				}
+			}
+			int position = this.size;
+			while(position > 0 && this.scores[position - 1] < score) {
+				position--;
+			}
+			if(position == LEADERBOARD_SIZE) {
+				return;
+			}
+			int moved = Math.min(this.size, LEADERBOARD_SIZE - 1) - position;
+			System.arraycopy(this.ids, position, this.ids, position + 1, moved);
+			System.arraycopy(this.scores, position, this.scores, position + 1, moved);
+			this.ids[position] = id;
+			this.scores[position] = score;
+			this.size = Math.min(this.size + 1, LEADERBOARD_SIZE);
+		}
+	}
+
+	//Instance variables
+	private final File file;
+	private final CountDownLatch loaded;
+	private final ScheduledThreadPoolExecutor writer;
+	private final AtomicBoolean isSnapshotScheduled;
+	private final Leaderboard[] leaderboards;
+	private String[] names;
+	private int[] gamesPlayed;
+	private int[] bests;
+	private int[] table;
+	private int count;
+	private boolean isDirty;
+
+	/**
+	 * <p>Constructor method creates an empty store for players.ser of the {@link DataLocation}.</p>
+	 */
+	public PlayerStore() {
+		this(DataLocation.getFile(FILE_NAME));
+	}
+
+	/**
+	 * <p>Constructor method creates an empty store. Call load() to read the snapshot.</p>
+	 *
+	 * @param file the snapshot file.
+	 */
+	public PlayerStore(File file) {
+		this.file = file;
+		this.loaded = new CountDownLatch(1);
+		this.writer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "simon-players");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		//close() writes the last snapshot at once, so a scheduled one is dropped
+		this.writer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		this.isSnapshotScheduled = new AtomicBoolean();
+		this.leaderboards = new Leaderboard[DIFFICULTIES.length];
+		for(int i = 0; i < DIFFICULTIES.length; i++) {
+			this.leaderboards[i] = new Leaderboard();
+		}
+		this.names = new String[16];
+		this.gamesPlayed = new int[16];
+		this.bests = new int[16 * DIFFICULTIES.length];
+		this.table = new int[32];
+		this.count = 0;
+	}
+
+	/**
+	 * <p>Method reads the snapshot on the background thread and registers a shutdown hook
+	 * which saves the changes. It returns immediately.</p>
+	 */
+	public void load() {
+		this.writer.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					read();
+				} catch(IOException iox) {
+					System.out.println("Cannot read " + file + ": " + iox.getMessage());
+				} finally {
+					loaded.countDown();
+				}
+			}
+		});
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				close();
+			}
+		}, "simon-players-shutdown"));
+	}
+
+	/**
+	 * <p>Method returns the best score of a player at a difficulty.</p>
+	 *
+	 * @param name player's name.
+	 * @param difficulty one of the difficulties of {@link MemoryGameController}.
+	 * @return best score, or 0 if the player never played at this difficulty.
+	 */
+	public int getBest(String name, int difficulty) {
+		awaitLoaded();
+		synchronized(this) {
+			int id = find(name);
+			return id < 0 ? 0 : this.bests[id * DIFFICULTIES.length + column(difficulty)];
+		}
+	}
+
+	/**
+	 * <p>Method returns the number of games a player played.</p>
+	 *
+	 * @param name player's name.
+	 * @return number of games, or 0 for a new player.
+	 */
+	public int getGamesPlayed(String name) {
+		awaitLoaded();
+		synchronized(this) {
+			int id = find(name);
+			return id < 0 ? 0 : this.gamesPlayed[id];
+		}
+	}
+
+	/**
+	 * <p>Method records a finished game: it creates the profile of a new player, updates
+	 * the best score and the leaderboard, and schedules a snapshot. The update runs on
+	 * the background thread after the snapshot is loaded, so the method returns at once.
+	 * A name is cut to MAX_NAME_LENGTH chars.</p>
+	 *
+	 * @param playerName player's name.
+	 * @param difficulty one of the difficulties of {@link MemoryGameController}.
+	 * @param score final score of the game.
+	 */
+	public void recordGame(String playerName, final int difficulty, final int score) {
+		column(difficulty);
+		final String name = capName(playerName);
+		try {
+			this.writer.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					synchronized(PlayerStore.this) {
+						update(name, difficulty, score, 1);
+						isDirty = true;
+					}
+				}
+			});
+		} catch(RejectedExecutionException rex) {
+			//The program is exiting
+			return;
+		}
+		scheduleSnapshot();
+	}
+
+	/**
+	 * <p>Method returns true when the snapshot is loaded, i.e. when the other methods
+	 * return without waiting.</p>
+	 *
+	 * @return true if the store is loaded.
+	 */
+	public boolean isLoaded() {
+		return this.loaded.getCount() == 0;
+	}
+
+	/**
+	 * <p>Method returns the first lines of the leaderboard of a difficulty. Nothing is
+	 * sorted: the leaderboard is kept in order.</p>
+	 *
+	 * @param difficulty one of the difficulties of {@link MemoryGameController}.
+	 * @param n number of lines, at most LEADERBOARD_SIZE.
+	 * @return the best players, highest score first.
+	 */
+	public List<Entry> getLeaderboard(int difficulty, int n) {
+		awaitLoaded();
+		synchronized(this) {
+			Leaderboard leaderboard = this.leaderboards[column(difficulty)];
+			int size = Math.min(n, leaderboard.size);
+			List<Entry> entries = new ArrayList<Entry>(size);
+			for(int i = 0; i < size; i++) {
+				entries.add(new Entry(this.names[leaderboard.ids[i]], leaderboard.scores[i]));
+			}
+			return entries;
+		}
+	}
+
+	/**
+	 * <p>Method returns the number of profiles.</p>
+	 *
+	 * @return number of players.
+	 */
+	public int size() {
+		awaitLoaded();
+		synchronized(this) {
+			return this.count;
+		}
+	}
+
+	/**
+	 * <p>Method saves the changes and stops the background thread. It is called by the
+	 * shutdown hook.</p>
+	 */
+	public void close() {
+		if(this.writer.isShutdown()) {
+			return;
+		}
+		this.writer.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				snapshot();
+			}
+		});
+		this.writer.shutdown();
+		try {
+			this.writer.awaitTermination(5, TimeUnit.SECONDS);
+		} catch(InterruptedException ix) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * <p>Private method which waits until the snapshot is loaded.</p>
+	 */
+	private void awaitLoaded() {
+		try {
+			this.loaded.await();
+		} catch(InterruptedException ix) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * <p>Private method which schedules a snapshot in SNAPSHOT_INTERVAL_MILLIS, unless one
+	 * is scheduled already. The games recorded until then are saved by the same one.</p>
+	 */
+	private void scheduleSnapshot() {
+		if(this.isSnapshotScheduled.compareAndSet(false, true)) {
+			try {
+				this.writer.schedule(new Runnable() {
+
+					@Override
+					public void run() {
+						isSnapshotScheduled.set(false);
+						snapshot();
+					}
+				}, SNAPSHOT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+			} catch(RejectedExecutionException rex) {
+				//The program is exiting, close() writes the snapshot
+			}
+		}
+	}
+
+	/**
+	 * <p>Private method which writes the snapshot, if anything changed since the last
+	 * one. The profiles are copied under the lock, and encoded and written to the disk
+	 * after it is released. It runs on the background thread, the only one which changes
+	 * the profiles.</p>
+	 */
+	private void snapshot() {
+		int players;
+		String[] playerNames;
+		int[] games;
+		int[] scores;
+		synchronized(this) {
+			if(!this.isDirty) {
+				return;
+			}
+			players = this.count;
+			playerNames = Arrays.copyOf(this.names, players);
+			games = Arrays.copyOf(this.gamesPlayed, players);
+			scores = Arrays.copyOf(this.bests, players * DIFFICULTIES.length);
+			this.isDirty = false;
+		}
+		byte[] bytes;
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(players * 16 + 16);
+		try {
+			CheckedOutputStream cos = new CheckedOutputStream(bos, new CRC32C());
+			DataOutputStream out = new DataOutputStream(cos);
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeInt(players);
+			for(int id = 0; id < players; id++) {
+				out.writeUTF(playerNames[id]);
+				writeVarint(out, games[id]);
+				for(int column = 0; column < DIFFICULTIES.length; column++) {
+					writeVarint(out, scores[id * DIFFICULTIES.length + column]);
+				}
+			}
+			out.flush();
+			new DataOutputStream(bos).writeInt((int) cos.getChecksum().getValue());
+			bytes = bos.toByteArray();
+		} catch(IOException iox) {
+			//Names are capped, so this is a bug; the old file is kept and the store stays dirty
+			System.out.println("Cannot encode " + this.file + ": " + iox.getMessage());
+			synchronized(this) {
+				this.isDirty = true;
+			}
+			return;
+		}
+		try {
+			File temporary = new File(this.file.getPath() + ".tmp");
+			Files.write(temporary.toPath(), bytes);
+			Files.move(temporary.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch(IOException iox) {
+			System.out.println("Cannot save " + this.file + ": " + iox.getMessage());
+			synchronized(this) {
+				this.isDirty = true;
+			}
+		}
+	}
+
+	/**
+	 * <p>Static method which cuts a name to MAX_NAME_LENGTH chars, without splitting a
+	 * surrogate pair.</p>
+	 *
+	 * @param name player's name.
+	 * @return the name, or its first MAX_NAME_LENGTH chars.
+	 */
+	public static String capName(String name) {
+		if(name.length() <= MAX_NAME_LENGTH) {
+			return name;
+		}
+		int end = MAX_NAME_LENGTH;
+		if(Character.isHighSurrogate(name.charAt(end - 1))) {
+			end--;
+		}
+		return name.substring(0, end);
+	}
+
+	/**
+	 * <p>Private method which reads the snapshot into the store.</p>
+	 */
+	private void read() throws IOException {
+		if(!this.file.isFile()) {
+			return;
+		}
+		byte[] bytes = Files.readAllBytes(this.file.toPath());
+		if(bytes.length >= 2 && ((bytes[0] & 0xFF) << 8 | (bytes[1] & 0xFF)) == JAVA_SERIALIZATION_MAGIC) {
+			//The old list of players, which was never written to, so there is nothing in it
+			return;
+		}
+		if(bytes.length < 13) {
+			throw new IOException("Truncated snapshot");
+		}
+		CheckedInputStream cis = new CheckedInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 4), new CRC32C());
+		DataInputStream in = new DataInputStream(cis);
+		if(in.readInt() != MAGIC || in.readByte() != VERSION) {
+			throw new IOException("Not a player snapshot");
+		}
+		int players = in.readInt();
+		//Every profile takes at least 2 + 1 + DIFFICULTIES.length bytes
+		if(players < 0 || players > bytes.length / (3 + DIFFICULTIES.length)) {
+			throw new IOException("Bad player count, the snapshot is damaged");
+		}
+
+		//The profiles are decoded first and only added when the checksum is right, so a
+		//damaged snapshot adds nothing, and the next snapshot doesn't save half of it
+		String[] names = new String[players];
+		int[] games = new int[players];
+		int[] scores = new int[players * DIFFICULTIES.length];
+		try {
+			for(int i = 0; i < players; i++) {
+				names[i] = in.readUTF();
+				games[i] = readVarint(in);
+				for(int column = 0; column < DIFFICULTIES.length; column++) {
+					scores[i * DIFFICULTIES.length + column] = readVarint(in);
+				}
+			}
+		} catch(EOFException eofx) {
+			throw new IOException("Truncated snapshot");
+		}
+		int expected = new DataInputStream(new ByteArrayInputStream(bytes, bytes.length - 4, 4)).readInt();
+		if((int) cis.getChecksum().getValue() != expected) {
+			throw new IOException("Checksum mismatch, the snapshot is damaged");
+		}
+
+		synchronized(this) {
+			for(int i = 0; i < players; i++) {
+				int id = find(names[i]);
+				if(id < 0) {
+					id = add(names[i]);
+				}
+				this.gamesPlayed[id] += games[i];
+				for(int column = 0; column < DIFFICULTIES.length; column++) {
+					raise(id, column, scores[i * DIFFICULTIES.length + column]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * <p>Private method which adds games to a profile and raises its best score. The
+	 * caller holds the lock.</p>
+	 */
+	private int update(String name, int difficulty, int score, int games) {
+		int id = find(name);
+		if(id < 0) {
+			id = add(name);
+		}
+		this.gamesPlayed[id] += games;
+		return raise(id, column(difficulty), score);
+	}
+
+	/**
+	 * <p>Private method which raises a best score and offers it to the leaderboard. The
+	 * caller holds the lock.</p>
+	 */
+	private int raise(int id, int column, int score) {
+		int index = id * DIFFICULTIES.length + column;
+		if(score > this.bests[index]) {
+			this.bests[index] = score;
+			this.leaderboards[column].offer(id, score);
+		}
+		return this.bests[index];
+	}
+
+	/**
+	 * <p>Private method which returns the id of a name, or -1.</p>
+	 */
+	private int find(String name) {
+		int mask = this.table.length - 1;
+		for(int slot = hash(name) & mask; ; slot = (slot + 1) & mask) {
+			int entry = this.table[slot];
+			if(entry == 0) {
+				return -1;
+			}
+			if(this.names[entry - 1].equals(name)) {
+				return entry - 1;
+			}
+		}
+	}
+
+	/**
+	 * <p>Private method which adds a new profile and returns its id. The table is kept
+	 * at most half full.</p>
+	 */
+	private int add(String name) {
+		if(this.count == this.names.length) {
+			int capacity = this.names.length * 2;
+			this.names = Arrays.copyOf(this.names, capacity);
+			this.gamesPlayed = Arrays.copyOf(this.gamesPlayed, capacity);
+			this.bests = Arrays.copyOf(this.bests, capacity * DIFFICULTIES.length);
+		}
+		if((this.count + 1) * 2 > this.table.length) {
+			this.table = new int[this.table.length * 2];
+			for(int id = 0; id < this.count; id++) {
+				insert(id);
+			}
+		}
+		int id = this.count++;
+		this.names[id] = name;
+		insert(id);
+		return id;
+	}
+
+	/**
+	 * <p>Private method which puts an id into the first free slot of its name.</p>
+	 */
+	private void insert(int id) {
+		int mask = this.table.length - 1;
+		int slot = hash(this.names[id]) & mask;
+		while(this.table[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		this.table[slot] = id + 1;
+	}
+
+	/**
+	 * <p>Private static method which writes an unsigned LEB128 varint.</p>
+	 */
+	private static void writeVarint(DataOutputStream out, int value) throws IOException {
+		while((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	/**
+	 * <p>Private static method which reads an unsigned LEB128 varint.</p>
+	 */
+	private static int readVarint(DataInputStream in) throws IOException {
+		int value = 0;
+		int shift = 0;
+		while(true) {
+			byte b = in.readByte();
+			value |= (b & 0x7F) << shift;
+			if(b >= 0) {
+				return value;
+			}
+			shift += 7;
+		}
+	}
+
+	/**
+	 * <p>Private static method which spreads the hash code of a name.</p>
+	 */
+	private static int hash(String name) {
+		int h = name.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * <p>Private static method which returns the column of a difficulty.</p>
+	 */
+	private static int column(int difficulty) {
+		for(int column = 0; column < DIFFICULTIES.length; column++) {
+			if(DIFFICULTIES[column] == difficulty) {
+				return column;
+			}
+		}
+		throw new IllegalArgumentException("Unknown difficulty " + difficulty);
+	}
+}
@@ -0,0 +1,284 @@
+package controller;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+
+public class SessionRecorder {
+
+	/**
+	 * <p>Records a game as a compact binary stream. Every button press is one varint:
+	 * (nanoseconds since the previous press &lt;&lt; 2) | color. Presses are appended to
+	 * an in-memory byte array, so recording a press costs a few array stores and no
+	 * I/O. The file is written when the game is over, when another game replaces it,
+	 * or when the program exits.</p>
+	 * <p>File layout:</p>
+	 * <ul>
+	 * <li>Header: "SIMR", u8 version, i64 seed, varint difficulty, varint name length, name (UTF-8)</li>
+	 * <li>Events: one varint per press</li>
+	 * <li>Keyframe index: varint count, then for every level: varint level, varint event
+	 * index, varint byte offset of its first press, varint score at the start of the
+	 * level, varint nanoseconds since the start of the game</li>
+	 * <li>Footer: i32 offset of the index, "SIMI"</li>
+	 * </ul>
+	 * <p>Keyframes are sorted by level, so {@link SessionRecording} finds any level with a
+	 * binary search.</p>
+	 * <p>A directory keeps the newest MAX_RECORDINGS recordings (-Dsimon.maxRecordings);
+	 * the oldest ones are deleted when a new one is saved. The methods are synchronized,
+	 * so a shutdown hook may save the recording while the game goes on.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final byte[] MAGIC = "SIMR".getBytes(StandardCharsets.US_ASCII);
+	public static final byte[] INDEX_MAGIC = "SIMI".getBytes(StandardCharsets.US_ASCII);
+	public static final int VERSION = 1;
+	public static final String FILE_EXTENSION = ".simr";
+	public static final int MAX_RECORDINGS = Integer.getInteger("simon.maxRecordings", 500);
+
+	//Instance variables
+	private byte[] buffer;
+	private int length;
+	private int eventsStart;
+	private int eventCount;
+	private long startNanos;
+	private long lastNanos;
+	private int[] keyframeLevels;
+	private int[] keyframeEvents;
+	private int[] keyframeOffsets;
+	private int[] keyframeScores;
+	private long[] keyframeNanos;
+	private int keyframeCount;
+	private boolean isFinished;
+	private final String playerName;
+
+	/**
+	 * <p>Constructor method creates a recorder and writes the header of the recording.</p>
+	 *
+	 * @param seed seed of the game.
+	 * @param difficulty difficulty of the game.
+	 * @param playerName name of the player.
+	 */
+	public SessionRecorder(long seed, int difficulty, String playerName) {
+		this.buffer = new byte[1024];
+		this.length = 0;
+		this.playerName = playerName;
+		byte[] name = playerName.getBytes(StandardCharsets.UTF_8);
+
+		putBytes(MAGIC, 0, MAGIC.length);
+		putByte(VERSION);
+		for(int shift = 56; shift >= 0; shift -= 8) {
+			putByte((int) (seed >>> shift));
+		}
+		putVarint(difficulty);
+		putVarint(name.length);
+		putBytes(name, 0, name.length);
+
+		this.eventsStart = this.length;
+		this.eventCount = 0;
+		this.keyframeLevels = new int[16];
+		this.keyframeEvents = new int[16];
+		this.keyframeOffsets = new int[16];
+		this.keyframeScores = new int[16];
+		this.keyframeNanos = new long[16];
+		this.keyframeCount = 0;
+		this.startNanos = System.nanoTime();
+		this.lastNanos = this.startNanos;
+	}
+
+	/**
+	 * <p>Method records a button press.</p>
+	 *
+	 * @param color an integer indicating the color pressed.
+	 * @param nanos value of System.nanoTime() when the button was pressed.
+	 */
+	public synchronized void recordPress(int color, long nanos) {
+		if(this.isFinished) {
+			return;
+		}
+		long delta = Math.max(0, nanos - this.lastNanos);
+		this.lastNanos = nanos;
+		putVarint((delta << 2) | (color & 3));
+		this.eventCount++;
+	}
+
+	/**
+	 * <p>Method records the start of a level. It is called at the start of the game and
+	 * after every level up.</p>
+	 *
+	 * @param level number of the level which starts.
+	 * @param score score of the player at the start of the level.
+	 */
+	public synchronized void markLevel(int level, int score) {
+		if(this.isFinished) {
+			return;
+		}
+		if(this.keyframeCount == this.keyframeLevels.length) {
+			int capacity = this.keyframeCount * 2;
+			this.keyframeLevels = Arrays.copyOf(this.keyframeLevels, capacity);
+			this.keyframeEvents = Arrays.copyOf(this.keyframeEvents, capacity);
+			this.keyframeOffsets = Arrays.copyOf(this.keyframeOffsets, capacity);
+			this.keyframeScores = Arrays.copyOf(this.keyframeScores, capacity);
+			this.keyframeNanos = Arrays.copyOf(this.keyframeNanos, capacity);
+		}
+		this.keyframeLevels[this.keyframeCount] = level;
+		this.keyframeEvents[this.keyframeCount] = this.eventCount;
+		this.keyframeOffsets[this.keyframeCount] = this.length - this.eventsStart;
+		this.keyframeScores[this.keyframeCount] = score;
+		this.keyframeNanos[this.keyframeCount] = System.nanoTime() - this.startNanos;
+		this.keyframeCount++;
+	}
+
+	/**
+	 * <p>Method appends the keyframe index and the footer, and returns the whole
+	 * recording. Presses recorded after this are ignored.</p>
+	 *
+	 * @return the bytes of the recording, or null if it was finished already.
+	 */
+	public synchronized byte[] finish() {
+		if(this.isFinished) {
+			return null;
+		}
+		this.isFinished = true;
+		int indexOffset = this.length;
+		putVarint(this.keyframeCount);
+		for(int i = 0; i < this.keyframeCount; i++) {
+			putVarint(this.keyframeLevels[i]);
+			putVarint(this.keyframeEvents[i]);
+			putVarint(this.keyframeOffsets[i]);
+			putVarint(this.keyframeScores[i]);
+			putVarint(this.keyframeNanos[i]);
+		}
+		for(int shift = 24; shift >= 0; shift -= 8) {
+			putByte(indexOffset >>> shift);
+		}
+		putBytes(INDEX_MAGIC, 0, INDEX_MAGIC.length);
+		return Arrays.copyOf(this.buffer, this.length);
+	}
+
+	/**
+	 * <p>Method finishes the recording and writes it into a new file in the directory on
+	 * a background thread, so the GUI never waits for the disk.</p>
+	 *
+	 * @param directory where the recording is saved.
+	 */
+	public void saveTo(final File directory) {
+		final byte[] bytes = finish();
+		if(bytes == null) {
+			return;
+		}
+		final String fileName = getFileName();
+		Thread writer = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				write(directory, fileName, bytes);
+			}
+		}, "simon-recording-writer");
+		writer.setDaemon(false);
+		writer.start();
+	}
+
+	/**
+	 * <p>Method finishes the recording and writes it into a new file in the directory on
+	 * the calling thread. It is used by the shutdown hook, which must not return before
+	 * the file is written.</p>
+	 *
+	 * @param directory where the recording is saved.
+	 */
+	public void save(File directory) {
+		byte[] bytes = finish();
+		if(bytes != null) {
+			write(directory, getFileName(), bytes);
+		}
+	}
+
+	/**
+	 * <p>Accessor method which returns the number of presses recorded so far.</p>
+	 *
+	 * @return number of presses.
+	 */
+	public synchronized int getEventCount() {
+		return this.eventCount;
+	}
+
+	/**
+	 * <p>Private method which returns the name of the file of the recording: the time it
+	 * is saved and the name of the player.</p>
+	 */
+	private String getFileName() {
+		return new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date())
+				+ "-" + this.playerName.replaceAll("[^A-Za-z0-9_-]", "_") + FILE_EXTENSION;
+	}
+
+	/**
+	 * <p>Private static method which writes a recording and deletes the oldest ones of the
+	 * directory, so it keeps at most MAX_RECORDINGS.</p>
+	 */
+	private static void write(File directory, String fileName, byte[] bytes) {
+		try {
+			directory.mkdirs();
+			FileOutputStream fos = new FileOutputStream(new File(directory, fileName));
+			try {
+				fos.write(bytes);
+			} finally {
+				fos.close();
+			}
+		} catch(IOException iox) {
+			System.out.println(iox.getMessage());
+			return;
+		}
+
+		File[] recordings = directory.listFiles(new FileFilter() {
+
+			@Override
+			public boolean accept(File file) {
+				return file.isFile() && file.getName().endsWith(FILE_EXTENSION);
+			}
+		});
+		if(recordings == null || recordings.length <= MAX_RECORDINGS) {
+			return;
+		}
+		//File names start with the time they were saved, so the oldest sort first
+		Arrays.sort(recordings);
+		for(int i = 0; i < recordings.length - MAX_RECORDINGS; i++) {
+			if(!recordings[i].delete() && recordings[i].exists()) {
+				System.out.println("Cannot delete " + recordings[i]);
+			}
+		}
+	}
+
+	/**
+	 * <p>Private method which appends an unsigned LEB128 varint.</p>
+	 */
+	private void putVarint(long value) {
+		while((value & ~0x7FL) != 0) {
+			putByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		putByte((int) value);
+	}
+
+	/**
+	 * <p>Private method which appends one byte, growing the buffer when it is full.</p>
+	 */
+	private void putByte(int value) {
+		if(this.length == this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+		}
+		this.buffer[this.length++] = (byte) value;
+	}
+
+	/**
+	 * <p>Private method which appends bytes.</p>
+	 */
+	private void putBytes(byte[] bytes, int offset, int count) {
+		for(int i = 0; i < count; i++) {
+			putByte(bytes[offset + i]);
+		}
+	}
+}
@@ -0,0 +1,281 @@
+package controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class SessionRecording {
+
+	/**
+	 * <p>Reads a recording written by {@link SessionRecorder}. The header and the keyframe
+	 * index are parsed when the file is opened; presses are decoded one at a time with
+	 * next(), which doesn't allocate. seek() finds the keyframe of a level with a binary
+	 * search and positions the reader at the first press of that level.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Instance variables
+	private final byte[] data;
+	private final long seed;
+	private final int difficulty;
+	private final String playerName;
+	private final int eventsStart;
+	private final int eventsEnd;
+	private int[] levels;
+	private int[] eventIndexes;
+	private int[] offsets;
+	private int[] scores;
+	private long[] levelNanos;
+	private int position;
+	private int eventIndex;
+	private int color;
+	private long deltaNanos;
+
+	/**
+	 * <p>Constructor method reads the whole recording from the file.</p>
+	 *
+	 * @param file recording to read.
+	 * @throws IOException if the file cannot be read or it is not a recording.
+	 */
+	public SessionRecording(File file) throws IOException {
+		this(Files.readAllBytes(file.toPath()));
+	}
+
+	/**
+	 * <p>Constructor method parses a recording.</p>
+	 *
+	 * @param data bytes of the recording.
+	 * @throws IOException if the data is not a valid recording.
+	 */
+	public SessionRecording(byte[] data) throws IOException {
+		this.data = data;
+		int footer = data.length - 8;
+		if(data.length < SessionRecorder.MAGIC.length + 9 + 8
+				|| !Arrays.equals(Arrays.copyOf(data, 4), SessionRecorder.MAGIC)
+				|| !Arrays.equals(Arrays.copyOfRange(data, footer + 4, data.length), SessionRecorder.INDEX_MAGIC)) {
+			throw new IOException("Not a recording");
+		}
+		if(data[4] != SessionRecorder.VERSION) {
+			throw new IOException("Unsupported recording version " + data[4]);
+		}
+		long seed = 0;
+		for(int i = 5; i < 13; i++) {
+			seed = (seed << 8) | (data[i] & 0xFF);
+		}
+		this.seed = seed;
+		this.position = 13;
+		this.difficulty = (int) readVarint(footer);
+		long nameLength = readVarint(footer);
+		if(nameLength > footer - this.position) {
+			throw new IOException("Corrupt recording");
+		}
+		this.playerName = new String(data, this.position, (int) nameLength, StandardCharsets.UTF_8);
+		this.position += (int) nameLength;
+		this.eventsStart = this.position;
+
+		int indexOffset = ((data[footer] & 0xFF) << 24) | ((data[footer + 1] & 0xFF) << 16)
+				| ((data[footer + 2] & 0xFF) << 8) | (data[footer + 3] & 0xFF);
+		if(indexOffset < this.eventsStart || indexOffset > footer) {
+			throw new IOException("Corrupt keyframe index");
+		}
+		this.eventsEnd = indexOffset;
+		this.position = indexOffset;
+		//Every keyframe takes at least 5 bytes
+		long count = readVarint(footer);
+		if(count > (footer - this.position) / 5) {
+			throw new IOException("Corrupt recording");
+		}
+		this.levels = new int[(int) count];
+		this.eventIndexes = new int[(int) count];
+		this.offsets = new int[(int) count];
+		this.scores = new int[(int) count];
+		this.levelNanos = new long[(int) count];
+		for(int i = 0; i < count; i++) {
+			this.levels[i] = (int) readVarint(footer);
+			//seek() does a binary search, the levels must be in order
+			if(i > 0 && this.levels[i] <= this.levels[i - 1]) {
+				throw new IOException("Corrupt recording");
+			}
+			this.eventIndexes[i] = (int) readVarint(footer);
+			long offset = readVarint(footer);
+			if(offset > this.eventsEnd - this.eventsStart) {
+				throw new IOException("Corrupt recording");
+			}
+			this.offsets[i] = (int) offset;
+			this.scores[i] = (int) readVarint(footer);
+			this.levelNanos[i] = readVarint(footer);
+		}
+
+		//Every press must end before the index, so next() never reads past it
+		this.position = this.eventsStart;
+		while(this.position < this.eventsEnd) {
+			readVarint(this.eventsEnd);
+		}
+		rewind();
+	}
+
+	/**
+	 * <p>Method positions the reader at the first press of the game.</p>
+	 */
+	public void rewind() {
+		this.position = this.eventsStart;
+		this.eventIndex = 0;
+	}
+
+	/**
+	 * <p>Method positions the reader at the first press of the level, in O(log n).</p>
+	 *
+	 * @param level number of the level.
+	 * @return index of the keyframe of the level.
+	 * @throws IllegalArgumentException if the level is not in the recording.
+	 */
+	public int seek(int level) {
+		int keyframe = Arrays.binarySearch(this.levels, level);
+		if(keyframe < 0) {
+			throw new IllegalArgumentException("Level " + level + " is not in the recording");
+		}
+		this.position = this.eventsStart + this.offsets[keyframe];
+		this.eventIndex = this.eventIndexes[keyframe];
+		return keyframe;
+	}
+
+	/**
+	 * <p>Method returns true if there are more presses after the current position.</p>
+	 *
+	 * @return true if next() can be called.
+	 */
+	public boolean hasNext() {
+		return this.position < this.eventsEnd;
+	}
+
+	/**
+	 * <p>Method decodes the next press. Its values are returned by getColor() and
+	 * getDeltaNanos().</p>
+	 *
+	 * @throws IOException if the press runs past the end of the presses.
+	 */
+	public void next() throws IOException {
+		long value = readVarint(this.eventsEnd);
+		this.color = (int) (value & 3);
+		this.deltaNanos = value >>> 2;
+		this.eventIndex++;
+	}
+
+	/**
+	 * <p>Accessor method which returns the color of the last decoded press.</p>
+	 *
+	 * @return color.
+	 */
+	public int getColor() {
+		return this.color;
+	}
+
+	/**
+	 * <p>Accessor method which returns the time between the last decoded press and the
+	 * press before it.</p>
+	 *
+	 * @return nanoseconds.
+	 */
+	public long getDeltaNanos() {
+		return this.deltaNanos;
+	}
+
+	/**
+	 * <p>Accessor method which returns the index of the next press.</p>
+	 *
+	 * @return event index.
+	 */
+	public int getEventIndex() {
+		return this.eventIndex;
+	}
+
+	/**
+	 * <p>Accessor method which returns the number of levels (keyframes) in the recording.</p>
+	 *
+	 * @return number of levels.
+	 */
+	public int getLevelCount() {
+		return this.levels.length;
+	}
+
+	/**
+	 * <p>Accessor method which returns the level number of a keyframe.</p>
+	 *
+	 * @param keyframe index of the keyframe.
+	 * @return level number.
+	 */
+	public int getLevel(int keyframe) {
+		return this.levels[keyframe];
+	}
+
+	/**
+	 * <p>Accessor method which returns the score of the player at the start of the level
+	 * of a keyframe.</p>
+	 *
+	 * @param keyframe index of the keyframe.
+	 * @return score.
+	 */
+	public int getScore(int keyframe) {
+		return this.scores[keyframe];
+	}
+
+	/**
+	 * <p>Accessor method which returns the time between the start of the game and the
+	 * start of the level of a keyframe.</p>
+	 *
+	 * @param keyframe index of the keyframe.
+	 * @return nanoseconds.
+	 */
+	public long getLevelNanos(int keyframe) {
+		return this.levelNanos[keyframe];
+	}
+
+	/**
+	 * <p>Accessor method which returns the seed of the recorded game.</p>
+	 *
+	 * @return seed.
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	/**
+	 * <p>Accessor method which returns the difficulty of the recorded game.</p>
+	 *
+	 * @return difficulty.
+	 */
+	public int getDifficulty() {
+		return this.difficulty;
+	}
+
+	/**
+	 * <p>Accessor method which returns the name of the player of the recorded game.</p>
+	 *
+	 * @return player's name.
+	 */
+	public String getPlayerName() {
+		return this.playerName;
+	}
+
+	/**
+	 * <p>Private method which reads an unsigned LEB128 varint, which must end before
+	 * the end offset.</p>
+	 */
+	private long readVarint(int end) throws IOException {
+		long value = 0;
+		int shift = 0;
+		while(true) {
+			if(this.position >= end || shift > 63) {
+				throw new IOException("Corrupt recording");
+			}
+			byte b = this.data[this.position++];
+			value |= (long) (b & 0x7F) << shift;
+			if(b >= 0) {
+				return value;
+			}
+			shift += 7;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package controller;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import interfaces.IDataPersistor;
+import monitoring.GameMetrics;
+
+public class WriteBehindDataPersistor implements IDataPersistor {
+
+	/**
+	 * <p>Data persistor which implements {@link IDataPersistor} on top of another one, and
+	 * writes behind it: write() only stores the high score in memory and returns, so a
+	 * click never waits for the disk.</p>
+	 * <ul>
+	 * <li>One background thread, "simon-persistor", does every write of the persistor
+	 * behind it.</li>
+	 * <li>Last value wins: when the score changes several times before the write, only the
+	 * last one is written. The others are counted in simon_persistence_coalesced_total.</li>
+	 * <li>A high score is written at most FLUSH_INTERVAL milliseconds after write() is
+	 * called.</li>
+	 * <li>A shutdown hook writes the last high score before the program exits, so exiting
+	 * right after write() loses nothing.</li>
+	 * </ul>
+	 * <p>read() returns the last high score given to write(), whether it is written yet
+	 * or not.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//A high score is written at most this many milliseconds after it is set
+	public static final long FLUSH_INTERVAL = 500;
+
+	//The shutdown hook waits at most this many milliseconds for the last write
+	private static final long SHUTDOWN_TIMEOUT = 2000;
+
+	//Instance variables
+	private final IDataPersistor persistor;
+	private final AtomicReference<Integer> pending;
+	private volatile Integer latest;
+	private final AtomicBoolean isFlushScheduled;
+	private final ScheduledThreadPoolExecutor writer;
+	private final Runnable flushTask;
+
+	/**
+	 * <p>Constructor method creates the writer thread and registers the shutdown hook.</p>
+	 *
+	 * @param persistor which reads and writes the file, e.g. {@link MemoryGameDataPersistor}.
+	 */
+	public WriteBehindDataPersistor(IDataPersistor persistor) {
+		this.persistor = persistor;
+		this.pending = new AtomicReference<Integer>();
+		this.isFlushScheduled = new AtomicBoolean();
+		this.writer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "simon-persistor");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		this.flushTask = new Runnable() {
+
+			@Override
+			public void run() {
+				writePending();
+			}
+		};
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				close();
+			}
+		}, "simon-persistor-shutdown"));
+	}
+
+	/**
+	 * <p>Method implements {@link IDataPersistor}.write method. The high score replaces the
+	 * one waiting to be written, and a write is scheduled if none is.</p>
+	 */
+	@Override
+	public void write(Integer highScore) {
+		this.latest = highScore;
+		if(this.pending.getAndSet(highScore) != null) {
+			GameMetrics.PERSISTENCE_COALESCED.increment();
+		}
+		if(this.isFlushScheduled.compareAndSet(false, true)) {
+			try {
+				this.writer.schedule(this.flushTask, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+			} catch(RejectedExecutionException rex) {
+				//The program is exiting and the writer is closed, write it on this thread
+				this.isFlushScheduled.set(false);
+				writePending();
+			}
+		}
+	}
+
+	/**
+	 * <p>Method implements {@link IDataPersistor}.read method. It returns the last high
+	 * score given to write(), or reads it with the persistor behind this one.</p>
+	 */
+	@Override
+	public Integer read() {
+		Integer highScore = this.latest;
+		return highScore != null ? highScore : this.persistor.read();
+	}
+
+	/**
+	 * <p>Method writes the high score waiting to be written on the writer thread, and
+	 * waits until it is written.</p>
+	 *
+	 * @param timeoutMillis the longest time to wait.
+	 * @return false if the write didn't finish in time.
+	 */
+	public boolean flush(long timeoutMillis) {
+		try {
+			Future<?> future = this.writer.submit(this.flushTask);
+			future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			return true;
+		} catch(RejectedExecutionException rex) {
+			writePending();
+			return true;
+		} catch(ExecutionException | TimeoutException ex) {
+			System.out.println("High score flush failed: " + ex);
+			return false;
+		} catch(InterruptedException ix) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * <p>Method writes the last high score and stops the writer thread. It is called by
+	 * the shutdown hook.</p>
+	 */
+	public void close() {
+		if(this.writer.isShutdown()) {
+			return;
+		}
+		flush(SHUTDOWN_TIMEOUT);
+		this.writer.shutdown();
+	}
+
+	/**
+	 * <p>Private method which writes the high score waiting to be written, if there is one.
+	 * It runs on the writer thread.</p>
+	 */
+	private void writePending() {
+		this.isFlushScheduled.set(false);
+		Integer highScore = this.pending.getAndSet(null);
+		if(highScore != null) {
+			this.persistor.write(highScore);
+		}
+	}
+}
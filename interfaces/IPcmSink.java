@@ -0,0 +1,21 @@
+package interfaces;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+
+public interface IPcmSink {
+
+	/**
+	 * <p>This interface includes the signatures of the methods which must
+	 * be implemented by any class which consumes the samples of the PCM mixer.
+	 * write() blocks until the sink has room for the samples, which paces the mixer.
+	 * getFramePosition() returns the number of frames which have been played.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public void open(AudioFormat format, int bufferFrames) throws LineUnavailableException;
+	public void write(byte[] data, int length);
+	public long getFramePosition();
+	public void close();
+	public String getName();
+}
@@ -0,0 +1,14 @@
+package interfaces;
+
+public interface IPlaybackListener {
+
+	/**
+	 * <p>This interface includes the signatures of the methods which must
+	 * be implemented by any class which shows the buttons lit by the playback
+	 * scheduler. Both methods are called on the Event Dispatch Thread.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public void buttonOn(int button, int index);
+	public void buttonOff(int button);
+}
@@ -0,0 +1,15 @@
+package interfaces;
+
+public interface ISequenceSource {
+
+	/**
+	 * <p>This interface includes the signatures of the methods which must
+	 * be implemented by any class which generates the color sequence of a game.
+	 * The color at an index must only depend on the index (and on the state the
+	 * source was created with), so any element can be computed at any time, in
+	 * any order.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public int colorAt(long index);
+}
@@ -0,0 +1,17 @@
+package interfaces;
+
+public interface IToneBackend {
+
+	/**
+	 * <p>This interface includes the signatures of the methods which must
+	 * be implemented by any class which plays the tones of the buttons for the
+	 * AudioService. play() is called from the game thread, so it must return at once.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public boolean open();
+	public void play(int button, long durationMillis);
+	public void stopAll();
+	public void close();
+	public String getName();
+}
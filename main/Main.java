@@ -1,53 +1,212 @@
 package main;
 
+import java.io.IOException;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import javax.swing.SwingUtilities;
 
+import audio.AudioService;
+import controller.GameCheckpoint;
+import controller.GameJournal;
+import controller.MappedScoreStore;
 import controller.MemoryGameController;
 import controller.MemoryGameDataPersistor;
+import controller.PlayerStore;
+import controller.WriteBehindDataPersistor;
 import interfaces.IDataPersistor;
 import interfaces.IMemoryGameGui;
+import monitoring.MetricsRegistry;
+import monitoring.StartupTrace;
 import view.MemoryGameFrame;
 
 public class Main {
+	
+	//Bundles of the view, loaded in the background at startup
+	private static final String[] VIEW_BUNDLES = new String[] {
+			"view.gameFrameProps", "view.optionsPanelProps", "view.newPlayerDialogProps",
+			"view.gamePanelProps", "view.rulesPanelProps", "view.historyPanelProps"
+	};
 
 	public static void main(String[] args) {
 				
 		/**
-		 * <p>This class includes the main method of the program. 
+		 * <p>This class includes the main method of the program. The EDT only builds and
+		 * shows the frame; the rest of the startup runs concurrently, on the "simon-startup"
+		 * threads and on the threads of the services. The {@link StartupTrace} prints the
+		 * time to the first frame, the time until everything is ready, and every phase.
 		 * <ul>
-		 * <li>It creates the data persistor object, and assigns it to the program via the controller.</li>
+		 * <li>It creates the data persistor object, and assigns it to the program via the controller.
+		 * High scores are written behind, so the GUI never waits for the disk, into a
+		 * {@link MappedScoreStore} in the data directory (-Dsimon.dataDir).</li>
 		 * <li>It also reads in the high score and assigns it to the the current game using the controller.</li>
-		 * <li>Then it creates a gui object and assigns it to the program.</p>
+		 * <li>The resource bundles are loaded into the cache of ResourceBundle.</li>
+		 * <li>It creates a gui object and assigns it to the program.</li>
+		 * <li>Metrics are published over JMX, and over HTTP if -Dsimon.metricsPort is set.</li>
+		 * <li>The audio service is started in the background.</li>
+		 * <li>Player profiles are loaded in the background from the {@link PlayerStore}.</li>
+		 * <li>Finished games are appended to the {@link GameJournal}.</li>
+		 * <li>The {@link GameCheckpoint} of the last unfinished game is opened for "Load Game".</li>
 		 * </p>
-		 * <p>Date of last modification: 27/11/2015</p>
+		 * <p>Date of last modification: 18/10/2026</p>
 		 * 
 		 * @author Csaba Farkas csaba.farkas@mycit.ie
 		 */
 		
-		SwingUtilities.invokeLater(new Runnable() {
-			public void run() {
-				
-				//Create the ResourceBundle
+		long mainStart = StartupTrace.begin();
+		
+		//The background work of the startup runs on a small pool while the EDT shows the frame
+		final ExecutorService startup = Executors.newFixedThreadPool(3, new ThreadFactory() {
+			private int count;
+			
+			@Override
+			public synchronized Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "simon-startup-" + (++this.count));
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		
+		//Load the resource bundles, so the GUI finds them in the cache of ResourceBundle
+		final CompletableFuture<ResourceBundle> bundles = CompletableFuture.supplyAsync(new Supplier<ResourceBundle>() {
+			
+			@Override
+			public ResourceBundle get() {
+				long start = StartupTrace.begin();
 				ResourceBundle bundle = ResourceBundle.getBundle("main.mainProps");
+				for(String name : VIEW_BUNDLES) {
+					ResourceBundle.getBundle(name);
+				}
+				StartupTrace.end("bundles", start);
+				return bundle;
+			}
+		}, startup);
+		
+		//Open the score store and read the high score. High scores are kept in the memory-mapped
+		//store of the data directory, and written behind, on a thread of their own.
+		CompletableFuture<Void> scores = CompletableFuture.runAsync(new Runnable() {
+			
+			@Override
+			public void run() {
+				long start = StartupTrace.begin();
+				IDataPersistor store;
+				try {
+					store = MappedScoreStore.openWithMigration();
+				} catch(IOException iox) {
+					System.out.println("Cannot open the score store: " + iox.getMessage());
+					store = new MemoryGameDataPersistor();
+				}
+				final IDataPersistor dataPersistor = new WriteBehindDataPersistor(store);
+				final Integer highScore = dataPersistor.read();
+				StartupTrace.end("scores", start);
 				
-				//Create data persistor
-				IDataPersistor dataPersistor = new MemoryGameDataPersistor();
-				MemoryGameController.getInstance().setDataPersistor(dataPersistor);
-				
-				//Read saved high score
-				Integer highScore = MemoryGameController.getInstance().getDataPersistor().read();
-				MemoryGameController.getInstance().setHighScore(highScore);
-				
-				//Create a GUI object and assign it to the program
-				IMemoryGameGui gui = new MemoryGameFrame(bundle.getString("frameTitle"));
-				MemoryGameController.getInstance().setGuiReference(gui);
+				//A game may have started already, its high score is kept if it is higher
+				SwingUtilities.invokeLater(new Runnable() {
+					public void run() {
+						MemoryGameController controller = MemoryGameController.getInstance();
+						controller.setDataPersistor(dataPersistor);
+						if(highScore != null && highScore > controller.getHighScore()) {
+							controller.setHighScore(highScore);
+						}
+					}
+				});
+			}
+		}, startup);
+		
+		//Open the checkpoint, which is written at the start of every level
+		CompletableFuture<Void> checkpoint = CompletableFuture.runAsync(new Runnable() {
+			
+			@Override
+			public void run() {
+				long start = StartupTrace.begin();
+				try {
+					final GameCheckpoint gameCheckpoint = new GameCheckpoint();
+					SwingUtilities.invokeLater(new Runnable() {
+						public void run() {
+							MemoryGameController.getInstance().setCheckpoint(gameCheckpoint);
+						}
+					});
+				} catch(IOException iox) {
+					System.out.println("Cannot open the checkpoint: " + iox.getMessage());
+				}
+				StartupTrace.end("checkpoint", start);
+			}
+		}, startup);
+		
+		//Publish the metrics of the program
+		CompletableFuture<Void> metrics = CompletableFuture.runAsync(new Runnable() {
+			
+			@Override
+			public void run() {
+				long start = StartupTrace.begin();
+				MetricsRegistry.getInstance().publish();
+				StartupTrace.end("metrics", start);
+			}
+		}, startup);
+		
+		//Open the synthesizer on the audio thread
+		final long audioStart = StartupTrace.begin();
+		CompletableFuture<Void> audio = AudioService.getInstance().start().thenAccept(new Consumer<Boolean>() {
+			
+			@Override
+			public void accept(Boolean isOpen) {
+				StartupTrace.end("audio", audioStart);
 			}
 		});
-
 		
+		//Load the player profiles on the thread of the store
+		final PlayerStore playerStore = new PlayerStore();
+		playerStore.load();
 		
+		//Open the journal of finished games on its own thread
+		final GameJournal journal = new GameJournal();
+		journal.start();
 		
+		//Create a GUI object and assign it to the program. The frame is shown before the
+		//background work is done; its title is set when the bundle of main is loaded.
+		//The controller is only wired on the EDT, like the tasks above do.
+		SwingUtilities.invokeLater(new Runnable() {
+			public void run() {
+				long start = StartupTrace.begin();
+				MemoryGameController.getInstance().setPlayerStore(playerStore);
+				MemoryGameController.getInstance().setJournal(journal);
+				final MemoryGameFrame frame = new MemoryGameFrame("");
+				IMemoryGameGui gui = frame;
+				MemoryGameController.getInstance().setGuiReference(gui);
+				StartupTrace.end("frame", start);
+				
+				bundles.thenAccept(new Consumer<ResourceBundle>() {
+					
+					@Override
+					public void accept(final ResourceBundle bundle) {
+						SwingUtilities.invokeLater(new Runnable() {
+							public void run() {
+								frame.setTitle(bundle.getString("frameTitle"));
+							}
+						});
+					}
+				});
+			}
+		});
+		StartupTrace.end("main", mainStart);
+		
+		//The program is ready when every background phase is done
+		CompletableFuture.allOf(bundles, scores, checkpoint, metrics, audio).whenComplete(new BiConsumer<Void, Throwable>() {
+			
+			@Override
+			public void accept(Void result, Throwable failure) {
+				if(failure != null) {
+					System.out.println("Startup failed: " + failure.getMessage());
+				}
+				startup.shutdown();
+				StartupTrace.ready();
+			}
+		});
 	}
 }
@@ -0,0 +1,209 @@
+package model;
+
+import java.util.Arrays;
+
+public class ColorSequence {
+
+	/**
+	 * <p>A growable sequence of colors. Every color is a number in the range of 0-3,
+	 * so it fits into 2 bits. 32 colors are packed into every long value of the
+	 * backing array, i.e. the sequence doesn't box any Integer objects and reading
+	 * a color doesn't allocate anything.</p>
+	 * <p>Color at index i is stored in word i / 32, at bit offset (i % 32) * 2.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//final static variables used for the bit arithmetic
+	private static final int BITS_PER_COLOR = 2;
+	private static final int COLORS_PER_WORD = 32;
+	private static final int WORD_SHIFT = 5;
+	private static final int INDEX_MASK = COLORS_PER_WORD - 1;
+	private static final long COLOR_MASK = 0x3L;
+	private static final int DEFAULT_CAPACITY = 64;
+
+	/**
+	 * <p>Callback interface used by {@link ColorSequence#forEach(ColorVisitor)} to
+	 * iterate the colors in bulk, without creating an iterator or boxing.</p>
+	 */
+	public interface ColorVisitor {
+		public void visit(int index, int color);
+	}
+
+	//Instance variables
+	private long[] words;
+	private int size;
+
+	/**
+	 * <p>Constructor method creates an empty sequence with the default capacity.</p>
+	 */
+	public ColorSequence() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * <p>Constructor method creates an empty sequence which can hold the number of
+	 * colors passed in as parameter before it has to grow.</p>
+	 *
+	 * @param capacity number of colors.
+	 */
+	public ColorSequence(int capacity) {
+		if(capacity < 0) {
+			throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+		}
+		this.words = new long[Math.max(1, wordsFor(capacity))];
+		this.size = 0;
+	}
+
+	/**
+	 * <p>Accessor method which returns the color at the given index.</p>
+	 *
+	 * @param index of the color.
+	 * @return an integer in the range of 0-3.
+	 */
+	public int get(int index) {
+		if(index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		}
+		return (int) ((this.words[index >>> WORD_SHIFT] >>> ((index & INDEX_MASK) * BITS_PER_COLOR)) & COLOR_MASK);
+	}
+
+	/**
+	 * <p>Method appends a color to the end of the sequence. The backing array is
+	 * doubled when it is full.</p>
+	 *
+	 * @param color an integer in the range of 0-3.
+	 */
+	public void append(int color) {
+		if((color & ~COLOR_MASK) != 0) {
+			throw new IllegalArgumentException("Color must be in the range of 0-3: " + color);
+		}
+		int wordIndex = this.size >>> WORD_SHIFT;
+		if(wordIndex == this.words.length) {
+			this.words = Arrays.copyOf(this.words, this.words.length * 2);
+		}
+		this.words[wordIndex] |= ((long) color) << ((this.size & INDEX_MASK) * BITS_PER_COLOR);
+		this.size++;
+	}
+
+	/**
+	 * <p>Accessor method which returns the number of colors in the sequence.</p>
+	 *
+	 * @return size of the sequence.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * <p>Method passes every color of the sequence to the visitor, in order. It reads
+	 * one long at a time, so it is cheaper than calling get() in a loop.</p>
+	 *
+	 * @param visitor receives the index and the value of every color.
+	 */
+	public void forEach(ColorVisitor visitor) {
+		int index = 0;
+		for(int w = 0; index < this.size; w++) {
+			long word = this.words[w];
+			int end = Math.min(this.size, index + COLORS_PER_WORD);
+			for(; index < end; index++) {
+				visitor.visit(index, (int) (word & COLOR_MASK));
+				word >>>= BITS_PER_COLOR;
+			}
+		}
+	}
+
+	/**
+	 * <p>Method copies colors into an int array, starting at the given index of the
+	 * sequence.</p>
+	 *
+	 * @param from first index of the sequence to copy.
+	 * @param destination array where colors are copied.
+	 * @param offset first index of the destination array.
+	 * @param length number of colors to copy.
+	 */
+	public void copyTo(int from, int[] destination, int offset, int length) {
+		if(from < 0 || length < 0 || from + length > this.size) {
+			throw new IndexOutOfBoundsException("From: " + from + ", Length: " + length + ", Size: " + this.size);
+		}
+		for(int i = 0; i < length; i++) {
+			int index = from + i;
+			destination[offset + i] = (int) ((this.words[index >>> WORD_SHIFT] >>> ((index & INDEX_MASK) * BITS_PER_COLOR)) & COLOR_MASK);
+		}
+	}
+
+	/**
+	 * <p>Method returns the length of the common prefix of this sequence and the other
+	 * sequence. 32 colors are compared at a time, the first different color is located
+	 * with a XOR of the two words.</p>
+	 *
+	 * @param other sequence to compare to.
+	 * @return the number of leading colors which are equal in both sequences.
+	 */
+	public int commonPrefixLength(ColorSequence other) {
+		int limit = Math.min(this.size, other.size);
+		int fullWords = limit >>> WORD_SHIFT;
+		for(int w = 0; w < fullWords; w++) {
+			long diff = this.words[w] ^ other.words[w];
+			if(diff != 0) {
+				return (w << WORD_SHIFT) + Long.numberOfTrailingZeros(diff) / BITS_PER_COLOR;
+			}
+		}
+		int remaining = limit & INDEX_MASK;
+		if(remaining != 0) {
+			long mask = (1L << (remaining * BITS_PER_COLOR)) - 1;
+			long diff = (this.words[fullWords] ^ other.words[fullWords]) & mask;
+			if(diff != 0) {
+				return (fullWords << WORD_SHIFT) + Long.numberOfTrailingZeros(diff) / BITS_PER_COLOR;
+			}
+		}
+		return limit;
+	}
+
+	/**
+	 * <p>Method checks if the first length colors of this sequence are equal to the first
+	 * length colors of the other sequence.</p>
+	 *
+	 * @param other sequence to compare to.
+	 * @param length number of colors to compare.
+	 * @return true if the prefixes are equal.
+	 */
+	public boolean startsWith(ColorSequence other, int length) {
+		if(length > this.size || length > other.size) {
+			return false;
+		}
+		return commonPrefixLength(other) >= length;
+	}
+
+	/**
+	 * <p>Method removes every color from the sequence. Capacity is kept.</p>
+	 */
+	public void clear() {
+		Arrays.fill(this.words, 0, wordsFor(this.size), 0L);
+		this.size = 0;
+	}
+
+	/**
+	 * <p>Override {@link Object}.toString() method.</p>
+	 *
+	 * @return the colors as a string of digits, eg. "0213".
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(this.size);
+		for(int i = 0; i < this.size; i++) {
+			sb.append((char) ('0' + get(i)));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * <p>Private method which returns the number of long values needed to store the given
+	 * number of colors.</p>
+	 *
+	 * @param colors number of colors.
+	 * @return number of words.
+	 */
+	private static int wordsFor(int colors) {
+		return (colors + INDEX_MASK) >>> WORD_SHIFT;
+	}
+}
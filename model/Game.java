@@ -6,8 +6,10 @@ public class Game {
 	 * <p>Every Game has one {@link Player} and a {@link Stage} element. 
 	 * It also has a variable which defines its difficulty, a variable which
 	 * stores the current high score and a boolean variable which is used to
-	 * check if player achieved a new high score.</p>
-	 * <p>Date of last modification: 04/11/2015</p>
+	 * check if player achieved a new high score. The seed of the game defines
+	 * the whole color sequence, so a game can be reproduced from its seed. The start
+	 * time of the game is kept for the journal of finished games.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
 	 * 
 	 * @author Csaba Farkas csaba.farkas@mycit.ie
 	 */
@@ -18,18 +20,37 @@ public class Game {
 	private int difficulty;
 	private Integer highScore;
 	private boolean isHighScore;
+	private final long seed;
+	private final long startTime;
 	
 	/**
 	 * <p>Constructor method creates an instance of this class. A Player object is 
-	 * passed to the constructor and stage is initialized.</p>
+	 * passed to the constructor and stage is initialized with a random seed.</p>
 	 * 
 	 * @param player is a player object modeling the player of the game.
+	 * @param difficulty defines the difficulty of the game.
 	 */
 	public Game(Player player, int difficulty) {
+		this(player, difficulty, SeededSequenceSource.newSeed());
+	}
+	
+	/**
+	 * <p>Constructor method creates an instance of this class. A Player object is 
+	 * passed to the constructor and stage is initialized. The colors of the stage are
+	 * generated by a {@link SeededSequenceSource}, so the same seed always results in
+	 * the same color sequence.</p>
+	 * 
+	 * @param player is a player object modeling the player of the game.
+	 * @param difficulty defines the difficulty of the game.
+	 * @param seed defines the color sequence of the game.
+	 */
+	public Game(Player player, int difficulty, long seed) {
 		this.player = player;
-		this.stage = new Stage();
+		this.seed = seed;
+		this.stage = new Stage(new SeededSequenceSource(seed));
 		this.difficulty = difficulty;
 		this.isHighScore = false;
+		this.startTime = System.currentTimeMillis();
 	}
 
 	/**
@@ -68,6 +89,15 @@ public class Game {
 		this.stage = stage;
 	}
 	
+	/**
+	 * <p>Accessor method which returns the time when the game was created.</p>
+	 * 
+	 * @return start time in milliseconds since the epoch.
+	 */
+	public long getStartTime() {
+		return this.startTime;
+	}
+	
 	/**
 	 * <p>Accessor method which returns current high score.</p>
 	 * 
@@ -122,6 +152,15 @@ public class Game {
 		this.difficulty = difficulty;
 	}
 
+	/**
+	 * <p>Accessor method which returns the seed of the game's color sequence.</p>
+	 * 
+	 * @return seed.
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
 	/**
 	 * <p>Override {@link Object}.toString() method.</p>
 	 * 
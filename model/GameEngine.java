@@ -0,0 +1,158 @@
+package model;
+
+public class GameEngine {
+
+	/**
+	 * <p>The rules of the game without any GUI code. The engine wraps a {@link Game}
+	 * and moves it through the states of {@link GameState}:</p>
+	 * <p>PLAYBACK --(last color shown)--&gt; AWAITING_INPUT --(last color repeated)--&gt;
+	 * LEVEL_COMPLETE --(startPlayback)--&gt; PLAYBACK ... and AWAITING_INPUT --(wrong
+	 * color)--&gt; GAME_OVER.</p>
+	 * <p>Neither nextPlaybackColor() nor submit() allocates objects, so the engine can
+	 * be driven by bots and load tests as fast as the CPU allows. The engine is not
+	 * thread safe, one game must be driven by one thread at a time.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	/**
+	 * <p>Result of {@link GameEngine#submit(int)}.</p>
+	 * <ul>
+	 * <li>CORRECT: the color was right, player has to continue the sequence.</li>
+	 * <li>LEVEL_COMPLETE: the color was right and it was the last one of the sequence.
+	 * The stage was leveled up.</li>
+	 * <li>WRONG: the color was wrong, game is over.</li>
+	 * <li>IGNORED: the engine was not waiting for input.</li>
+	 * </ul>
+	 */
+	public enum InputResult {
+		CORRECT,
+		LEVEL_COMPLETE,
+		WRONG,
+		IGNORED;
+
+		/**
+		 * <p>Method returns true if player was awarded a point for the input.</p>
+		 *
+		 * @return true for CORRECT and LEVEL_COMPLETE.
+		 */
+		public boolean isCorrect() {
+			return this == CORRECT || this == LEVEL_COMPLETE;
+		}
+	}
+
+	//Instance variables
+	private final Game game;
+	private GameState state;
+	private int playbackIndex;
+	private int inputIndex;
+
+	/**
+	 * <p>Constructor method creates an instance of this class. The engine starts in
+	 * PLAYBACK state, i.e. the first sequence is ready to be shown.</p>
+	 *
+	 * @param game which is driven by the engine.
+	 */
+	public GameEngine(Game game) {
+		this.game = game;
+		this.state = GameState.PLAYBACK;
+		this.playbackIndex = 0;
+		this.inputIndex = 0;
+	}
+
+	/**
+	 * <p>Method (re)starts showing the sequence of the current level. It can be called
+	 * at the start of the game or when a level was completed.</p>
+	 */
+	public void startPlayback() {
+		if(this.state == GameState.GAME_OVER || this.state == GameState.AWAITING_INPUT) {
+			throw new IllegalStateException("Cannot start playback in state " + this.state);
+		}
+		this.state = GameState.PLAYBACK;
+		this.playbackIndex = 0;
+	}
+
+	/**
+	 * <p>Method returns the next color to be shown and advances the playback. After the
+	 * last color of the sequence the engine switches to AWAITING_INPUT.</p>
+	 *
+	 * @return an integer indicating a color.
+	 */
+	public int nextPlaybackColor() {
+		if(this.state != GameState.PLAYBACK) {
+			throw new IllegalStateException("Not in playback, state is " + this.state);
+		}
+		ColorSequence sequence = this.game.getStage().getColorSequence();
+		int color = sequence.get(this.playbackIndex);
+		this.playbackIndex++;
+		if(this.playbackIndex == sequence.size()) {
+			this.playbackIndex = 0;
+			this.inputIndex = 0;
+			this.state = GameState.AWAITING_INPUT;
+		}
+		return color;
+	}
+
+	/**
+	 * <p>Method checks the color pressed by the player. If it is the right color, player
+	 * gets a point. If it was the last color of the sequence, the stage levels up and
+	 * the engine switches to LEVEL_COMPLETE. If it is the wrong color, game is over.</p>
+	 *
+	 * @param color an integer indicating the color pressed by the player.
+	 * @return the result of the input.
+	 */
+	public InputResult submit(int color) {
+		if(this.state != GameState.AWAITING_INPUT) {
+			return InputResult.IGNORED;
+		}
+		Stage stage = this.game.getStage();
+		if(stage.getColorSequence().get(this.inputIndex) != color) {
+			this.state = GameState.GAME_OVER;
+			return InputResult.WRONG;
+		}
+		this.game.getPlayer().addPointForButton();
+		this.inputIndex++;
+		if(this.inputIndex == stage.getColorSequence().size()) {
+			this.inputIndex = 0;
+			stage.levelUp();
+			this.state = GameState.LEVEL_COMPLETE;
+			return InputResult.LEVEL_COMPLETE;
+		}
+		return InputResult.CORRECT;
+	}
+
+	/**
+	 * <p>Accessor method which returns the current state of the engine.</p>
+	 *
+	 * @return state.
+	 */
+	public GameState getState() {
+		return this.state;
+	}
+
+	/**
+	 * <p>Accessor method which returns the {@link Game} driven by the engine.</p>
+	 *
+	 * @return game.
+	 */
+	public Game getGame() {
+		return this.game;
+	}
+
+	/**
+	 * <p>Accessor method which returns the index of the next color to be shown.</p>
+	 *
+	 * @return playback index.
+	 */
+	public int getPlaybackIndex() {
+		return this.playbackIndex;
+	}
+
+	/**
+	 * <p>Accessor method which returns the index of the color player has to press next.</p>
+	 *
+	 * @return input index.
+	 */
+	public int getInputIndex() {
+		return this.inputIndex;
+	}
+}
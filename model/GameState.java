@@ -0,0 +1,19 @@
+package model;
+
+public enum GameState {
+
+	/**
+	 * <p>States of a {@link GameEngine}.</p>
+	 * <ul>
+	 * <li>PLAYBACK: the color sequence of the current level is being shown.</li>
+	 * <li>AWAITING_INPUT: the sequence was shown, player has to repeat it.</li>
+	 * <li>LEVEL_COMPLETE: player repeated the sequence, the next level is ready to be shown.</li>
+	 * <li>GAME_OVER: player pressed a wrong button.</li>
+	 * </ul>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+	PLAYBACK,
+	AWAITING_INPUT,
+	LEVEL_COMPLETE,
+	GAME_OVER
+}
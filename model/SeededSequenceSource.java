@@ -0,0 +1,73 @@
+package model;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import interfaces.ISequenceSource;
+
+public class SeededSequenceSource implements ISequenceSource {
+
+	/**
+	 * <p>Stateless, counter-based color generator which implements {@link ISequenceSource}.
+	 * Color i is a pure function of the seed and i: the counter is scrambled with the
+	 * SplitMix64 finalizer and the top 2 bits of the result are the color. There is no
+	 * shared or mutable state, so games running on different threads never contend,
+	 * and the same seed always reproduces the same sequence.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//final static variable stores the SplitMix64 increment (golden ratio)
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	//Instance variables
+	private final long seed;
+
+	/**
+	 * <p>Constructor method creates an instance of this class with the seed passed
+	 * to the method.</p>
+	 *
+	 * @param seed defines the whole color sequence.
+	 */
+	public SeededSequenceSource(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * <p>Static method which returns a new random seed. It uses {@link ThreadLocalRandom},
+	 * so it doesn't go through the shared generator behind Math.random().</p>
+	 *
+	 * @return a random seed.
+	 */
+	public static long newSeed() {
+		return ThreadLocalRandom.current().nextLong();
+	}
+
+	/**
+	 * <p>Static method which scrambles a 64 bit value with the SplitMix64 finalizer.</p>
+	 *
+	 * @param z value to scramble.
+	 * @return scrambled value.
+	 */
+	public static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * <p>Method implements {@link ISequenceSource}.colorAt method. It computes the
+	 * color at the given index in O(1).</p>
+	 */
+	@Override
+	public int colorAt(long index) {
+		return (int) (mix64(this.seed + (index + 1) * GOLDEN_GAMMA) >>> 62);
+	}
+
+	/**
+	 * <p>Accessor method which returns the seed of this source.</p>
+	 *
+	 * @return seed.
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+}
@@ -1,12 +1,13 @@
 package model;
-import java.util.ArrayList;
+
+import interfaces.ISequenceSource;
 
 public class Stage {
 	
 	/**
 	 * <p>Every game consists of different stages. Every stage of the game has a stage number (level) and
 	 * a sequence of colors that are displayed.</p>
-	 * <p>Date of last modification: 04/11/2015.</p>
+	 * <p>Date of last modification: 18/10/2026.</p>
 	 * 
 	 * @author Csaba Farkas csaba.farkas@mycit.ie
 	 */
@@ -17,19 +18,32 @@ public class Stage {
 	public static final int YELLOw = 2;
 	public static final int GREEN = 3;
 	
-	private ArrayList<Integer> colorSequence;
+	private ISequenceSource sequenceSource;
+	private ColorSequence colorSequence;
 	private int numberOfColors;
 	private int levelNumber;
 	
 	/**
-	 * <p>Constructor method creates an instance of this class. Level is initialized 
-	 * at 1 and the number of colors on level 1 is 2.</p>
+	 * <p>Constructor method creates an instance of this class with a randomly seeded
+	 * {@link SeededSequenceSource}.</p>
 	 */
 	public Stage() {
-		this.colorSequence = new ArrayList<Integer>();
-		this.colorSequence.add((int) ((Math.random() * 4)));
-		this.colorSequence.add((int) ((Math.random() * 4)));
-		this.numberOfColors = 2;
+		this(new SeededSequenceSource(SeededSequenceSource.newSeed()));
+	}
+	
+	/**
+	 * <p>Constructor method creates an instance of this class. Level is initialized 
+	 * at 1 and the number of colors on level 1 is 2. Colors are taken from the
+	 * {@link ISequenceSource} passed to the method.</p>
+	 * 
+	 * @param sequenceSource generates the colors of the sequence.
+	 */
+	public Stage(ISequenceSource sequenceSource) {
+		this.sequenceSource = sequenceSource;
+		this.colorSequence = new ColorSequence();
+		this.numberOfColors = 0;
+		extendColorSequence();
+		extendColorSequence();
 		this.levelNumber = 1;
 	}
 	
@@ -39,45 +53,38 @@ public class Stage {
 	 */
 	public void levelUp() {
 		this.levelNumber++;
-		this.numberOfColors++;
 		extendColorSequence();
 	}
 
 	/**
-	 * <p>Method creates random numbers in the range of 0-3 and adds them
-	 * to the colorSequence. At level 1 two random numbers are generated, 
-	 * and this number is incremented by 1 at every level up. These numbers 
-	 * are representing colors.</p>
+	 * <p>Method takes the next color (a number in the range of 0-3) from the
+	 * sequence source and adds it to the colorSequence. At level 1 two colors are
+	 * added, and this number is incremented by 1 at every level up.</p>
 	 */
 	private void extendColorSequence() {
-		
-		int colorNumber = (int) ((Math.random() * 4));
-		
-		switch(colorNumber) {
-			case RED:
-				this.colorSequence.add(RED);
-				break;
-			case BLUE:
-				this.colorSequence.add(BLUE);
-				break;
-			case YELLOw:
-				this.colorSequence.add(YELLOw);
-				break;
-			default:
-				this.colorSequence.add(GREEN);
-		}
-		
+		this.colorSequence.append(this.sequenceSource.colorAt(this.colorSequence.size()));
+		this.numberOfColors = this.colorSequence.size();
 	}
 	
 	/**
-	 * <p>Accessor method which returns colorSequence.</p>
+	 * <p>Accessor method which returns colorSequence. Colors are stored in a
+	 * {@link ColorSequence}, which packs them into 2 bits each.</p>
 	 * 
 	 * @return colorSequence.
 	 */
-	public ArrayList<Integer> getColorSequence() {
+	public ColorSequence getColorSequence() {
 		return colorSequence;
 	}
 	
+	/**
+	 * <p>Accessor method which returns the source the colors are taken from.</p>
+	 * 
+	 * @return sequenceSource.
+	 */
+	public ISequenceSource getSequenceSource() {
+		return sequenceSource;
+	}
+	
 	/**
 	 * <p>Accessor method which returns an integer value indicating the number of 
 	 * buttons flashed at the current stage.</p>
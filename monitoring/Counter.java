@@ -0,0 +1,54 @@
+package monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class Counter extends Metric {
+
+	/**
+	 * <p>Monotonic counter. It is a {@link LongAdder}, so threads which increment it
+	 * at the same time update different cells and don't contend.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private final LongAdder count;
+
+	Counter(String name, String help, String labelName, String labelValue) {
+		super(name, help, labelName, labelValue);
+		this.count = new LongAdder();
+	}
+
+	/**
+	 * <p>Method adds one to the counter.</p>
+	 */
+	public void increment() {
+		this.count.increment();
+	}
+
+	/**
+	 * <p>Method adds a value to the counter.</p>
+	 *
+	 * @param value to add, must not be negative.
+	 */
+	public void add(long value) {
+		this.count.add(value);
+	}
+
+	/**
+	 * <p>Method returns the current value of the counter.</p>
+	 *
+	 * @return count.
+	 */
+	public long get() {
+		return this.count.sum();
+	}
+
+	@Override
+	public String getType() {
+		return "counter";
+	}
+
+	@Override
+	protected void writeSamples(StringBuilder out) {
+		out.append(getName()).append(labels(null, null)).append(' ').append(get()).append('\n');
+	}
+}
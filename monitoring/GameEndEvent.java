@@ -0,0 +1,37 @@
+package monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("simon.GameEnd")
+@Label("Game End")
+@Category({"Simon", "Game"})
+@Description("A game is over; the duration is the length of the game")
+@Enabled(false)
+@StackTrace(false)
+public class GameEndEvent extends Event {
+
+	/**
+	 * <p>Java Flight Recorder event which is begun when a game is started and committed
+	 * when the player presses a wrong button, so its duration covers the whole game.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	@Label("Player")
+	public String player;
+
+	@Label("Difficulty")
+	@Description("Delay between two flashes in milliseconds")
+	public int difficulty;
+
+	@Label("Final Level")
+	public int level;
+
+	@Label("Score")
+	public int score;
+}
@@ -0,0 +1,129 @@
+package monitoring;
+
+public final class GameEvents {
+
+	/**
+	 * <p>Helper methods which commit the Java Flight Recorder events of the game. Every
+	 * Simon event is annotated with @Enabled(false), so it is off by default: the event
+	 * object is created, its isEnabled() / shouldCommit() check fails, and the JIT removes
+	 * the unused allocation. Nothing is recorded unless a recording enables the events,
+	 * e.g.</p>
+	 * <pre>
+	 * java -XX:StartFlightRecording:filename=simon.jfr,+simon.GameStart#enabled=true,
+	 *      +simon.GameEnd#enabled=true,+simon.LevelUp#enabled=true,
+	 *      +simon.SequenceFlash#enabled=true,+simon.Input#enabled=true,
+	 *      +simon.Persistence#enabled=true,+simon.PlaybackJitter#enabled=true -jar simon.jar
+	 * </pre>
+	 * <p>The same recording also holds the JDK events (GC, safepoints, file I/O, monitor
+	 * waits of the Event Dispatch Thread), so a stall can be matched with what the player
+	 * saw in JDK Mission Control or with "jfr print --events simon.Input simon.jfr".</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private GameEvents() {
+	}
+
+	/**
+	 * <p>Method commits a {@link GameStartEvent} and begins the {@link GameEndEvent} of the
+	 * game, which is committed by gameEnded().</p>
+	 *
+	 * @param player name of the player.
+	 * @param difficulty delay between two flashes in milliseconds.
+	 * @param level level at which the game starts.
+	 * @param seed seed of the color sequence.
+	 * @param replaying true if a recording is replayed.
+	 * @return the begun end event of the game.
+	 */
+	public static GameEndEvent gameStarted(String player, int difficulty, int level, long seed, boolean replaying) {
+		GameStartEvent start = new GameStartEvent();
+		if(start.isEnabled()) {
+			start.player = player;
+			start.difficulty = difficulty;
+			start.level = level;
+			start.seed = seed;
+			start.replaying = replaying;
+			start.commit();
+		}
+		GameEndEvent end = new GameEndEvent();
+		end.begin();
+		return end;
+	}
+
+	/**
+	 * <p>Method commits the end event of a game.</p>
+	 *
+	 * @param end event returned by gameStarted().
+	 * @param player name of the player.
+	 * @param difficulty delay between two flashes in milliseconds.
+	 * @param level final level.
+	 * @param score final score.
+	 */
+	public static void gameEnded(GameEndEvent end, String player, int difficulty, int level, int score) {
+		end.end();
+		if(end.shouldCommit()) {
+			end.player = player;
+			end.difficulty = difficulty;
+			end.level = level;
+			end.score = score;
+			end.commit();
+		}
+	}
+
+	/**
+	 * <p>Method commits a {@link LevelUpEvent}.</p>
+	 *
+	 * @param level the new level.
+	 * @param sequenceLength length of the new color sequence.
+	 * @param score score of the player.
+	 */
+	public static void levelUp(int level, int sequenceLength, int score) {
+		LevelUpEvent event = new LevelUpEvent();
+		if(event.shouldCommit()) {
+			event.level = level;
+			event.sequenceLength = sequenceLength;
+			event.score = score;
+			event.commit();
+		}
+	}
+
+	/**
+	 * <p>Method commits a {@link SequenceFlashEvent}.</p>
+	 *
+	 * @param color flashed color.
+	 * @param index position of the color in the sequence.
+	 * @param level current level.
+	 */
+	public static void sequenceFlash(int color, int index, int level) {
+		SequenceFlashEvent event = new SequenceFlashEvent();
+		if(event.shouldCommit()) {
+			event.color = color;
+			event.index = index;
+			event.level = level;
+			event.commit();
+		}
+	}
+
+	/**
+	 * <p>Method commits the jitter statistics of the playback of a level.</p>
+	 *
+	 * @param level level whose sequence was played back.
+	 * @param flashes number of buttons lit.
+	 * @param periodMillis time between the start of two buttons.
+	 * @param audio lateness of the tones.
+	 * @param visual lateness of the buttons lit on the Event Dispatch Thread.
+	 */
+	public static void playbackJitter(int level, int flashes, long periodMillis, LatencyHistogram audio, LatencyHistogram visual) {
+		PlaybackJitterEvent event = new PlaybackJitterEvent();
+		if(event.shouldCommit()) {
+			event.level = level;
+			event.flashes = flashes;
+			event.periodMillis = periodMillis;
+			event.audioP50 = audio.getValueAtPercentile(50);
+			event.audioMax = audio.getMax();
+			event.visualP50 = visual.getValueAtPercentile(50);
+			event.visualP99 = visual.getValueAtPercentile(99);
+			event.visualMax = visual.getMax();
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package monitoring;
+
+public final class GameMetrics {
+
+	/**
+	 * <p>The metrics of the game, registered in the {@link MetricsRegistry}.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final MetricsRegistry REGISTRY = MetricsRegistry.getInstance();
+
+	public static final Counter GAMES_STARTED = REGISTRY.counter("simon_games_started_total", "Games started or resumed");
+	public static final Counter GAMES_OVER = REGISTRY.counter("simon_games_over_total", "Games finished with a wrong button");
+	public static final Counter INPUTS_CORRECT = REGISTRY.counter("simon_inputs_total", "Button presses checked by the engine", "result", "correct");
+	public static final Counter INPUTS_WRONG = REGISTRY.counter("simon_inputs_total", "Button presses checked by the engine", "result", "wrong");
+	public static final Counter INPUTS_IGNORED = REGISTRY.counter("simon_inputs_total", "Button presses checked by the engine", "result", "ignored");
+	public static final Counter LEVELS_COMPLETED = REGISTRY.counter("simon_levels_completed_total", "Levels completed by all players");
+	public static final Gauge MAX_LEVEL = REGISTRY.gauge("simon_max_level_reached", "Highest level reached since the program started");
+	public static final Gauge HIGH_SCORE = REGISTRY.gauge("simon_high_score", "Current high score");
+	public static final TimerMetric PERSISTENCE_READ = REGISTRY.timer("simon_persistence_seconds", "Time spent reading or writing the high score", "operation", "read");
+	public static final TimerMetric PERSISTENCE_WRITE = REGISTRY.timer("simon_persistence_seconds", "Time spent reading or writing the high score", "operation", "write");
+	public static final Counter PERSISTENCE_COALESCED = REGISTRY.counter("simon_persistence_coalesced_total", "High scores replaced by a newer one before they were written");
+	public static final Counter PERSISTENCE_ERRORS = REGISTRY.counter("simon_persistence_errors_total", "Failed reads and writes of the high score");
+	public static final TimerMetric PLAYBACK_LATENESS_AUDIO = REGISTRY.timer("simon_playback_lateness_seconds", "How late a button of the sequence was played after its deadline", "output", "audio");
+	public static final TimerMetric PLAYBACK_LATENESS_VISUAL = REGISTRY.timer("simon_playback_lateness_seconds", "How late a button of the sequence was played after its deadline", "output", "visual");
+	public static final Counter FRAMES_LATE = REGISTRY.counter("simon_frames_late_total", "Frames of the active renderer which missed their deadline");
+	public static final TimerMetric AUDIO_OUTPUT_LATENCY = REGISTRY.timer("simon_audio_output_latency_seconds", "Time from a tone request until the PCM sink plays its first frame");
+	public static final TimerMetric CHECKPOINT_WRITE = REGISTRY.timer("simon_checkpoint_write_seconds", "Time to write the checkpoint of a level into the mapped checkpoint file");
+	public static final TimerMetric JOURNAL_COMMIT = REGISTRY.timer("simon_journal_commit_seconds", "Time to write and force one batch of finished games to the journal");
+	public static final Counter JOURNAL_RECORDS = REGISTRY.counter("simon_journal_records_total", "Finished games written to the journal");
+	public static final Counter JOURNAL_DROPPED = REGISTRY.counter("simon_journal_dropped_total", "Finished games dropped because the journal queue was full or the disk failed");
+	public static final Counter AUDIO_COMMANDS_DROPPED = REGISTRY.counter("simon_audio_commands_dropped_total", "Tone commands dropped because the mixer queue was full");
+
+	private GameMetrics() {
+	}
+}
@@ -0,0 +1,41 @@
+package monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("simon.GameStart")
+@Label("Game Start")
+@Category({"Simon", "Game"})
+@Description("A game is started or resumed at a level")
+@Enabled(false)
+@StackTrace(false)
+public class GameStartEvent extends Event {
+
+	/**
+	 * <p>Java Flight Recorder event which is committed when a game is started.</p>
+	 * <p>Like every Simon event it is disabled by default; see {@link GameEvents} for how
+	 * to enable them.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	@Label("Player")
+	public String player;
+
+	@Label("Difficulty")
+	@Description("Delay between two flashes in milliseconds")
+	public int difficulty;
+
+	@Label("Level")
+	public int level;
+
+	@Label("Seed")
+	public long seed;
+
+	@Label("Replaying")
+	public boolean replaying;
+}
@@ -0,0 +1,59 @@
+package monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Gauge extends Metric {
+
+	/**
+	 * <p>Gauge which holds the last value set, or the largest value offered with
+	 * setMax(). Updates are single atomic operations.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private final AtomicLong value;
+
+	Gauge(String name, String help, String labelName, String labelValue) {
+		super(name, help, labelName, labelValue);
+		this.value = new AtomicLong();
+	}
+
+	/**
+	 * <p>Method sets the value of the gauge.</p>
+	 *
+	 * @param value new value.
+	 */
+	public void set(long value) {
+		this.value.set(value);
+	}
+
+	/**
+	 * <p>Method sets the value of the gauge if the new value is larger.</p>
+	 *
+	 * @param value offered value.
+	 */
+	public void setMax(long value) {
+		long current = this.value.get();
+		while(value > current && !this.value.compareAndSet(current, value)) {
+			current = this.value.get();
+		}
+	}
+
+	/**
+	 * <p>Method returns the value of the gauge.</p>
+	 *
+	 * @return value.
+	 */
+	public long get() {
+		return this.value.get();
+	}
+
+	@Override
+	public String getType() {
+		return "gauge";
+	}
+
+	@Override
+	protected void writeSamples(StringBuilder out) {
+		out.append(getName()).append(labels(null, null)).append(' ').append(get()).append('\n');
+	}
+}
@@ -0,0 +1,40 @@
+package monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("simon.Input")
+@Label("Input")
+@Category({"Simon", "Input"})
+@Description("A button press is checked; the duration is the time spent in the controller")
+@Enabled(false)
+@StackTrace(false)
+public class InputEvent extends Event {
+
+	/**
+	 * <p>Java Flight Recorder event which is committed for every button press. Its
+	 * duration includes recording the press and saving the high score, so a slow disk
+	 * shows up as a long input.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	@Label("Color")
+	public int color;
+
+	@Label("Result")
+	public String result;
+
+	@Label("Correct")
+	public boolean correct;
+
+	@Label("Input Index")
+	public int inputIndex;
+
+	@Label("Level")
+	public int level;
+}
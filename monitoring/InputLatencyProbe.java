@@ -0,0 +1,156 @@
+package monitoring;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+
+public final class InputLatencyProbe {
+
+	/**
+	 * <p>Measures the path from a mouse press in the game panel to the visible and
+	 * audible feedback. Timestamps are taken with System.nanoTime() at every step and
+	 * the time between two steps (a leg) goes into a {@link LatencyHistogram}:</p>
+	 * <ul>
+	 * <li>event-&gt;handler: from the OS event (MouseEvent.getWhen()) to the listener</li>
+	 * <li>handler-&gt;repaint: from the listener to the repaint() request</li>
+	 * <li>repaint-&gt;paint: from the repaint() request to painting the button white</li>
+	 * <li>handler-&gt;audio: from the listener to handing the button's tone to the audio service</li>
+	 * <li>event-&gt;paint: the whole path</li>
+	 * </ul>
+	 * <p>The probe is off unless the program is started with -Dsimon.latency=true. When it
+	 * is off every method returns at the first check of a static final field, which the
+	 * JIT removes. When it is on, the histograms are printed and written to the file
+	 * given by -Dsimon.latencyFile (default latency.csv) when the program exits.</p>
+	 * <p>All the methods are called on the Event Dispatch Thread.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final boolean ENABLED = Boolean.getBoolean("simon.latency");
+	private static final String FILE = System.getProperty("simon.latencyFile", "latency.csv");
+
+	//One histogram per leg
+	public static final LatencyHistogram EVENT_TO_HANDLER = new LatencyHistogram("event->handler");
+	public static final LatencyHistogram HANDLER_TO_REPAINT = new LatencyHistogram("handler->repaint");
+	public static final LatencyHistogram REPAINT_TO_PAINT = new LatencyHistogram("repaint->paint");
+	public static final LatencyHistogram HANDLER_TO_AUDIO = new LatencyHistogram("handler->audio");
+	public static final LatencyHistogram EVENT_TO_PAINT = new LatencyHistogram("event->paint");
+	private static final LatencyHistogram[] LEGS = new LatencyHistogram[] {
+			EVENT_TO_HANDLER, HANDLER_TO_REPAINT, REPAINT_TO_PAINT, HANDLER_TO_AUDIO, EVENT_TO_PAINT
+	};
+
+	//Timestamps of the input which is on its way to the screen and to the speaker
+	private static long eventNanos;
+	private static long handlerNanos;
+	private static long repaintNanos;
+	private static boolean isPaintPending;
+	private static boolean isAudioPending;
+
+	static {
+		if(ENABLED) {
+			Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					export();
+				}
+			}, "simon-latency-export"));
+		}
+	}
+
+	private InputLatencyProbe() {
+	}
+
+	/**
+	 * <p>Method is called first thing in the mouse listener.</p>
+	 *
+	 * @param eventWhen value of MouseEvent.getWhen(), i.e. wall clock milliseconds of the OS event.
+	 */
+	public static void onInput(long eventWhen) {
+		if(!ENABLED) {
+			return;
+		}
+		long now = System.nanoTime();
+		//getWhen() is wall clock time, so convert the age of the event to the nanoTime scale
+		long ageNanos = Math.max(0, (System.currentTimeMillis() - eventWhen) * 1000000L);
+		eventNanos = now - ageNanos;
+		handlerNanos = now;
+		repaintNanos = 0;
+		isPaintPending = true;
+		isAudioPending = true;
+		EVENT_TO_HANDLER.record(ageNanos);
+	}
+
+	/**
+	 * <p>Method is called when the input is ignored, e.g. the sequence is still displayed,
+	 * so no feedback follows it.</p>
+	 */
+	public static void cancel() {
+		if(!ENABLED) {
+			return;
+		}
+		repaintNanos = 0;
+		isPaintPending = false;
+		isAudioPending = false;
+	}
+
+	/**
+	 * <p>Method is called when the flash of the pressed button is requested with repaint().</p>
+	 */
+	public static void onRepaintRequested() {
+		if(!ENABLED || !isPaintPending || repaintNanos != 0) {
+			return;
+		}
+		repaintNanos = System.nanoTime();
+		HANDLER_TO_REPAINT.record(repaintNanos - handlerNanos);
+	}
+
+	/**
+	 * <p>Method is called when the pressed button is painted white.</p>
+	 */
+	public static void onPaint() {
+		if(!ENABLED || repaintNanos == 0) {
+			return;
+		}
+		long now = System.nanoTime();
+		REPAINT_TO_PAINT.record(now - repaintNanos);
+		EVENT_TO_PAINT.record(now - eventNanos);
+		repaintNanos = 0;
+		isPaintPending = false;
+	}
+
+	/**
+	 * <p>Method is called right before the tone of the pressed button is handed to the
+	 * audio service.</p>
+	 */
+	public static void onNoteOn() {
+		if(!ENABLED || !isAudioPending) {
+			return;
+		}
+		HANDLER_TO_AUDIO.record(System.nanoTime() - handlerNanos);
+		isAudioPending = false;
+	}
+
+	/**
+	 * <p>Method prints the summary of every leg and writes the histograms as CSV rows:
+	 * leg,count,p50_ns,p99_ns,p999_ns,max_ns.</p>
+	 */
+	public static void export() {
+		System.out.println("Input latency:");
+		for(LatencyHistogram leg : LEGS) {
+			System.out.println("  " + leg.summary());
+		}
+		try {
+			PrintStream out = new PrintStream(FILE);
+			try {
+				out.println("leg,count,p50_ns,p99_ns,p999_ns,max_ns");
+				for(LatencyHistogram leg : LEGS) {
+					out.println(leg.getName() + "," + leg.getTotalCount() + "," + leg.getValueAtPercentile(50) + ","
+							+ leg.getValueAtPercentile(99) + "," + leg.getValueAtPercentile(99.9) + "," + leg.getMax());
+				}
+			} finally {
+				out.close();
+			}
+		} catch(FileNotFoundException fnfx) {
+			System.out.println(fnfx.getMessage());
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+
+	/**
+	 * <p>Lock-free, HDR style histogram of latencies in nanoseconds. Every power of two
+	 * is split into 16 linear buckets, so a percentile is reported within 6.25% of the
+	 * real value, from 1 ns up to hundreds of years, in a fixed 8 KB array. Recording
+	 * is one atomic increment and never allocates, so it can be called from any thread,
+	 * including the Event Dispatch Thread, while another thread reads percentiles.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final int SUB_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+	//Instance variables
+	private final String name;
+	private final AtomicLongArray counts;
+	private final AtomicLong max;
+
+	/**
+	 * <p>Constructor method creates an empty histogram.</p>
+	 *
+	 * @param name of the measured leg, used in reports.
+	 */
+	public LatencyHistogram(String name) {
+		this.name = name;
+		this.counts = new AtomicLongArray(BUCKETS);
+		this.max = new AtomicLong();
+	}
+
+	/**
+	 * <p>Method records one value. Negative values are recorded as 0.</p>
+	 *
+	 * @param nanos latency in nanoseconds.
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		this.counts.incrementAndGet(bucket(value));
+		long current = this.max.get();
+		while(value > current && !this.max.compareAndSet(current, value)) {
+			current = this.max.get();
+		}
+	}
+
+	/**
+	 * <p>Method adds every value of the other histogram to this one.</p>
+	 *
+	 * @param other histogram to add.
+	 */
+	public void add(LatencyHistogram other) {
+		for(int i = 0; i < BUCKETS; i++) {
+			long count = other.counts.get(i);
+			if(count != 0) {
+				this.counts.addAndGet(i, count);
+			}
+		}
+		long otherMax = other.max.get();
+		long current = this.max.get();
+		while(otherMax > current && !this.max.compareAndSet(current, otherMax)) {
+			current = this.max.get();
+		}
+	}
+
+	/**
+	 * <p>Method removes every recorded value.</p>
+	 */
+	public void reset() {
+		for(int i = 0; i < BUCKETS; i++) {
+			this.counts.set(i, 0);
+		}
+		this.max.set(0);
+	}
+
+	/**
+	 * <p>Method returns the value below which the given percentage of the values are.
+	 * Values recorded while the method runs may or may not be counted.</p>
+	 *
+	 * @param percentile eg. 99.9
+	 * @return upper bound of the bucket of the percentile, in nanoseconds.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long[] snapshot = new long[BUCKETS];
+		long total = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = this.counts.get(i);
+			total += snapshot[i];
+		}
+		if(total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+		long seen = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if(seen >= rank) {
+				return Math.min(upperBound(i), this.max.get());
+			}
+		}
+		return this.max.get();
+	}
+
+	/**
+	 * <p>Method returns the number of recorded values.</p>
+	 *
+	 * @return count.
+	 */
+	public long getTotalCount() {
+		long total = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			total += this.counts.get(i);
+		}
+		return total;
+	}
+
+	/**
+	 * <p>Accessor method which returns the largest recorded value.</p>
+	 *
+	 * @return max in nanoseconds.
+	 */
+	public long getMax() {
+		return this.max.get();
+	}
+
+	/**
+	 * <p>Accessor method which returns the name of the histogram.</p>
+	 *
+	 * @return name.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * <p>Method returns a one line summary: count, p50, p99, p99.9 and max in microseconds.</p>
+	 *
+	 * @return summary.
+	 */
+	public String summary() {
+		return String.format("%-18s count=%-8d p50=%10.1f us  p99=%10.1f us  p99.9=%10.1f us  max=%10.1f us",
+				this.name, getTotalCount(), getValueAtPercentile(50) / 1e3, getValueAtPercentile(99) / 1e3,
+				getValueAtPercentile(99.9) / 1e3, getMax() / 1e3);
+	}
+
+	/**
+	 * <p>Private method which returns the bucket of a value.</p>
+	 */
+	private static int bucket(long value) {
+		if(value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) ((value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1));
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * <p>Private method which returns the largest value which falls into the bucket.</p>
+	 */
+	private static long upperBound(int bucket) {
+		if(bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+		int sub = bucket % SUB_BUCKETS;
+		if(exponent >= 62) {
+			return Long.MAX_VALUE;
+		}
+		return ((long) (SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS)) - 1;
+	}
+}
@@ -0,0 +1,32 @@
+package monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("simon.LevelUp")
+@Label("Level Up")
+@Category({"Simon", "Game"})
+@Description("The player repeated the whole sequence")
+@Enabled(false)
+@StackTrace(false)
+public class LevelUpEvent extends Event {
+
+	/**
+	 * <p>Java Flight Recorder event which is committed when the player levels up.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	@Label("New Level")
+	public int level;
+
+	@Label("Sequence Length")
+	public int sequenceLength;
+
+	@Label("Score")
+	public int score;
+}
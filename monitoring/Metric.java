@@ -0,0 +1,100 @@
+package monitoring;
+
+public abstract class Metric {
+
+	/**
+	 * <p>Base class of the metrics of the {@link MetricsRegistry}. A metric has a
+	 * Prometheus style name (eg. simon_inputs_total), a help text and an optional label,
+	 * so a family of metrics can share a name, eg. one paint timer per panel.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Instance variables
+	private final String name;
+	private final String help;
+	private final String labelName;
+	private final String labelValue;
+
+	/**
+	 * <p>Constructor method sets the name, help and label of the metric.</p>
+	 *
+	 * @param name of the metric family.
+	 * @param help one line description.
+	 * @param labelName name of the label, or null if the metric has no label.
+	 * @param labelValue value of the label, or null.
+	 */
+	protected Metric(String name, String help, String labelName, String labelValue) {
+		this.name = name;
+		this.help = help;
+		this.labelName = labelName;
+		this.labelValue = labelValue;
+	}
+
+	/**
+	 * <p>Method returns the Prometheus type of the metric: counter, gauge or summary.</p>
+	 *
+	 * @return type.
+	 */
+	public abstract String getType();
+
+	/**
+	 * <p>Method appends the samples of the metric in the Prometheus text format.</p>
+	 *
+	 * @param out the exposition being written.
+	 */
+	protected abstract void writeSamples(StringBuilder out);
+
+	/**
+	 * <p>Accessor method which returns the name of the metric family.</p>
+	 *
+	 * @return name.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * <p>Accessor method which returns the help text.</p>
+	 *
+	 * @return help.
+	 */
+	public String getHelp() {
+		return this.help;
+	}
+
+	/**
+	 * <p>Method returns the unique key of the metric, the name followed by its label,
+	 * eg. simon_paints_total{panel="GamePanel"}.</p>
+	 *
+	 * @return key.
+	 */
+	public String getKey() {
+		return this.name + labels(null, null);
+	}
+
+	/**
+	 * <p>Method returns the label set of a sample, optionally with one extra label, eg.
+	 * {panel="GamePanel",quantile="0.99"}. It returns an empty string if there are no
+	 * labels.</p>
+	 *
+	 * @param extraName name of an extra label or null.
+	 * @param extraValue value of the extra label.
+	 * @return label set.
+	 */
+	protected String labels(String extraName, String extraValue) {
+		if(this.labelName == null && extraName == null) {
+			return "";
+		}
+		StringBuilder sb = new StringBuilder("{");
+		if(this.labelName != null) {
+			sb.append(this.labelName).append("=\"").append(this.labelValue).append('"');
+		}
+		if(extraName != null) {
+			if(this.labelName != null) {
+				sb.append(',');
+			}
+			sb.append(extraName).append("=\"").append(extraValue).append('"');
+		}
+		return sb.append('}').toString();
+	}
+}
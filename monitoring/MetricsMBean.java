@@ -0,0 +1,112 @@
+package monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ReflectionException;
+
+public class MetricsMBean implements DynamicMBean {
+
+	/**
+	 * <p>Dynamic MBean which shows every metric of the {@link MetricsRegistry} as a
+	 * read-only attribute in JConsole or VisualVM. Counters and gauges are one long
+	 * attribute each; a timer is shown as &lt;key&gt;.count, &lt;key&gt;.p50Micros and
+	 * &lt;key&gt;.p99Micros. The attribute list is rebuilt on every getMBeanInfo(), so
+	 * metrics registered later appear as well.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final String COUNT = ".count";
+	private static final String P50 = ".p50Micros";
+	private static final String P99 = ".p99Micros";
+
+	private final MetricsRegistry registry;
+
+	MetricsMBean(MetricsRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException {
+		for(Metric metric : this.registry.getMetrics()) {
+			String key = metric.getKey();
+			if(metric instanceof TimerMetric && attribute.startsWith(key)) {
+				TimerMetric timer = (TimerMetric) metric;
+				String suffix = attribute.substring(key.length());
+				if(suffix.equals(COUNT)) {
+					return timer.getCount();
+				} else if(suffix.equals(P50)) {
+					return timer.getNanosAtPercentile(50) / 1000;
+				} else if(suffix.equals(P99)) {
+					return timer.getNanosAtPercentile(99) / 1000;
+				}
+			} else if(key.equals(attribute)) {
+				if(metric instanceof Counter) {
+					return ((Counter) metric).get();
+				}
+				return ((Gauge) metric).get();
+			}
+		}
+		throw new AttributeNotFoundException(attribute);
+	}
+
+	@Override
+	public AttributeList getAttributes(String[] attributes) {
+		AttributeList list = new AttributeList();
+		for(String attribute : attributes) {
+			try {
+				list.add(new Attribute(attribute, getAttribute(attribute)));
+			} catch(AttributeNotFoundException anfx) {
+				//Missing attributes are left out of the list
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+	}
+
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException, ReflectionException {
+		throw new ReflectionException(new NoSuchMethodException(actionName), "The metrics have no operations");
+	}
+
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		List<MBeanAttributeInfo> attributes = new ArrayList<MBeanAttributeInfo>();
+		for(Metric metric : this.registry.getMetrics()) {
+			String key = metric.getKey();
+			if(metric instanceof TimerMetric) {
+				attributes.add(attribute(key + COUNT, metric.getHelp() + " (count)"));
+				attributes.add(attribute(key + P50, metric.getHelp() + " (median, microseconds)"));
+				attributes.add(attribute(key + P99, metric.getHelp() + " (99th percentile, microseconds)"));
+			} else {
+				attributes.add(attribute(key, metric.getHelp()));
+			}
+		}
+		return new MBeanInfo(getClass().getName(), "Simon metrics",
+				attributes.toArray(new MBeanAttributeInfo[attributes.size()]), null, new MBeanOperationInfo[0], null);
+	}
+
+	/**
+	 * <p>Private method which describes a read-only long attribute.</p>
+	 */
+	private static MBeanAttributeInfo attribute(String name, String description) {
+		return new MBeanAttributeInfo(name, "long", description, true, false, false);
+	}
+}
@@ -0,0 +1,197 @@
+package monitoring;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class MetricsRegistry {
+
+	/**
+	 * <p>Registry of the counters, gauges and timers of the program. Metrics are created
+	 * once, usually into static final fields (see {@link GameMetrics}), and updated from
+	 * any thread without locks. The registry publishes them as the JMX MBean
+	 * simon:type=Metrics and, if -Dsimon.metricsPort is set, on
+	 * http://127.0.0.1:&lt;port&gt;/metrics in the Prometheus text format.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final String OBJECT_NAME = "simon:type=Metrics";
+	public static final String PORT_PROPERTY = "simon.metricsPort";
+
+	//Singleton class
+	private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+	/**
+	 * <p>Static function which returns the only one instance of this class.</p>
+	 *
+	 * @return the registry.
+	 */
+	public static MetricsRegistry getInstance() {
+		return INSTANCE;
+	}
+
+	//Instance variables
+	private final ConcurrentHashMap<String, Metric> metrics;
+	private boolean isPublished;
+	private PrometheusEndpoint endpoint;
+
+	private MetricsRegistry() {
+		this.metrics = new ConcurrentHashMap<String, Metric>();
+	}
+
+	/**
+	 * <p>Method returns the counter with the name, creating it if needed.</p>
+	 *
+	 * @param name of the counter, eg. simon_games_started_total.
+	 * @param help one line description.
+	 * @return the counter.
+	 */
+	public Counter counter(String name, String help) {
+		return counter(name, help, null, null);
+	}
+
+	/**
+	 * <p>Method returns the counter with the name and label, creating it if needed.</p>
+	 *
+	 * @param name of the counter.
+	 * @param help one line description.
+	 * @param labelName name of the label.
+	 * @param labelValue value of the label.
+	 * @return the counter.
+	 */
+	public Counter counter(String name, String help, String labelName, String labelValue) {
+		return (Counter) register(new Counter(name, help, labelName, labelValue));
+	}
+
+	/**
+	 * <p>Method returns the gauge with the name, creating it if needed.</p>
+	 *
+	 * @param name of the gauge.
+	 * @param help one line description.
+	 * @return the gauge.
+	 */
+	public Gauge gauge(String name, String help) {
+		return (Gauge) register(new Gauge(name, help, null, null));
+	}
+
+	/**
+	 * <p>Method returns the timer with the name, creating it if needed.</p>
+	 *
+	 * @param name of the timer, eg. simon_persistence_seconds.
+	 * @param help one line description.
+	 * @return the timer.
+	 */
+	public TimerMetric timer(String name, String help) {
+		return timer(name, help, null, null);
+	}
+
+	/**
+	 * <p>Method returns the timer with the name and label, creating it if needed.</p>
+	 *
+	 * @param name of the timer.
+	 * @param help one line description.
+	 * @param labelName name of the label.
+	 * @param labelValue value of the label.
+	 * @return the timer.
+	 */
+	public TimerMetric timer(String name, String help, String labelName, String labelValue) {
+		return (TimerMetric) register(new TimerMetric(name, help, labelName, labelValue));
+	}
+
+	/**
+	 * <p>Method returns every metric sorted by name and key, so the metrics of a family
+	 * are next to each other.</p>
+	 *
+	 * @return list of metrics.
+	 */
+	public List<Metric> getMetrics() {
+		List<Metric> list = new ArrayList<Metric>(this.metrics.values());
+		Collections.sort(list, new Comparator<Metric>() {
+
+			@Override
+			public int compare(Metric a, Metric b) {
+				int byName = a.getName().compareTo(b.getName());
+				return byName != 0 ? byName : a.getKey().compareTo(b.getKey());
+			}
+		});
+		return list;
+	}
+
+	/**
+	 * <p>Method returns every metric in the Prometheus text exposition format 0.0.4.</p>
+	 *
+	 * @return exposition.
+	 */
+	public String toPrometheusText() {
+		StringBuilder out = new StringBuilder(4096);
+		String family = null;
+		for(Metric metric : getMetrics()) {
+			if(!metric.getName().equals(family)) {
+				family = metric.getName();
+				out.append("# HELP ").append(family).append(' ').append(metric.getHelp()).append('\n');
+				out.append("# TYPE ").append(family).append(' ').append(metric.getType()).append('\n');
+			}
+			metric.writeSamples(out);
+		}
+		return out.toString();
+	}
+
+	/**
+	 * <p>Method registers the MBean of the registry and starts the HTTP endpoint if its
+	 * port is set. Calling it again does nothing.</p>
+	 */
+	public synchronized void publish() {
+		if(this.isPublished) {
+			return;
+		}
+		this.isPublished = true;
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(this), new ObjectName(OBJECT_NAME));
+		} catch(JMException jmx) {
+			System.out.println(jmx.getMessage());
+		}
+		String port = System.getProperty(PORT_PROPERTY);
+		if(port != null) {
+			try {
+				this.endpoint = new PrometheusEndpoint(this, Integer.parseInt(port));
+				this.endpoint.start();
+			} catch(IOException iox) {
+				System.out.println(iox.getMessage());
+			} catch(NumberFormatException nfx) {
+				System.out.println("Invalid " + PORT_PROPERTY + ": " + port);
+			}
+		}
+	}
+
+	/**
+	 * <p>Method stops the HTTP endpoint, if it is running.</p>
+	 */
+	public synchronized void shutdown() {
+		if(this.endpoint != null) {
+			this.endpoint.stop();
+			this.endpoint = null;
+		}
+	}
+
+	/**
+	 * <p>Private method which adds the metric, or returns the metric registered earlier
+	 * with the same key.</p>
+	 */
+	private Metric register(Metric metric) {
+		Metric existing = this.metrics.putIfAbsent(metric.getKey(), metric);
+		if(existing == null) {
+			return metric;
+		}
+		if(existing.getClass() != metric.getClass()) {
+			throw new IllegalArgumentException(metric.getKey() + " is already registered as a " + existing.getType());
+		}
+		return existing;
+	}
+}
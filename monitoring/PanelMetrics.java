@@ -0,0 +1,45 @@
+package monitoring;
+
+public class PanelMetrics {
+
+	/**
+	 * <p>Paint metrics of one Swing panel: the number of paints and the time spent in
+	 * paintComponent, labelled with the name of the panel.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Instance variables
+	private final Counter paints;
+	private final TimerMetric paintTime;
+
+	/**
+	 * <p>Constructor method registers the metrics of the panel. Panels of the same name
+	 * share their metrics.</p>
+	 *
+	 * @param panel name of the panel, eg. GamePanel.
+	 */
+	public PanelMetrics(String panel) {
+		MetricsRegistry registry = MetricsRegistry.getInstance();
+		this.paints = registry.counter("simon_paints_total", "Repaints performed by a panel", "panel", panel);
+		this.paintTime = registry.timer("simon_paint_seconds", "Time spent in paintComponent of a panel", "panel", panel);
+	}
+
+	/**
+	 * <p>Method is called at the start of paintComponent.</p>
+	 *
+	 * @return the start time to pass to paintFinished().
+	 */
+	public long paintStarted() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * <p>Method is called at the end of paintComponent.</p>
+	 *
+	 * @param startNanos value returned by paintStarted().
+	 */
+	public void paintFinished(long startNanos) {
+		this.paints.increment();
+		this.paintTime.recordSince(startNanos);
+	}
+}
@@ -0,0 +1,42 @@
+package monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("simon.Persistence")
+@Label("Persistence")
+@Category({"Simon", "Persistence"})
+@Description("The high score is written to or read from the disk")
+@Enabled(false)
+@StackTrace(true)
+public class PersistenceEvent extends Event {
+
+	/**
+	 * <p>Java Flight Recorder event which is committed for every read and write of a
+	 * data persistor. The stack trace shows which thread (e.g. the Event Dispatch Thread)
+	 * waited for the disk.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final String READ = "read";
+	public static final String WRITE = "write";
+
+	@Label("Operation")
+	public String operation;
+
+	@Label("Path")
+	public String path;
+
+	@Label("Bytes")
+	@DataAmount
+	public long bytes;
+
+	@Label("Success")
+	public boolean success;
+}
@@ -0,0 +1,57 @@
+package monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("simon.PlaybackJitter")
+@Label("Playback Jitter")
+@Category({"Simon", "Playback"})
+@Description("How late the buttons of a color sequence were lit")
+@Enabled(false)
+@StackTrace(false)
+public class PlaybackJitterEvent extends Event {
+
+	/**
+	 * <p>Java Flight Recorder event which is committed when the color sequence of a level
+	 * has been played back. Lateness is measured against the absolute deadline of each
+	 * button: on the playback thread when the tone is started, and on the Event Dispatch
+	 * Thread when the button is lit.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	@Label("Level")
+	public int level;
+
+	@Label("Flashes")
+	public int flashes;
+
+	@Label("Period")
+	@Timespan(Timespan.MILLISECONDS)
+	public long periodMillis;
+
+	@Label("Audio p50")
+	@Timespan(Timespan.NANOSECONDS)
+	public long audioP50;
+
+	@Label("Audio Max")
+	@Timespan(Timespan.NANOSECONDS)
+	public long audioMax;
+
+	@Label("Visual p50")
+	@Timespan(Timespan.NANOSECONDS)
+	public long visualP50;
+
+	@Label("Visual p99")
+	@Timespan(Timespan.NANOSECONDS)
+	public long visualP99;
+
+	@Label("Visual Max")
+	@Timespan(Timespan.NANOSECONDS)
+	public long visualMax;
+}
@@ -0,0 +1,111 @@
+package monitoring;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class PrometheusEndpoint {
+
+	/**
+	 * <p>Minimal HTTP server which serves GET /metrics in the Prometheus text format. It is
+	 * bound to the loopback address only, so it is reachable from a scraper or a tunnel
+	 * on the kiosk but not from the network. Requests are handled by one daemon thread,
+	 * which never holds up the program or its exit.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	//Instance variables
+	private final HttpServer server;
+	private final ExecutorService executor;
+
+	/**
+	 * <p>Constructor method binds the server to the port of the loopback address.</p>
+	 *
+	 * @param registry metrics to serve.
+	 * @param port TCP port, 0 picks a free port.
+	 * @throws IOException if the port cannot be bound.
+	 */
+	public PrometheusEndpoint(final MetricsRegistry registry, int port) throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "simon-metrics-http");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		this.server.setExecutor(this.executor);
+		this.server.createContext("/metrics", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				try {
+					if(!"GET".equals(exchange.getRequestMethod())) {
+						exchange.sendResponseHeaders(405, -1);
+						return;
+					}
+					byte[] body = registry.toPrometheusText().getBytes(StandardCharsets.UTF_8);
+					exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+					exchange.sendResponseHeaders(200, body.length);
+					OutputStream os = exchange.getResponseBody();
+					os.write(body);
+					os.close();
+				} finally {
+					exchange.close();
+				}
+			}
+		});
+	}
+
+	/**
+	 * <p>Method starts serving requests. The dispatcher thread of the HttpServer inherits
+	 * the daemon flag of the thread which starts it, so it is started from a daemon
+	 * thread; otherwise it would keep the JVM alive after the game is closed.</p>
+	 */
+	public void start() {
+		Thread starter = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				server.start();
+			}
+		}, "simon-metrics-start");
+		starter.setDaemon(true);
+		starter.start();
+		try {
+			starter.join();
+		} catch(InterruptedException ix) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * <p>Method stops the server.</p>
+	 */
+	public void stop() {
+		this.server.stop(0);
+		this.executor.shutdownNow();
+	}
+
+	/**
+	 * <p>Accessor method which returns the port the server is listening on.</p>
+	 *
+	 * @return port number.
+	 */
+	public int getPort() {
+		return this.server.getAddress().getPort();
+	}
+}
@@ -0,0 +1,36 @@
+package monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("simon.SequenceFlash")
+@Label("Sequence Flash")
+@Category({"Simon", "Playback"})
+@Description("One button of the color sequence is flashed")
+@Enabled(false)
+@StackTrace(false)
+public class SequenceFlashEvent extends Event {
+
+	/**
+	 * <p>Java Flight Recorder event which is committed for every color shown while the
+	 * sequence is played back. Comparing the start times of consecutive flashes with
+	 * the difficulty shows how late the buttons were lit; the {@link PlaybackJitterEvent}
+	 * of the level sums it up.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	@Label("Color")
+	public int color;
+
+	@Label("Index")
+	@Description("Position of the color in the sequence")
+	public int index;
+
+	@Label("Level")
+	public int level;
+}
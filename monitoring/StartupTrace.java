@@ -0,0 +1,115 @@
+package monitoring;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public final class StartupTrace {
+
+	/**
+	 * <p>Trace of the startup of the program. Every phase of the startup is timed with
+	 * begin() and end(), on whichever thread it runs. The first paint of the frame is
+	 * reported with firstFrame(), and ready() is called when the background work is
+	 * done. When both happened, the trace is printed: the time to the first frame, the
+	 * time until the program is ready, and the start, the duration and the thread of
+	 * every phase. Times are in milliseconds since main() started.</p>
+	 * <p>The trace is printed unless -Dsimon.startupTrace=false.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final boolean IS_ON = !"false".equals(System.getProperty("simon.startupTrace"));
+
+	//main() calls this class first, so the class is initialized when main() starts
+	private static final long START_NANOS = System.nanoTime();
+	private static final long START_MILLIS = System.currentTimeMillis();
+
+	private static final List<String> PHASES = new ArrayList<String>();
+	private static final CompletableFuture<Long> FIRST_FRAME = new CompletableFuture<Long>();
+	private static final CompletableFuture<Long> READY = new CompletableFuture<Long>();
+
+	static {
+		CompletableFuture.allOf(FIRST_FRAME, READY).thenRun(new Runnable() {
+
+			@Override
+			public void run() {
+				print();
+			}
+		});
+	}
+
+	private StartupTrace() {
+	}
+
+	/**
+	 * <p>Static method which is called at the start of a phase.</p>
+	 *
+	 * @return the start time to pass to end().
+	 */
+	public static long begin() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * <p>Static method which is called at the end of a phase.</p>
+	 *
+	 * @param phase name of the phase.
+	 * @param startNanos value returned by begin().
+	 */
+	public static void end(String phase, long startNanos) {
+		long now = System.nanoTime();
+		String line = String.format("  %-12s %-22s %8.1f %8.1f", phase, Thread.currentThread().getName(),
+				millis(startNanos), (now - startNanos) / 1e6);
+		synchronized(PHASES) {
+			PHASES.add(line);
+		}
+	}
+
+	/**
+	 * <p>Static method which is called when the frame is painted. Only the first call
+	 * is recorded, so it is cheap to call it from every paint.</p>
+	 */
+	public static void firstFrame() {
+		if(!FIRST_FRAME.isDone()) {
+			FIRST_FRAME.complete(System.nanoTime());
+		}
+	}
+
+	/**
+	 * <p>Static method which is called when every phase of the startup is done.</p>
+	 */
+	public static void ready() {
+		READY.complete(System.nanoTime());
+	}
+
+	/**
+	 * <p>Private static method which prints the trace.</p>
+	 */
+	private static void print() {
+		if(!IS_ON) {
+			return;
+		}
+		StringBuilder sb = new StringBuilder("Startup trace (ms since main");
+		Instant jvmStart = ProcessHandle.current().info().startInstant().orElse(null);
+		if(jvmStart != null) {
+			sb.append(", the JVM started ").append(START_MILLIS - jvmStart.toEpochMilli()).append(" ms before main");
+		}
+		sb.append(")").append(System.lineSeparator());
+		sb.append(String.format("  time to first frame: %.1f%n", millis(FIRST_FRAME.join())));
+		sb.append(String.format("  time to ready:       %.1f%n", millis(READY.join())));
+		sb.append(String.format("  %-12s %-22s %8s %8s%n", "phase", "thread", "start", "duration"));
+		synchronized(PHASES) {
+			for(String line : PHASES) {
+				sb.append(line).append(System.lineSeparator());
+			}
+		}
+		System.out.print(sb);
+	}
+
+	/**
+	 * <p>Private static method which converts a nanoTime value into milliseconds since main().</p>
+	 */
+	private static double millis(long nanos) {
+		return (nanos - START_NANOS) / 1e6;
+	}
+}
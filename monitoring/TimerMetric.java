@@ -0,0 +1,90 @@
+package monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class TimerMetric extends Metric {
+
+	/**
+	 * <p>Timer which counts events and sums their durations with {@link LongAdder}s, and
+	 * keeps their distribution in a {@link LatencyHistogram}. It is exported as a
+	 * Prometheus summary in seconds with the 0.5, 0.99 and 0.999 quantiles.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final double[] QUANTILES = new double[] {0.5, 0.99, 0.999};
+
+	//Instance variables
+	private final LongAdder count;
+	private final LongAdder totalNanos;
+	private final LatencyHistogram histogram;
+
+	TimerMetric(String name, String help, String labelName, String labelValue) {
+		super(name, help, labelName, labelValue);
+		this.count = new LongAdder();
+		this.totalNanos = new LongAdder();
+		this.histogram = new LatencyHistogram(name);
+	}
+
+	/**
+	 * <p>Method records one duration.</p>
+	 *
+	 * @param nanos duration in nanoseconds.
+	 */
+	public void record(long nanos) {
+		this.count.increment();
+		this.totalNanos.add(nanos);
+		this.histogram.record(nanos);
+	}
+
+	/**
+	 * <p>Method records the time elapsed since the start value.</p>
+	 *
+	 * @param startNanos value of System.nanoTime() at the start.
+	 */
+	public void recordSince(long startNanos) {
+		record(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * <p>Method returns the number of recorded durations.</p>
+	 *
+	 * @return count.
+	 */
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	/**
+	 * <p>Method returns the sum of the recorded durations.</p>
+	 *
+	 * @return nanoseconds.
+	 */
+	public long getTotalNanos() {
+		return this.totalNanos.sum();
+	}
+
+	/**
+	 * <p>Method returns a percentile of the recorded durations.</p>
+	 *
+	 * @param percentile eg. 99.0
+	 * @return nanoseconds.
+	 */
+	public long getNanosAtPercentile(double percentile) {
+		return this.histogram.getValueAtPercentile(percentile);
+	}
+
+	@Override
+	public String getType() {
+		return "summary";
+	}
+
+	@Override
+	protected void writeSamples(StringBuilder out) {
+		for(double quantile : QUANTILES) {
+			out.append(getName()).append(labels("quantile", Double.toString(quantile))).append(' ')
+					.append(getNanosAtPercentile(quantile * 100) / 1e9).append('\n');
+		}
+		out.append(getName()).append("_sum").append(labels(null, null)).append(' ').append(getTotalNanos() / 1e9).append('\n');
+		out.append(getName()).append("_count").append(labels(null, null)).append(' ').append(getCount()).append('\n');
+	}
+}
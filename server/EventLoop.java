@@ -0,0 +1,390 @@
+package server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import model.GameEngine.InputResult;
+import model.SeededSequenceSource;
+
+public class EventLoop implements Runnable {
+
+	/**
+	 * <p>One event loop thread of the {@link TournamentServer}. Every loop has its own
+	 * {@link Selector} and {@link SessionTable}, connections are assigned to a loop when
+	 * they are accepted and they stay on that loop. Sessions are created by the loop of
+	 * the connection, so a session is never shared between threads.</p>
+	 * <p>The loop has one read and one write buffer, shared by its connections. A
+	 * connection only keeps bytes of its own while it has an incomplete request, or while
+	 * its responses are backed up, so an idle connection costs a few dozen bytes.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Size of the read and write buffers of the loop
+	private static final int BUFFER_SIZE = 16 * 1024;
+	//Sessions a connection may play at the same time
+	public static final int MAX_SESSIONS_PER_CONNECTION = 64;
+	//Bits of the session id which store the index of the loop
+	private static final int LOOP_BITS = 8;
+
+	/**
+	 * <p>State of one client connection.</p>
+	 */
+	static class Connection {
+		private final SocketChannel channel;
+		private final ArrayList<Session> sessions;
+		//Start of an incomplete request, or null
+		private ByteBuffer in;
+		//Responses the socket didn't take yet, or null
+		private ByteBuffer out;
+
+		private Connection(SocketChannel channel) {
+			this.channel = channel;
+			this.sessions = new ArrayList<Session>(1);
+		}
+	}
+
+	//Instance variables
+	private final int index;
+	private final Selector selector;
+	private final Queue<SocketChannel> pending;
+	private final SessionTable sessions;
+	private final ByteBuffer in;
+	private final ByteBuffer out;
+	private final byte[] nameBuffer;
+	private int nextSessionNumber;
+	private volatile boolean running;
+
+	/**
+	 * <p>Constructor method creates an instance of this class and opens its selector.</p>
+	 *
+	 * @param index of the loop, it is stored in the low bits of every session id.
+	 * @throws IOException if the selector cannot be opened.
+	 */
+	public EventLoop(int index) throws IOException {
+		this.index = index;
+		this.selector = Selector.open();
+		this.pending = new ConcurrentLinkedQueue<SocketChannel>();
+		this.sessions = new SessionTable();
+		this.in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		this.out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		this.nameBuffer = new byte[Protocol.MAX_NAME_LENGTH];
+		this.nextSessionNumber = 1;
+		this.running = true;
+	}
+
+	/**
+	 * <p>Method hands a freshly accepted channel to this loop. It can be called from
+	 * any thread, the channel is registered by the loop thread.</p>
+	 *
+	 * @param channel accepted client channel.
+	 */
+	public void register(SocketChannel channel) {
+		this.pending.add(channel);
+		this.selector.wakeup();
+	}
+
+	/**
+	 * <p>Method stops the loop. Open connections are closed by the loop thread.</p>
+	 */
+	public void shutdown() {
+		this.running = false;
+		this.selector.wakeup();
+	}
+
+	/**
+	 * <p>Accessor method which returns the number of sessions hosted by this loop. The
+	 * value is only approximate when it is read from another thread.</p>
+	 *
+	 * @return number of sessions.
+	 */
+	public int getSessionCount() {
+		return this.sessions.size();
+	}
+
+	/**
+	 * <p>The loop: wait for ready channels, read and handle every complete frame, and
+	 * write the responses.</p>
+	 */
+	@Override
+	public void run() {
+		try {
+			while(this.running) {
+				this.selector.select();
+				registerPending();
+				Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+				while(keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					Connection connection = (Connection) key.attachment();
+					try {
+						if(key.isValid() && key.isReadable()) {
+							read(key, connection);
+						}
+						if(key.isValid() && key.isWritable()) {
+							flush(key, connection);
+							if(key.isValid() && key.interestOps() == SelectionKey.OP_READ && connection.in != null) {
+								restoreInput(connection);
+								process(key, connection);
+							}
+						}
+					} catch(IOException iox) {
+						close(key, connection);
+					}
+				}
+			}
+		} catch(IOException iox) {
+			System.out.println(iox.getMessage());
+		} finally {
+			for(SelectionKey key : this.selector.keys()) {
+				close(key, (Connection) key.attachment());
+			}
+			try {
+				this.selector.close();
+			} catch(IOException iox) {
+				System.out.println(iox.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * <p>Private method which registers the channels handed over by the acceptor.</p>
+	 */
+	private void registerPending() {
+		SocketChannel channel;
+		while((channel = this.pending.poll()) != null) {
+			try {
+				channel.configureBlocking(false);
+				channel.register(this.selector, SelectionKey.OP_READ, new Connection(channel));
+			} catch(IOException iox) {
+				System.out.println(iox.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * <p>Private method which reads from the channel and handles every complete frame.
+	 * An incomplete frame is kept by the connection until the rest of it arrives.</p>
+	 */
+	private void read(SelectionKey key, Connection connection) throws IOException {
+		restoreInput(connection);
+		if(connection.channel.read(this.in) < 0) {
+			close(key, connection);
+			return;
+		}
+		process(key, connection);
+	}
+
+	/**
+	 * <p>Private method which clears the read buffer of the loop and puts the kept bytes
+	 * of the connection into it.</p>
+	 */
+	private void restoreInput(Connection connection) {
+		this.in.clear();
+		if(connection.in != null) {
+			this.in.put(connection.in);
+			connection.in = null;
+		}
+	}
+	
+	/**
+	 * <p>Private method which handles every complete frame in the read buffer and
+	 * writes the responses. The bytes which are left are copied to the connection.</p>
+	 */
+	private void process(SelectionKey key, Connection connection) throws IOException {
+		ByteBuffer in = this.in;
+		in.flip();
+		while(in.remaining() >= Protocol.LENGTH_FIELD) {
+			int start = in.position();
+			int length = in.getShort(start) & 0xFFFF;
+			if(length > BUFFER_SIZE - Protocol.LENGTH_FIELD) {
+				throw new IOException("Frame too long: " + length);
+			}
+			if(in.remaining() < Protocol.LENGTH_FIELD + length) {
+				break;
+			}
+			//Make sure the longest response fits, otherwise flush first
+			if(this.out.remaining() < 64) {
+				flush(key, connection);
+				if(connection.out != null) {
+					break;
+				}
+			}
+			int dataEnd = in.limit();
+			int end = start + Protocol.LENGTH_FIELD + length;
+			in.position(start + Protocol.LENGTH_FIELD);
+			in.limit(end);
+			handleFrame(connection, in);
+			in.limit(dataEnd);
+			in.position(end);
+		}
+		if(in.hasRemaining()) {
+			connection.in = ByteBuffer.allocate(in.remaining());
+			connection.in.put(in).flip();
+		}
+		flush(key, connection);
+	}
+
+	/**
+	 * <p>Private method which handles one request frame and writes its response.</p>
+	 *
+	 * @param connection the request arrived on.
+	 * @param in buffer holding the frame, positioned after the length field.
+	 */
+	private void handleFrame(Connection connection, ByteBuffer in) {
+		ByteBuffer out = this.out;
+		if(!in.hasRemaining()) {
+			Protocol.writeError(out, 0, Protocol.BAD_REQUEST);
+			return;
+		}
+		switch(in.get()) {
+		case Protocol.NEW_GAME:
+			newGame(connection, in);
+			break;
+		case Protocol.SUBMIT: {
+			if(in.remaining() < 5) {
+				Protocol.writeError(out, 0, Protocol.BAD_REQUEST);
+				break;
+			}
+			int id = in.getInt();
+			int color = in.get();
+			Session session = session(connection, id);
+			if(session == null || (color & ~3) != 0) {
+				Protocol.writeError(out, id, session == null ? Protocol.UNKNOWN_SESSION : Protocol.BAD_REQUEST);
+				break;
+			}
+			InputResult result = session.submit(color);
+			int newColor = -1;
+			if(result == InputResult.LEVEL_COMPLETE) {
+				newColor = session.getColorSequence().get(session.getColorSequence().size() - 1);
+			}
+			Protocol.writeResult(out, id, result.ordinal(), session.getScore(), session.getLevel(), newColor);
+			if(session.isOver()) {
+				this.sessions.remove(id);
+				connection.sessions.remove(session);
+			}
+			break;
+		}
+		case Protocol.CLOSE: {
+			if(in.remaining() < 4) {
+				Protocol.writeError(out, 0, Protocol.BAD_REQUEST);
+				break;
+			}
+			int id = in.getInt();
+			Session session = session(connection, id);
+			if(session == null) {
+				Protocol.writeError(out, id, Protocol.UNKNOWN_SESSION);
+				break;
+			}
+			this.sessions.remove(id);
+			connection.sessions.remove(session);
+			Protocol.writeClosed(out, id, session.getScore(), session.getLevel());
+			break;
+		}
+		default:
+			Protocol.writeError(out, 0, Protocol.BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * <p>Private method which returns a session of the connection. A session of another
+	 * connection is not found, so a client can only play and close its own games.</p>
+	 *
+	 * @return the session, or null if the connection has no session with this id.
+	 */
+	private Session session(Connection connection, int id) {
+		Session session = this.sessions.get(id);
+		if(session == null || !session.isOwnedBy(connection)) {
+			return null;
+		}
+		return session;
+	}
+
+	/**
+	 * <p>Private method which creates a new session for a NEW_GAME request.</p>
+	 */
+	private void newGame(Connection connection, ByteBuffer in) {
+		if(in.remaining() < 11) {
+			Protocol.writeError(this.out, 0, Protocol.BAD_REQUEST);
+			return;
+		}
+		int difficulty = Protocol.toDifficulty(in.get());
+		boolean hasSeed = in.get() != 0;
+		long seed = in.getLong();
+		int nameLength = in.get() & 0xFF;
+		if(difficulty < 0 || nameLength > Protocol.MAX_NAME_LENGTH || in.remaining() < nameLength) {
+			Protocol.writeError(this.out, 0, Protocol.BAD_REQUEST);
+			return;
+		}
+		if(connection.sessions.size() >= MAX_SESSIONS_PER_CONNECTION) {
+			Protocol.writeError(this.out, 0, Protocol.TOO_MANY_SESSIONS);
+			return;
+		}
+		in.get(this.nameBuffer, 0, nameLength);
+		if(!hasSeed) {
+			seed = SeededSequenceSource.newSeed();
+		}
+		//When the session number wraps around, the ids of live sessions are skipped, and
+		//so is the number 0
+		int id;
+		do {
+			id = (this.nextSessionNumber++ << LOOP_BITS) | this.index;
+		} while((id >>> LOOP_BITS) == 0 || this.sessions.get(id) != null);
+		Session session = new Session(id, connection, new String(this.nameBuffer, 0, nameLength, StandardCharsets.UTF_8), difficulty, seed);
+		this.sessions.put(session);
+		connection.sessions.add(session);
+		Protocol.writeCreated(this.out, id, seed, session.getLevel(), session.getColorSequence());
+	}
+
+	/**
+	 * <p>Private method which writes the pending responses: the backed up ones of the
+	 * connection, or else the ones in the write buffer of the loop. If the socket buffer
+	 * is full, the rest is copied to the connection, and the loop waits for OP_WRITE and
+	 * stops reading from this client until the responses are written.</p>
+	 */
+	private void flush(SelectionKey key, Connection connection) throws IOException {
+		ByteBuffer out = connection.out;
+		if(out == null) {
+			out = this.out;
+			out.flip();
+			connection.channel.write(out);
+			if(out.hasRemaining()) {
+				connection.out = ByteBuffer.allocate(out.remaining());
+				connection.out.put(out).flip();
+			}
+			out.clear();
+		} else {
+			connection.channel.write(out);
+			if(!out.hasRemaining()) {
+				connection.out = null;
+			}
+		}
+		key.interestOps(connection.out == null ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+	}
+
+	/**
+	 * <p>Private method which closes a connection and drops its sessions.</p>
+	 */
+	private void close(SelectionKey key, Connection connection) {
+		key.cancel();
+		if(connection == null) {
+			return;
+		}
+		for(Session session : connection.sessions) {
+			this.sessions.remove(session.getId());
+		}
+		connection.sessions.clear();
+		try {
+			connection.channel.close();
+		} catch(IOException iox) {
+			System.out.println(iox.getMessage());
+		}
+	}
+}
@@ -0,0 +1,313 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.ColorSequence;
+import model.GameEngine.InputResult;
+import monitoring.LatencyHistogram;
+
+public class LoadGenerator {
+
+	/**
+	 * <p>Load generator client for the {@link TournamentServer}. It opens many
+	 * connections from a few selector threads; every connection plays games one after
+	 * the other with a perfect bot. A game is played up to a target level, then the bot
+	 * presses a wrong button on purpose, and a new game is started.</p>
+	 * <p>Every request is timed until its response arrives. At the end the generator
+	 * prints the completed sessions per second and the p50/p99/p99.9 round trip times.
+	 * The score reported by the server is checked against the score of the desktop rules
+	 * (one point per correct button).</p>
+	 * <p>Usage: java server.LoadGenerator [port] [connections] [threads] [seconds] [levels] [difficulty 0-3]</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final int BUFFER_SIZE = 4 * 1024;
+
+	/**
+	 * <p>State of one client connection, which plays one game at a time.</p>
+	 */
+	private static class Client {
+		private final SocketChannel channel;
+		private final ByteBuffer in;
+		private final ByteBuffer out;
+		private final ColorSequence sequence;
+		private final String name;
+		private int session;
+		private int inputIndex;
+		private int expectedScore;
+		private long sentAt;
+
+		private Client(SocketChannel channel, String name) {
+			this.channel = channel;
+			this.in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			this.out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			this.sequence = new ColorSequence();
+			this.name = name;
+		}
+	}
+
+	//Instance variables
+	private final InetSocketAddress address;
+	private final int difficulty;
+	private final int targetLevel;
+	private final AtomicLong completedSessions;
+	private final AtomicLong errors;
+	private volatile boolean running;
+
+	/**
+	 * <p>Constructor method creates an instance of this class.</p>
+	 *
+	 * @param port of the server on the loopback address.
+	 * @param difficulty difficulty code of the games.
+	 * @param targetLevel level after which the bot ends the game.
+	 */
+	public LoadGenerator(int port, int difficulty, int targetLevel) {
+		this.address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+		this.difficulty = difficulty;
+		this.targetLevel = targetLevel;
+		this.completedSessions = new AtomicLong();
+		this.errors = new AtomicLong();
+	}
+
+	/**
+	 * <p>Method runs the load for the given time and returns the merged round trip
+	 * histogram of every thread.</p>
+	 *
+	 * @param connections number of concurrent connections (i.e. concurrent sessions).
+	 * @param threads number of selector threads.
+	 * @param seconds duration of the run.
+	 * @return round trip histogram.
+	 * @throws InterruptedException if the calling thread is interrupted.
+	 */
+	public LatencyHistogram run(int connections, int threads, int seconds) throws InterruptedException {
+		this.running = true;
+		final LatencyHistogram[] histograms = new LatencyHistogram[threads];
+		final CountDownLatch done = new CountDownLatch(threads);
+		Thread[] workers = new Thread[threads];
+		for(int t = 0; t < threads; t++) {
+			final int index = t;
+			final int share = connections / threads + (t < connections % threads ? 1 : 0);
+			histograms[t] = new LatencyHistogram("round trip");
+			workers[t] = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						drive(index, share, histograms[index]);
+					} catch(IOException iox) {
+						System.out.println(iox.getMessage());
+					} finally {
+						done.countDown();
+					}
+				}
+			}, "simon-load-" + t);
+			workers[t].start();
+		}
+
+		long start = System.nanoTime();
+		long lastCompleted = 0;
+		for(int s = 0; s < seconds; s++) {
+			Thread.sleep(1000);
+			long completed = this.completedSessions.get();
+			System.out.println("t=" + (s + 1) + "s sessions/s=" + (completed - lastCompleted) + " total=" + completed);
+			lastCompleted = completed;
+		}
+		this.running = false;
+		done.await();
+		double elapsed = (System.nanoTime() - start) / 1e9;
+
+		LatencyHistogram merged = new LatencyHistogram("round trip");
+		for(LatencyHistogram histogram : histograms) {
+			merged.add(histogram);
+		}
+		System.out.printf("Sessions: %d in %.1f s (%.0f sessions/s), requests: %d (%.0f requests/s), errors: %d%n",
+				this.completedSessions.get(), elapsed, this.completedSessions.get() / elapsed,
+				merged.getTotalCount(), merged.getTotalCount() / elapsed, this.errors.get());
+		System.out.printf("Round trip p50: %.1f us, p99: %.1f us, p99.9: %.1f us, max: %.1f us%n",
+				merged.getValueAtPercentile(50) / 1e3, merged.getValueAtPercentile(99) / 1e3,
+				merged.getValueAtPercentile(99.9) / 1e3, merged.getMax() / 1e3);
+		return merged;
+	}
+
+	/**
+	 * <p>Private method which is the loop of one selector thread.</p>
+	 */
+	private void drive(int threadIndex, int connections, LatencyHistogram histogram) throws IOException {
+		Selector selector = Selector.open();
+		try {
+			for(int i = 0; i < connections; i++) {
+				SocketChannel channel = SocketChannel.open();
+				channel.configureBlocking(false);
+				channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+				channel.connect(this.address);
+				channel.register(selector, SelectionKey.OP_CONNECT, new Client(channel, "bot-" + threadIndex + "-" + i));
+			}
+			while(this.running) {
+				selector.select(100);
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while(keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					Client client = (Client) key.attachment();
+					try {
+						if(key.isConnectable()) {
+							client.channel.finishConnect();
+							key.interestOps(SelectionKey.OP_READ);
+							newGame(client);
+						} else if(key.isReadable()) {
+							if(client.channel.read(client.in) < 0) {
+								key.cancel();
+								client.channel.close();
+								continue;
+							}
+							handleResponses(client, histogram);
+						}
+					} catch(IOException iox) {
+						this.errors.incrementAndGet();
+						key.cancel();
+						client.channel.close();
+					}
+				}
+			}
+		} finally {
+			for(SelectionKey key : selector.keys()) {
+				key.channel().close();
+			}
+			selector.close();
+		}
+	}
+
+	/**
+	 * <p>Private method which handles every complete response and sends the next request.</p>
+	 */
+	private void handleResponses(Client client, LatencyHistogram histogram) throws IOException {
+		ByteBuffer in = client.in;
+		in.flip();
+		while(in.remaining() >= Protocol.LENGTH_FIELD) {
+			int start = in.position();
+			int length = in.getShort(start) & 0xFFFF;
+			if(in.remaining() < Protocol.LENGTH_FIELD + length) {
+				break;
+			}
+			in.position(start + Protocol.LENGTH_FIELD);
+			histogram.record(System.nanoTime() - client.sentAt);
+			handleResponse(client, in);
+			in.position(start + Protocol.LENGTH_FIELD + length);
+		}
+		in.compact();
+	}
+
+	/**
+	 * <p>Private method which handles one response.</p>
+	 */
+	private void handleResponse(Client client, ByteBuffer in) throws IOException {
+		byte opcode = in.get();
+		switch(opcode) {
+		case Protocol.CREATED:
+			client.session = in.getInt();
+			in.getLong();
+			in.getInt();
+			client.sequence.clear();
+			Protocol.readColors(in, client.sequence);
+			client.inputIndex = 0;
+			client.expectedScore = 0;
+			submitNext(client);
+			break;
+		case Protocol.RESULT: {
+			in.getInt();
+			InputResult result = InputResult.values()[in.get()];
+			int score = in.getInt();
+			int level = in.getInt();
+			if(result.isCorrect()) {
+				client.expectedScore++;
+			}
+			if(score != client.expectedScore) {
+				this.errors.incrementAndGet();
+			}
+			if(result == InputResult.CORRECT) {
+				submitNext(client);
+			} else if(result == InputResult.LEVEL_COMPLETE) {
+				client.sequence.append(in.get());
+				client.inputIndex = 0;
+				if(level > this.targetLevel) {
+					//Finish the game on purpose with a wrong color
+					send(client, client.session, (client.sequence.get(0) + 1) & 3);
+				} else {
+					submitNext(client);
+				}
+			} else {
+				this.completedSessions.incrementAndGet();
+				if(this.running) {
+					newGame(client);
+				}
+			}
+			break;
+		}
+		default:
+			this.errors.incrementAndGet();
+			if(this.running) {
+				newGame(client);
+			}
+		}
+	}
+
+	/**
+	 * <p>Private method which sends the next color of the sequence.</p>
+	 */
+	private void submitNext(Client client) throws IOException {
+		int color = client.sequence.get(client.inputIndex);
+		client.inputIndex++;
+		send(client, client.session, color);
+	}
+
+	/**
+	 * <p>Private method which sends a SUBMIT request.</p>
+	 */
+	private void send(Client client, int session, int color) throws IOException {
+		Protocol.writeSubmit(client.out, session, color);
+		write(client);
+	}
+
+	/**
+	 * <p>Private method which sends a NEW_GAME request.</p>
+	 */
+	private void newGame(Client client) throws IOException {
+		Protocol.writeNewGame(client.out, this.difficulty, null, client.name);
+		write(client);
+	}
+
+	/**
+	 * <p>Private method which writes the request. Requests are tiny and only one is in
+	 * flight per connection, so the socket buffer is never full.</p>
+	 */
+	private void write(Client client) throws IOException {
+		client.out.flip();
+		client.sentAt = System.nanoTime();
+		while(client.out.hasRemaining()) {
+			client.channel.write(client.out);
+		}
+		client.out.clear();
+	}
+
+	public static void main(String[] args) throws Exception {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : TournamentServer.DEFAULT_PORT;
+		int connections = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+		int levels = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+		int difficulty = args.length > 5 ? Integer.parseInt(args[5]) : Protocol.MEDIUM;
+
+		System.out.println("Connecting " + connections + " clients from " + threads + " threads to port " + port);
+		new LoadGenerator(port, difficulty, levels).run(connections, threads, seconds);
+	}
+}
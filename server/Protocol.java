@@ -0,0 +1,226 @@
+package server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import controller.MemoryGameController;
+import model.ColorSequence;
+
+public final class Protocol {
+
+	/**
+	 * <p>Binary protocol spoken by {@link TournamentServer} and {@link LoadGenerator}.
+	 * Every frame starts with an unsigned 16 bit length (number of bytes after the
+	 * length field) and an opcode byte. Numbers are big endian.</p>
+	 * <p>Requests:</p>
+	 * <ul>
+	 * <li>NEW_GAME: [u8 difficulty][u8 hasSeed][i64 seed][u8 nameLength][name, UTF-8]</li>
+	 * <li>SUBMIT: [i32 session][u8 color]</li>
+	 * <li>CLOSE: [i32 session]</li>
+	 * </ul>
+	 * <p>Responses:</p>
+	 * <ul>
+	 * <li>CREATED: [i32 session][i64 seed][i32 level][u16 colors][colors packed 4 per byte]</li>
+	 * <li>RESULT: [i32 session][u8 result][i32 score][i32 level][u8 new color, only for LEVEL_COMPLETE]</li>
+	 * <li>CLOSED: [i32 session][i32 score][i32 level]</li>
+	 * <li>ERROR: [i32 session][u8 error code]</li>
+	 * </ul>
+	 * <p>Result codes are the ordinals of {@link model.GameEngine.InputResult}.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Opcodes of the requests
+	public static final byte NEW_GAME = 0x01;
+	public static final byte SUBMIT = 0x02;
+	public static final byte CLOSE = 0x03;
+
+	//Opcodes of the responses
+	public static final byte CREATED = 0x41;
+	public static final byte RESULT = 0x42;
+	public static final byte CLOSED = 0x43;
+	public static final byte ERROR = 0x7F;
+
+	//Difficulty codes used in NEW_GAME
+	public static final int EASY = 0;
+	public static final int MEDIUM = 1;
+	public static final int HARD = 2;
+	public static final int EXPERT = 3;
+
+	//Error codes
+	public static final int UNKNOWN_SESSION = 1;
+	public static final int BAD_REQUEST = 2;
+	public static final int TOO_MANY_SESSIONS = 3;
+
+	//Size of the length field in front of every frame
+	public static final int LENGTH_FIELD = 2;
+	public static final int MAX_FRAME = 0xFFFF;
+	public static final int MAX_NAME_LENGTH = 64;
+
+	private Protocol() {
+	}
+
+	/**
+	 * <p>Static method which maps a difficulty code of the protocol to one of the
+	 * difficulty constants of {@link MemoryGameController}.</p>
+	 *
+	 * @param code difficulty code.
+	 * @return flash delay in milliseconds, or -1 if the code is unknown.
+	 */
+	public static int toDifficulty(int code) {
+		switch(code) {
+		case EASY:
+			return MemoryGameController.EASY_DIFFICULTY;
+		case MEDIUM:
+			return MemoryGameController.MEDIUM_DIFFICULTY;
+		case HARD:
+			return MemoryGameController.HARD_DIFFICULTY;
+		case EXPERT:
+			return MemoryGameController.EXPERT_DIFFICULTY;
+		default:
+			return -1;
+		}
+	}
+
+	/**
+	 * <p>Method writes a NEW_GAME request into the buffer.</p>
+	 *
+	 * @param out buffer to write into.
+	 * @param difficulty difficulty code.
+	 * @param seed seed of the game, or null if server should pick one.
+	 * @param name player's name.
+	 */
+	public static void writeNewGame(ByteBuffer out, int difficulty, Long seed, String name) {
+		byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		int nameLength = Math.min(nameBytes.length, MAX_NAME_LENGTH);
+		out.putShort((short) (1 + 1 + 1 + 8 + 1 + nameLength));
+		out.put(NEW_GAME);
+		out.put((byte) difficulty);
+		out.put((byte) (seed != null ? 1 : 0));
+		out.putLong(seed != null ? seed.longValue() : 0L);
+		out.put((byte) nameLength);
+		out.put(nameBytes, 0, nameLength);
+	}
+
+	/**
+	 * <p>Method writes a SUBMIT request into the buffer.</p>
+	 *
+	 * @param out buffer to write into.
+	 * @param session id of the session.
+	 * @param color an integer indicating a color.
+	 */
+	public static void writeSubmit(ByteBuffer out, int session, int color) {
+		out.putShort((short) (1 + 4 + 1));
+		out.put(SUBMIT);
+		out.putInt(session);
+		out.put((byte) color);
+	}
+
+	/**
+	 * <p>Method writes a CLOSE request into the buffer.</p>
+	 *
+	 * @param out buffer to write into.
+	 * @param session id of the session.
+	 */
+	public static void writeClose(ByteBuffer out, int session) {
+		out.putShort((short) (1 + 4));
+		out.put(CLOSE);
+		out.putInt(session);
+	}
+
+	/**
+	 * <p>Method writes a CREATED response into the buffer. Colors are packed 4 per byte.</p>
+	 *
+	 * @param out buffer to write into.
+	 * @param session id of the new session.
+	 * @param seed seed of the game.
+	 * @param level current level.
+	 * @param sequence colors of the current level.
+	 */
+	public static void writeCreated(ByteBuffer out, int session, long seed, int level, ColorSequence sequence) {
+		int colors = sequence.size();
+		int packedLength = (colors + 3) / 4;
+		out.putShort((short) (1 + 4 + 8 + 4 + 2 + packedLength));
+		out.put(CREATED);
+		out.putInt(session);
+		out.putLong(seed);
+		out.putInt(level);
+		out.putShort((short) colors);
+		for(int i = 0; i < packedLength; i++) {
+			int packed = 0;
+			for(int j = 0; j < 4 && i * 4 + j < colors; j++) {
+				packed |= sequence.get(i * 4 + j) << (j * 2);
+			}
+			out.put((byte) packed);
+		}
+	}
+
+	/**
+	 * <p>Method reads the packed colors of a CREATED response and appends them to the
+	 * sequence.</p>
+	 *
+	 * @param in buffer positioned at the u16 color count.
+	 * @param sequence where the colors are appended.
+	 */
+	public static void readColors(ByteBuffer in, ColorSequence sequence) {
+		int colors = in.getShort() & 0xFFFF;
+		int packed = 0;
+		for(int i = 0; i < colors; i++) {
+			if((i & 3) == 0) {
+				packed = in.get() & 0xFF;
+			}
+			sequence.append((packed >>> ((i & 3) * 2)) & 3);
+		}
+	}
+
+	/**
+	 * <p>Method writes a RESULT response into the buffer.</p>
+	 *
+	 * @param out buffer to write into.
+	 * @param session id of the session.
+	 * @param result ordinal of the input result.
+	 * @param score current score of the player.
+	 * @param level current level.
+	 * @param newColor color added to the sequence, or -1 if the level was not completed.
+	 */
+	public static void writeResult(ByteBuffer out, int session, int result, int score, int level, int newColor) {
+		out.putShort((short) (1 + 4 + 1 + 4 + 4 + (newColor >= 0 ? 1 : 0)));
+		out.put(RESULT);
+		out.putInt(session);
+		out.put((byte) result);
+		out.putInt(score);
+		out.putInt(level);
+		if(newColor >= 0) {
+			out.put((byte) newColor);
+		}
+	}
+
+	/**
+	 * <p>Method writes a CLOSED response into the buffer.</p>
+	 *
+	 * @param out buffer to write into.
+	 * @param session id of the session.
+	 * @param score final score of the player.
+	 * @param level final level.
+	 */
+	public static void writeClosed(ByteBuffer out, int session, int score, int level) {
+		out.putShort((short) (1 + 4 + 4 + 4));
+		out.put(CLOSED);
+		out.putInt(session);
+		out.putInt(score);
+		out.putInt(level);
+	}
+
+	/**
+	 * <p>Method writes an ERROR response into the buffer.</p>
+	 *
+	 * @param out buffer to write into.
+	 * @param session id of the session the error is about.
+	 * @param code error code.
+	 */
+	public static void writeError(ByteBuffer out, int session, int code) {
+		out.putShort((short) (1 + 4 + 1));
+		out.put(ERROR);
+		out.putInt(session);
+		out.put((byte) code);
+	}
+}
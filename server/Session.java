@@ -0,0 +1,135 @@
+package server;
+
+import model.ColorSequence;
+import model.Game;
+import model.GameEngine;
+import model.GameEngine.InputResult;
+import model.GameState;
+import model.Player;
+
+public class Session {
+
+	/**
+	 * <p>One game hosted by the {@link TournamentServer}. Every session has its own
+	 * {@link Player}, {@link Game} and {@link GameEngine}, so sessions are independent
+	 * of each other and of the desktop game, but the scoring rules are the same.</p>
+	 * <p>A session is owned by one {@link EventLoop} and it is only touched by the
+	 * thread of that loop.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Instance variables
+	private final int id;
+	private final EventLoop.Connection owner;
+	private final Game game;
+	private final GameEngine engine;
+
+	/**
+	 * <p>Constructor method creates a new game and plays back its first sequence, i.e.
+	 * the session is waiting for input when the constructor returns.</p>
+	 *
+	 * @param id of the session.
+	 * @param owner connection which plays the session.
+	 * @param playerName name of the player.
+	 * @param difficulty one of the difficulty constants of the controller.
+	 * @param seed defines the color sequence of the game.
+	 */
+	Session(int id, EventLoop.Connection owner, String playerName, int difficulty, long seed) {
+		this.id = id;
+		this.owner = owner;
+		this.game = new Game(new Player(playerName), difficulty, seed);
+		this.engine = new GameEngine(this.game);
+		playBack();
+	}
+
+	/**
+	 * <p>Method passes the color pressed by the player to the engine. When the level is
+	 * completed, the sequence of the next level is played back right away, the client
+	 * receives the new color in the response.</p>
+	 *
+	 * @param color an integer indicating a color.
+	 * @return result of the input.
+	 */
+	public InputResult submit(int color) {
+		InputResult result = this.engine.submit(color);
+		if(result == InputResult.LEVEL_COMPLETE) {
+			playBack();
+		}
+		return result;
+	}
+
+	/**
+	 * <p>Private method which runs the playback of the current level. There is nobody to
+	 * watch it on the server, so it finishes at once.</p>
+	 */
+	private void playBack() {
+		this.engine.startPlayback();
+		while(this.engine.getState() == GameState.PLAYBACK) {
+			this.engine.nextPlaybackColor();
+		}
+	}
+
+	/**
+	 * <p>Accessor method which returns the id of the session.</p>
+	 *
+	 * @return id.
+	 */
+	public int getId() {
+		return this.id;
+	}
+
+	/**
+	 * <p>Method returns true if the session is played on the connection.</p>
+	 *
+	 * @param connection a connection of the loop.
+	 * @return true if the connection owns the session.
+	 */
+	boolean isOwnedBy(EventLoop.Connection connection) {
+		return this.owner == connection;
+	}
+
+	/**
+	 * <p>Accessor method which returns the game of the session.</p>
+	 *
+	 * @return game.
+	 */
+	public Game getGame() {
+		return this.game;
+	}
+
+	/**
+	 * <p>Accessor method which returns the color sequence of the current level.</p>
+	 *
+	 * @return color sequence.
+	 */
+	public ColorSequence getColorSequence() {
+		return this.game.getStage().getColorSequence();
+	}
+
+	/**
+	 * <p>Accessor method which returns the current score of the player.</p>
+	 *
+	 * @return score.
+	 */
+	public int getScore() {
+		return this.game.getPlayer().getCurrentScore();
+	}
+
+	/**
+	 * <p>Accessor method which returns the current level of the game.</p>
+	 *
+	 * @return level number.
+	 */
+	public int getLevel() {
+		return this.game.getStage().getLevelNumber();
+	}
+
+	/**
+	 * <p>Method returns true if the game of this session is over.</p>
+	 *
+	 * @return true if game is over.
+	 */
+	public boolean isOver() {
+		return this.engine.getState() == GameState.GAME_OVER;
+	}
+}
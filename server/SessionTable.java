@@ -0,0 +1,145 @@
+package server;
+
+public class SessionTable {
+
+	/**
+	 * <p>Hash table which maps session ids to {@link Session} objects. It uses open
+	 * addressing with linear probing on int keys, so lookups don't box the id. Removal
+	 * shifts the following entries back, so no tombstones are left behind.</p>
+	 * <p>Table is not thread safe, every {@link EventLoop} has its own table.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final int MIN_CAPACITY = 16;
+
+	//Instance variables
+	private int[] keys;
+	private Session[] values;
+	private int size;
+	private int mask;
+
+	/**
+	 * <p>Constructor method creates an empty table.</p>
+	 */
+	public SessionTable() {
+		this.keys = new int[MIN_CAPACITY];
+		this.values = new Session[MIN_CAPACITY];
+		this.mask = MIN_CAPACITY - 1;
+		this.size = 0;
+	}
+
+	/**
+	 * <p>Method returns the session with the given id.</p>
+	 *
+	 * @param id of the session.
+	 * @return the session or null if there is no session with this id.
+	 */
+	public Session get(int id) {
+		for(int i = slot(id); this.values[i] != null; i = (i + 1) & this.mask) {
+			if(this.keys[i] == id) {
+				return this.values[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * <p>Method adds a session to the table. A session with the same id is never
+	 * replaced.</p>
+	 *
+	 * @param session to add.
+	 * @return false if the id is in use, and the session was not added.
+	 */
+	public boolean put(Session session) {
+		if((this.size + 1) * 2 > this.keys.length) {
+			resize(this.keys.length * 2);
+		}
+		int id = session.getId();
+		int i = slot(id);
+		while(this.values[i] != null) {
+			if(this.keys[i] == id) {
+				return false;
+			}
+			i = (i + 1) & this.mask;
+		}
+		this.keys[i] = id;
+		this.values[i] = session;
+		this.size++;
+		return true;
+	}
+
+	/**
+	 * <p>Method removes the session with the given id.</p>
+	 *
+	 * @param id of the session.
+	 * @return the removed session or null if there was no session with this id.
+	 */
+	public Session remove(int id) {
+		int i = slot(id);
+		while(this.values[i] != null && this.keys[i] != id) {
+			i = (i + 1) & this.mask;
+		}
+		Session removed = this.values[i];
+		if(removed == null) {
+			return null;
+		}
+		this.values[i] = null;
+		this.size--;
+
+		//Shift back the entries which were displaced by the removed one
+		int gap = i;
+		for(int j = (i + 1) & this.mask; this.values[j] != null; j = (j + 1) & this.mask) {
+			int home = slot(this.keys[j]);
+			if(((j - home) & this.mask) >= ((j - gap) & this.mask)) {
+				this.keys[gap] = this.keys[j];
+				this.values[gap] = this.values[j];
+				this.values[j] = null;
+				gap = j;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * <p>Accessor method which returns the number of sessions in the table.</p>
+	 *
+	 * @return size.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * <p>Private method which returns the home slot of an id.</p>
+	 *
+	 * @param id of a session.
+	 * @return index in the arrays.
+	 */
+	private int slot(int id) {
+		int h = id * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & this.mask;
+	}
+
+	/**
+	 * <p>Private method which copies every entry into new arrays with the given capacity.</p>
+	 *
+	 * @param capacity new capacity, a power of 2.
+	 */
+	private void resize(int capacity) {
+		int[] oldKeys = this.keys;
+		Session[] oldValues = this.values;
+		this.keys = new int[capacity];
+		this.values = new Session[capacity];
+		this.mask = capacity - 1;
+		for(int i = 0; i < oldValues.length; i++) {
+			if(oldValues[i] != null) {
+				int j = slot(oldKeys[i]);
+				while(this.values[j] != null) {
+					j = (j + 1) & this.mask;
+				}
+				this.keys[j] = oldKeys[i];
+				this.values[j] = oldValues[i];
+			}
+		}
+	}
+}
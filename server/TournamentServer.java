@@ -0,0 +1,155 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+public class TournamentServer {
+
+	/**
+	 * <p>Server which hosts many independent Simon games in one process. Clients connect
+	 * over loopback TCP and speak the binary {@link Protocol}. An acceptor thread hands
+	 * every new connection to one of a few {@link EventLoop}s in round robin; every loop
+	 * multiplexes thousands of connections with one selector.</p>
+	 * <p>Usage: java server.TournamentServer [port] [event loops]</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final int DEFAULT_PORT = 7070;
+	private static final int BACKLOG = 4096;
+
+	//Instance variables
+	private final EventLoop[] loops;
+	private final Thread[] loopThreads;
+	private final ServerSocketChannel serverChannel;
+	private Thread acceptorThread;
+
+	/**
+	 * <p>Constructor method creates an instance of this class and binds the server socket
+	 * to the loopback address.</p>
+	 *
+	 * @param port TCP port, 0 picks a free port.
+	 * @param loopCount number of event loop threads.
+	 * @throws IOException if the socket cannot be bound.
+	 */
+	public TournamentServer(int port, int loopCount) throws IOException {
+		if(loopCount < 1 || loopCount > 255) {
+			throw new IllegalArgumentException("Number of event loops must be between 1 and 255: " + loopCount);
+		}
+		this.loops = new EventLoop[loopCount];
+		this.loopThreads = new Thread[loopCount];
+		for(int i = 0; i < loopCount; i++) {
+			this.loops[i] = new EventLoop(i);
+		}
+		this.serverChannel = ServerSocketChannel.open();
+		this.serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+		this.serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+	}
+
+	/**
+	 * <p>Method starts the event loop threads and the acceptor thread.</p>
+	 */
+	public void start() {
+		for(int i = 0; i < this.loops.length; i++) {
+			this.loopThreads[i] = new Thread(this.loops[i], "simon-event-loop-" + i);
+			this.loopThreads[i].start();
+		}
+		this.acceptorThread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				int next = 0;
+				while(serverChannel.isOpen()) {
+					try {
+						SocketChannel channel = serverChannel.accept();
+						channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+						loops[next].register(channel);
+						next = (next + 1) % loops.length;
+					} catch(ClosedChannelException ccx) {
+						return;
+					} catch(IOException iox) {
+						System.out.println(iox.getMessage());
+					}
+				}
+			}
+		}, "simon-acceptor");
+		this.acceptorThread.start();
+	}
+
+	/**
+	 * <p>Method stops accepting connections, stops the event loops and waits for them.</p>
+	 *
+	 * @throws InterruptedException if the calling thread is interrupted while waiting.
+	 */
+	public void stop() throws InterruptedException {
+		try {
+			this.serverChannel.close();
+		} catch(IOException iox) {
+			System.out.println(iox.getMessage());
+		}
+		for(EventLoop loop : this.loops) {
+			loop.shutdown();
+		}
+		for(Thread thread : this.loopThreads) {
+			if(thread != null) {
+				thread.join();
+			}
+		}
+		if(this.acceptorThread != null) {
+			this.acceptorThread.join();
+		}
+	}
+
+	/**
+	 * <p>Accessor method which returns the port the server is listening on.</p>
+	 *
+	 * @return port number.
+	 * @throws IOException if the port cannot be queried.
+	 */
+	public int getPort() throws IOException {
+		return ((InetSocketAddress) this.serverChannel.getLocalAddress()).getPort();
+	}
+
+	/**
+	 * <p>Method returns the number of sessions hosted by all event loops.</p>
+	 *
+	 * @return number of sessions.
+	 */
+	public int getSessionCount() {
+		int count = 0;
+		for(EventLoop loop : this.loops) {
+			count += loop.getSessionCount();
+		}
+		return count;
+	}
+
+	public static void main(String[] args) throws Exception {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		int loops = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+		final TournamentServer server = new TournamentServer(port, loops);
+		server.start();
+		System.out.println("Tournament server listening on port " + server.getPort() + " with " + loops + " event loops");
+
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					server.stop();
+				} catch(InterruptedException ix) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}));
+
+		while(true) {
+			Thread.sleep(5000);
+			System.out.println("Sessions: " + server.getSessionCount());
+		}
+	}
+}
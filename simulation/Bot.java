@@ -0,0 +1,79 @@
+package simulation;
+
+import model.ColorSequence;
+import model.Game;
+import model.GameEngine;
+import model.GameEngine.InputResult;
+import model.GameState;
+import model.Player;
+import model.SeededSequenceSource;
+
+public class Bot {
+
+	/**
+	 * <p>Simulated player which plays games through the {@link GameEngine}, so the levels
+	 * and scores follow the same rules as the desktop game. Whether the bot presses a
+	 * wrong button is decided by its {@link ErrorModel} and a counter based random
+	 * number, so the outcome of a game only depends on the seed of the game.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Used to derive the random numbers of the bot from the seed of the game
+	private static final long BOT_STREAM = 0x5DEECE66DL;
+	private static final double TO_UNIT = 1.0 / (1L << 53);
+
+	//Instance variables
+	private final ErrorModel errorModel;
+	private final int maxLevel;
+	private final Player player;
+
+	/**
+	 * <p>Constructor method creates an instance of this class.</p>
+	 *
+	 * @param errorModel decides the probability of a wrong button.
+	 * @param maxLevel games are stopped at this level, so a perfect bot doesn't play forever.
+	 */
+	public Bot(ErrorModel errorModel, int maxLevel) {
+		this.errorModel = errorModel;
+		this.maxLevel = maxLevel;
+		this.player = new Player("bot");
+	}
+
+	/**
+	 * <p>Method plays one game and records its final level and score in the result.</p>
+	 *
+	 * @param difficulty one of the difficulty constants of the controller.
+	 * @param seed defines the color sequence of the game and the mistakes of the bot.
+	 * @param result where the outcome of the game is recorded.
+	 */
+	public void play(int difficulty, long seed, SimulationResult result) {
+		this.player.setCurrentScore(0);
+		Game game = new Game(this.player, difficulty, seed);
+		GameEngine engine = new GameEngine(game);
+		long botState = SeededSequenceSource.mix64(seed ^ BOT_STREAM);
+		long counter = 0;
+
+		while(engine.getState() != GameState.GAME_OVER && game.getStage().getLevelNumber() < this.maxLevel) {
+			engine.startPlayback();
+			while(engine.getState() == GameState.PLAYBACK) {
+				engine.nextPlaybackColor();
+			}
+			ColorSequence sequence = game.getStage().getColorSequence();
+			int length = sequence.size();
+			for(int position = 0; position < length; position++) {
+				long random = SeededSequenceSource.mix64(botState + (++counter) * 0x9E3779B97F4A7C15L);
+				double roll = (random >>> 11) * TO_UNIT;
+				int color = sequence.get(position);
+				if(roll < this.errorModel.errorProbability(position, length, difficulty)) {
+					//Any of the three other buttons
+					color = (color + 1 + (int) ((random & 0xFFFF) % 3)) & 3;
+				}
+				InputResult inputResult = engine.submit(color);
+				if(inputResult == InputResult.WRONG || inputResult == InputResult.LEVEL_COMPLETE) {
+					break;
+				}
+			}
+		}
+		result.record(game.getStage().getLevelNumber(), this.player.getCurrentScore());
+	}
+}
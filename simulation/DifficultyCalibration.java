@@ -0,0 +1,67 @@
+package simulation;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+
+import controller.MemoryGameController;
+
+public class DifficultyCalibration {
+
+	/**
+	 * <p>Simulation mode used to tune the difficulty constants of
+	 * {@link MemoryGameController}. It plays the given number of games with bots at
+	 * every difficulty on a {@link ForkJoinPool}, prints the level histogram of every
+	 * difficulty and writes the level and score distributions to a CSV file.</p>
+	 * <p>Usage: java simulation.DifficultyCalibration [games] [seed] [threads] [memory span]
+	 * [base error] [error per position] [over span error] [speed exponent] [csv file]</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final int MAX_LEVEL = 200;
+
+	public static void main(String[] args) throws FileNotFoundException {
+		long games = args.length > 0 ? Long.parseLong(args[0]) : 1000000;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 20151127L;
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		int memorySpan = args.length > 3 ? Integer.parseInt(args[3]) : 9;
+		double baseError = args.length > 4 ? Double.parseDouble(args[4]) : 0.005;
+		double errorPerPosition = args.length > 5 ? Double.parseDouble(args[5]) : 0.002;
+		double overSpanError = args.length > 6 ? Double.parseDouble(args[6]) : 0.15;
+		double speedExponent = args.length > 7 ? Double.parseDouble(args[7]) : 1.0;
+		String csvFile = args.length > 8 ? args[8] : "difficulty-calibration.csv";
+
+		ErrorModel errorModel = new SpanErrorModel(memorySpan, baseError, errorPerPosition, overSpanError, speedExponent);
+		int[] difficulties = new int[] {
+				MemoryGameController.EASY_DIFFICULTY,
+				MemoryGameController.MEDIUM_DIFFICULTY,
+				MemoryGameController.HARD_DIFFICULTY,
+				MemoryGameController.EXPERT_DIFFICULTY
+		};
+
+		System.out.println("Simulating " + games + " games per difficulty on " + threads + " threads, seed " + seed);
+		System.out.println("Error model: " + errorModel);
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		PrintStream csv = new PrintStream(csvFile);
+		csv.println("difficulty,kind,value,games");
+		try {
+			for(int difficulty : difficulties) {
+				long start = System.nanoTime();
+				SimulationResult result = pool.invoke(new SimulationTask(difficulty, seed, 0, games, errorModel, MAX_LEVEL));
+				double seconds = (System.nanoTime() - start) / 1e9;
+
+				System.out.printf("%nDifficulty %d ms: %d games in %.2f s (%.0f games/s)%n", difficulty, result.getGames(), seconds, result.getGames() / seconds);
+				System.out.printf("  average level %.2f, average score %.2f, median level %d, p90 level %d, p99 level %d%n",
+						result.getAverageLevel(), result.getAverageScore(), result.getLevelAtPercentile(50),
+						result.getLevelAtPercentile(90), result.getLevelAtPercentile(99));
+				result.printLevelHistogram(System.out, 60);
+				result.writeCsv(csv, difficulty);
+			}
+		} finally {
+			csv.close();
+			pool.shutdown();
+		}
+		System.out.println("\nDistributions written to " + csvFile);
+	}
+}
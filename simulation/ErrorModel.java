@@ -0,0 +1,18 @@
+package simulation;
+
+public interface ErrorModel {
+
+	/**
+	 * <p>Error model of a simulated player. It returns the probability that the bot
+	 * presses a wrong button at a position of the sequence.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	/**
+	 * @param position index of the color the bot has to press, starting from 0.
+	 * @param sequenceLength number of colors in the sequence of the level.
+	 * @param difficulty flash delay of the game in milliseconds.
+	 * @return probability of an error in the range of 0-1.
+	 */
+	public double errorProbability(int position, int sequenceLength, int difficulty);
+}
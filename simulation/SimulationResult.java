@@ -0,0 +1,154 @@
+package simulation;
+
+import java.io.PrintStream;
+
+public class SimulationResult {
+
+	/**
+	 * <p>Level and score distributions of simulated games. Levels are counted one by
+	 * one, scores in buckets of SCORE_BUCKET points. Results of different tasks are
+	 * merged with add(), which is independent of the order, so the merged result
+	 * doesn't depend on how the work was split between threads.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final int SCORE_BUCKET = 10;
+
+	//Instance variables
+	private final long[] levels;
+	private final long[] scores;
+	private long games;
+	private long totalLevels;
+	private long totalScore;
+
+	/**
+	 * <p>Constructor method creates an empty result.</p>
+	 *
+	 * @param maxLevel highest level a game can reach.
+	 */
+	public SimulationResult(int maxLevel) {
+		this.levels = new long[maxLevel + 1];
+		//Score at level n is at most 2 + 3 + ... + (n + 1)
+		this.scores = new long[(maxLevel * (maxLevel + 3) / 2) / SCORE_BUCKET + 1];
+	}
+
+	/**
+	 * <p>Method records the outcome of one game.</p>
+	 *
+	 * @param level final level.
+	 * @param score final score.
+	 */
+	public void record(int level, int score) {
+		this.levels[Math.min(level, this.levels.length - 1)]++;
+		this.scores[Math.min(score / SCORE_BUCKET, this.scores.length - 1)]++;
+		this.games++;
+		this.totalLevels += level;
+		this.totalScore += score;
+	}
+
+	/**
+	 * <p>Method adds every game of the other result to this one.</p>
+	 *
+	 * @param other result to add.
+	 */
+	public void add(SimulationResult other) {
+		for(int i = 0; i < this.levels.length; i++) {
+			this.levels[i] += other.levels[i];
+		}
+		for(int i = 0; i < this.scores.length; i++) {
+			this.scores[i] += other.scores[i];
+		}
+		this.games += other.games;
+		this.totalLevels += other.totalLevels;
+		this.totalScore += other.totalScore;
+	}
+
+	/**
+	 * <p>Accessor method which returns the number of games.</p>
+	 *
+	 * @return number of games.
+	 */
+	public long getGames() {
+		return this.games;
+	}
+
+	/**
+	 * <p>Method returns the average final level.</p>
+	 *
+	 * @return average level.
+	 */
+	public double getAverageLevel() {
+		return this.games == 0 ? 0 : (double) this.totalLevels / this.games;
+	}
+
+	/**
+	 * <p>Method returns the average final score.</p>
+	 *
+	 * @return average score.
+	 */
+	public double getAverageScore() {
+		return this.games == 0 ? 0 : (double) this.totalScore / this.games;
+	}
+
+	/**
+	 * <p>Method returns the level below or at which the given percentage of games ended.</p>
+	 *
+	 * @param percentile eg. 50.0
+	 * @return level.
+	 */
+	public int getLevelAtPercentile(double percentile) {
+		long rank = (long) Math.ceil(this.games * percentile / 100.0);
+		long seen = 0;
+		for(int i = 0; i < this.levels.length; i++) {
+			seen += this.levels[i];
+			if(seen >= rank && seen > 0) {
+				return i;
+			}
+		}
+		return this.levels.length - 1;
+	}
+
+	/**
+	 * <p>Method prints the level distribution as a text histogram.</p>
+	 *
+	 * @param out stream to print to.
+	 * @param width number of characters of the longest bar.
+	 */
+	public void printLevelHistogram(PrintStream out, int width) {
+		long max = 1;
+		int last = 0;
+		for(int i = 0; i < this.levels.length; i++) {
+			max = Math.max(max, this.levels[i]);
+			if(this.levels[i] > 0) {
+				last = i;
+			}
+		}
+		for(int i = 1; i <= last; i++) {
+			StringBuilder bar = new StringBuilder();
+			for(long b = this.levels[i] * width / max; b > 0; b--) {
+				bar.append('#');
+			}
+			out.printf("  level %4d %10d %s%n", i, this.levels[i], bar);
+		}
+	}
+
+	/**
+	 * <p>Method prints the distributions as CSV rows: difficulty,kind,value,games. For
+	 * scores the value is the lower bound of the bucket.</p>
+	 *
+	 * @param out stream to print to.
+	 * @param difficulty difficulty of the games, first column of every row.
+	 */
+	public void writeCsv(PrintStream out, int difficulty) {
+		for(int i = 0; i < this.levels.length; i++) {
+			if(this.levels[i] > 0) {
+				out.println(difficulty + ",level," + i + "," + this.levels[i]);
+			}
+		}
+		for(int i = 0; i < this.scores.length; i++) {
+			if(this.scores[i] > 0) {
+				out.println(difficulty + ",score," + (i * SCORE_BUCKET) + "," + this.scores[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package simulation;
+
+import java.util.concurrent.RecursiveTask;
+
+import model.SeededSequenceSource;
+
+@SuppressWarnings("serial")
+public class SimulationTask extends RecursiveTask<SimulationResult> {
+
+	/**
+	 * <p>Fork-join task which simulates the games with index [from, to). Ranges larger
+	 * than THRESHOLD games are split in half. The seed of game i is derived from the
+	 * master seed and i only, so every game has the same outcome no matter which
+	 * thread plays it, and the merged result is the same for any number of threads.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	private static final long THRESHOLD = 2048;
+
+	//Instance variables
+	private final int difficulty;
+	private final long masterSeed;
+	private final long from;
+	private final long to;
+	private final ErrorModel errorModel;
+	private final int maxLevel;
+
+	/**
+	 * <p>Constructor method creates an instance of this class.</p>
+	 *
+	 * @param difficulty one of the difficulty constants of the controller.
+	 * @param masterSeed seed of the whole simulation.
+	 * @param from index of the first game.
+	 * @param to index after the last game.
+	 * @param errorModel error model of the bots.
+	 * @param maxLevel level at which games are stopped.
+	 */
+	public SimulationTask(int difficulty, long masterSeed, long from, long to, ErrorModel errorModel, int maxLevel) {
+		this.difficulty = difficulty;
+		this.masterSeed = masterSeed;
+		this.from = from;
+		this.to = to;
+		this.errorModel = errorModel;
+		this.maxLevel = maxLevel;
+	}
+
+	/**
+	 * <p>Method plays the games of the range, or splits the range into two subtasks.</p>
+	 */
+	@Override
+	protected SimulationResult compute() {
+		if(this.to - this.from <= THRESHOLD) {
+			SimulationResult result = new SimulationResult(this.maxLevel);
+			Bot bot = new Bot(this.errorModel, this.maxLevel);
+			for(long i = this.from; i < this.to; i++) {
+				bot.play(this.difficulty, gameSeed(this.masterSeed, this.difficulty, i), result);
+			}
+			return result;
+		}
+		long middle = this.from + (this.to - this.from) / 2;
+		SimulationTask left = new SimulationTask(this.difficulty, this.masterSeed, this.from, middle, this.errorModel, this.maxLevel);
+		SimulationTask right = new SimulationTask(this.difficulty, this.masterSeed, middle, this.to, this.errorModel, this.maxLevel);
+		left.fork();
+		SimulationResult result = right.compute();
+		result.add(left.join());
+		return result;
+	}
+
+	/**
+	 * <p>Static method which returns the seed of a game.</p>
+	 *
+	 * @param masterSeed seed of the simulation.
+	 * @param difficulty difficulty of the game.
+	 * @param index index of the game.
+	 * @return seed of the game.
+	 */
+	public static long gameSeed(long masterSeed, int difficulty, long index) {
+		return SeededSequenceSource.mix64(SeededSequenceSource.mix64(masterSeed ^ difficulty) + index);
+	}
+}
@@ -0,0 +1,63 @@
+package simulation;
+
+import controller.MemoryGameController;
+
+public class SpanErrorModel implements ErrorModel {
+
+	/**
+	 * <p>Default {@link ErrorModel}. A player remembers a sequence of memorySpan colors
+	 * well, every color has a small base error which grows with the position. Positions
+	 * beyond the memory span have a much higher error. Faster flashing makes every
+	 * error more likely: the base error is scaled by (EASY_DIFFICULTY / difficulty) on
+	 * the power of speedExponent.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Instance variables
+	private final int memorySpan;
+	private final double baseError;
+	private final double errorPerPosition;
+	private final double overSpanError;
+	private final double speedExponent;
+
+	/**
+	 * <p>Constructor method creates an instance of this class.</p>
+	 *
+	 * @param memorySpan number of colors the player remembers reliably.
+	 * @param baseError error probability of the first color at easy difficulty.
+	 * @param errorPerPosition error probability added by every position.
+	 * @param overSpanError error probability of a position beyond the memory span.
+	 * @param speedExponent how strongly faster flashing increases the errors.
+	 */
+	public SpanErrorModel(int memorySpan, double baseError, double errorPerPosition, double overSpanError, double speedExponent) {
+		this.memorySpan = memorySpan;
+		this.baseError = baseError;
+		this.errorPerPosition = errorPerPosition;
+		this.overSpanError = overSpanError;
+		this.speedExponent = speedExponent;
+	}
+
+	/**
+	 * <p>Method implements {@link ErrorModel}.errorProbability method.</p>
+	 */
+	@Override
+	public double errorProbability(int position, int sequenceLength, int difficulty) {
+		double speedFactor = Math.pow((double) MemoryGameController.EASY_DIFFICULTY / difficulty, this.speedExponent);
+		double p = (this.baseError + this.errorPerPosition * position) * speedFactor;
+		if(position >= this.memorySpan) {
+			p = Math.max(p, this.overSpanError * speedFactor);
+		}
+		return Math.min(1.0, p);
+	}
+
+	/**
+	 * <p>Override {@link Object}.toString() method.</p>
+	 *
+	 * @return the parameters of the model.
+	 */
+	@Override
+	public String toString() {
+		return "span=" + this.memorySpan + " base=" + this.baseError + " perPosition=" + this.errorPerPosition
+				+ " overSpan=" + this.overSpanError + " speedExponent=" + this.speedExponent;
+	}
+}
@@ -0,0 +1,116 @@
+package view;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+
+public class HitTestVerifier {
+
+	/**
+	 * <p>Checks that the {@link PolarHitTester} of a {@link ButtonGeometry} finds the
+	 * button which is painted under every pixel. The board is rendered by
+	 * {@link ButtonSprites}, every button in its own color, at several panel sizes and
+	 * button counts, and {@link ButtonGeometry#buttonAt(Point)} is called for every pixel
+	 * of the panel.</p>
+	 * <p>The rasterizer and the Bezier curves of the Area may put an edge pixel on either
+	 * side, so a pixel also agrees when the hit tester returns the painted button less
+	 * than EDGE_TOLERANCE pixels away from it. Any other difference is a failure, and the
+	 * program exits with status 1.</p>
+	 * <p>Usage: java view.HitTestVerifier</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Panel sizes: the default frame, small, square, tall and large screens
+	private static final int[][] SIZES = {{800, 600}, {400, 300}, {640, 480}, {700, 700}, {900, 500},
+			{600, 900}, {1280, 1024}, {1920, 1080}};
+	private static final int[] BUTTON_COUNTS = {ButtonGeometry.BUTTON_COUNT, 3, 5, 8};
+	private static final double EDGE_TOLERANCE = 0.5;
+
+	public static void main(String[] args) {
+		int failures = 0;
+		for(int[] size : SIZES) {
+			for(int buttonCount : BUTTON_COUNTS) {
+				failures += verify(size[0], size[1], buttonCount);
+			}
+		}
+		System.out.println(failures == 0 ? "Hit testing agrees with the painted board." : failures + " pixel(s) disagree.");
+		System.exit(failures == 0 ? 0 : 1);
+	}
+
+	/**
+	 * <p>Private method which compares the painted board and the hit tester for one panel
+	 * size, and returns the number of pixels which disagree.</p>
+	 */
+	private static int verify(int width, int height, int buttonCount) {
+		ButtonGeometry geometry = new ButtonGeometry(width, height, buttonCount);
+		int[] painted = paint(geometry, width, height);
+		PolarHitTester hitTester = geometry.getHitTester();
+		int failures = 0;
+		int edges = 0;
+		Point point = new Point();
+		for(int y = 0; y < height; y++) {
+			for(int x = 0; x < width; x++) {
+				int button = painted[y * width + x];
+				point.setLocation(x, y);
+				if(geometry.buttonAt(point) == button) {
+					continue;
+				}
+				if(isNear(hitTester, x, y, button)) {
+					edges++;
+					continue;
+				}
+				if(failures < 10) {
+					System.out.println(width + "x" + height + ", " + buttonCount + " buttons: pixel (" + x + ", " + y
+							+ ") is painted as " + button + " but hit as " + geometry.buttonAt(point));
+				}
+				failures++;
+			}
+		}
+		if(failures > 0) {
+			System.out.println(width + "x" + height + ", " + buttonCount + " buttons: " + failures + " failure(s), "
+					+ edges + " edge pixel(s)");
+		}
+		return failures;
+	}
+
+	/**
+	 * <p>Private method which renders the board and returns the button painted on every
+	 * pixel, or -1 for the black pixels.</p>
+	 */
+	private static int[] paint(ButtonGeometry geometry, int width, int height) {
+		//Color i + 1 marks button i, black is no button
+		Color[] colors = new Color[geometry.getButtonCount()];
+		for(int i = 0; i < colors.length; i++) {
+			colors[i] = new Color(i + 1);
+		}
+		ButtonSprites sprites = new ButtonSprites(geometry, colors, Color.WHITE, null);
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2d = image.createGraphics();
+		g2d.setColor(Color.BLACK);
+		g2d.fillRect(0, 0, width, height);
+		sprites.paintBoard(g2d);
+		g2d.dispose();
+
+		int[] painted = image.getRGB(0, 0, width, height, null, 0, width);
+		for(int i = 0; i < painted.length; i++) {
+			painted[i] = (painted[i] & 0xFFFFFF) - 1;
+		}
+		return painted;
+	}
+
+	/**
+	 * <p>Private method which returns true if the hit tester finds the button within
+	 * EDGE_TOLERANCE pixels of the point.</p>
+	 */
+	private static boolean isNear(PolarHitTester hitTester, int x, int y, int button) {
+		for(int dy = -1; dy <= 1; dy++) {
+			for(int dx = -1; dx <= 1; dx++) {
+				if(hitTester.segmentAt(x + dx * EDGE_TOLERANCE, y + dy * EDGE_TOLERANCE) == button) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,293 @@
+package view;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.DisplayMode;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import monitoring.GameMetrics;
+import monitoring.PanelMetrics;
+
+public class ActiveRenderer extends Canvas {
+
+	/**
+	 * <p>Optional rendering mode of the {@link GamePanel} for large displays, turned on
+	 * with -Dsimon.render=active. Instead of passive repaints, the board is drawn by a
+	 * render thread, "simon-render", into the BufferStrategy of this Canvas.</p>
+	 * <ul>
+	 * <li>Frames are drawn at fixed time steps of one display refresh period (60 Hz if the
+	 * refresh rate is unknown), at absolute deadlines. A frame which misses its deadline
+	 * is counted in simon_frames_late_total and the loop starts again from the current
+	 * time instead of catching up.</li>
+	 * <li>Flashes fade in and out: the opacity of the white sprite of a button is eased
+	 * from its current value to 0 or 1, evaluated at the time step of the frame.</li>
+	 * <li>The game panel still does its layout and text in paintComponent(), and hands the
+	 * result to publish(). The render thread only draws the last published scene.</li>
+	 * <li>When nothing is fading and nothing was published, the render thread is parked,
+	 * so an idle board uses no more CPU than in passive mode.</li>
+	 * </ul>
+	 * <p>The time spent drawing each frame is recorded as the paint metrics of "ActiveRenderer".</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final String MODE_PROPERTY = "simon.render";
+
+	private static final long FADE_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(25);
+	private static final long FADE_OUT_NANOS = TimeUnit.MILLISECONDS.toNanos(80);
+	private static final int DEFAULT_REFRESH_RATE = 60;
+
+	//Time spent drawing each frame
+	private static final PanelMetrics FRAME_METRICS = new PanelMetrics("ActiveRenderer");
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * <p>Everything the render thread draws apart from the flashes. A scene is never
+	 * modified after it is published.</p>
+	 */
+	public static class Scene {
+		private final ButtonSprites sprites;
+		private final Color background;
+		private final int width;
+		private final int height;
+		private final String[] texts;
+
+		/**
+		 * <p>Constructor method creates a scene.</p>
+		 *
+		 * @param sprites images of the board.
+		 * @param background color of the theme.
+		 * @param width width of the game panel.
+		 * @param height height of the game panel.
+		 * @param texts level, player, total points and high score.
+		 */
+		public Scene(ButtonSprites sprites, Color background, int width, int height, String[] texts) {
+			this.sprites = sprites;
+			this.background = background;
+			this.width = width;
+			this.height = height;
+			this.texts = texts;
+		}
+	}
+
+	/**
+	 * <p>Static method which returns true if the active rendering mode was requested.</p>
+	 *
+	 * @return true if -Dsimon.render=active is set.
+	 */
+	public static boolean isRequested() {
+		return "active".equals(System.getProperty(MODE_PROPERTY));
+	}
+
+	//Instance variables
+	private final float[] startAlphas;
+	private final boolean[] targets;
+	private final long[] changeNanos;
+	private volatile Scene scene;
+	private volatile boolean isDirty;
+	private volatile boolean isRunning;
+	private Thread renderThread;
+	//Texts are only painted by the render thread
+	private final TextCache.Label[] textLabels = TextCache.createLabels(4);
+
+	/**
+	 * <p>Constructor method creates the canvas.</p>
+	 *
+	 * @param buttons number of buttons.
+	 */
+	public ActiveRenderer(int buttons) {
+		this.startAlphas = new float[buttons];
+		this.targets = new boolean[buttons];
+		this.changeNanos = new long[buttons];
+		this.setIgnoreRepaint(true);
+	}
+
+	/**
+	 * <p>Method hands a new scene to the render thread, which draws it in the next frame.</p>
+	 *
+	 * @param scene the scene.
+	 */
+	public void publish(Scene scene) {
+		this.scene = scene;
+		requestFrame();
+	}
+
+	/**
+	 * <p>Method starts fading a button in or out from its current opacity.</p>
+	 *
+	 * @param button index of the button.
+	 * @param isFlashed true to fade the flash in, false to fade it out.
+	 */
+	public void setFlashed(int button, boolean isFlashed) {
+		long now = System.nanoTime();
+		synchronized(this.targets) {
+			this.startAlphas[button] = alphaAt(button, now);
+			this.targets[button] = isFlashed;
+			this.changeNanos[button] = now;
+		}
+		requestFrame();
+	}
+
+	/**
+	 * <p>Overridden method starts the render thread when the canvas is displayed.</p>
+	 */
+	@Override
+	public void addNotify() {
+		super.addNotify();
+		this.isRunning = true;
+		this.isDirty = true;
+		this.renderThread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				renderLoop();
+			}
+		}, "simon-render");
+		this.renderThread.setDaemon(true);
+		this.renderThread.start();
+	}
+
+	/**
+	 * <p>Overridden method stops the render thread before the canvas is removed.</p>
+	 */
+	@Override
+	public void removeNotify() {
+		this.isRunning = false;
+		LockSupport.unpark(this.renderThread);
+		try {
+			this.renderThread.join(1000);
+		} catch(InterruptedException ix) {
+			Thread.currentThread().interrupt();
+		}
+		super.removeNotify();
+	}
+
+	/**
+	 * <p>Private method which wakes the render thread up.</p>
+	 */
+	private void requestFrame() {
+		this.isDirty = true;
+		Thread thread = this.renderThread;
+		if(thread != null) {
+			LockSupport.unpark(thread);
+		}
+	}
+
+	/**
+	 * <p>Private method which is the loop of the render thread.</p>
+	 */
+	private void renderLoop() {
+		long period = TimeUnit.SECONDS.toNanos(1) / refreshRate();
+		long deadline = System.nanoTime();
+		BufferStrategy strategy = null;
+		while(this.isRunning) {
+			long now = System.nanoTime();
+			if(!this.isDirty && !isAnimating(now)) {
+				//Nothing to draw until the next publish() or setFlashed()
+				LockSupport.park(this);
+				deadline = System.nanoTime();
+				continue;
+			}
+			this.isDirty = false;
+			if(strategy == null) {
+				createBufferStrategy(2);
+				strategy = getBufferStrategy();
+			}
+			long frameStart = FRAME_METRICS.paintStarted();
+			render(strategy, deadline);
+			FRAME_METRICS.paintFinished(frameStart);
+
+			deadline += period;
+			long wait = deadline - System.nanoTime();
+			if(wait < 0) {
+				GameMetrics.FRAMES_LATE.increment();
+				deadline = System.nanoTime();
+			} else {
+				LockSupport.parkNanos(this, wait);
+			}
+		}
+	}
+
+	/**
+	 * <p>Private method which draws one frame. The flashes are drawn as they are at the
+	 * time step of the frame.</p>
+	 */
+	private void render(BufferStrategy strategy, long frameNanos) {
+		Scene scene = this.scene;
+		if(scene == null) {
+			return;
+		}
+		do {
+			do {
+				Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+				try {
+					g2d.setColor(scene.background);
+					g2d.fillRect(0, 0, getWidth(), getHeight());
+					//The scene is in the coordinates of the game panel, which has a border around this canvas
+					g2d.translate(-getX(), -getY());
+					scene.sprites.paintBoard(g2d);
+					for(int button = 0; button < this.targets.length; button++) {
+						float alpha;
+						synchronized(this.targets) {
+							alpha = alphaAt(button, frameNanos);
+						}
+						scene.sprites.paintFlashed(g2d, button, alpha);
+					}
+					GamePanel.paintTexts(g2d, scene.width, scene.height, scene.texts, this.textLabels);
+				} finally {
+					g2d.dispose();
+				}
+			} while(strategy.contentsRestored());
+			strategy.show();
+		} while(strategy.contentsLost());
+	}
+
+	/**
+	 * <p>Private method which returns true if a flash is still fading.</p>
+	 */
+	private boolean isAnimating(long now) {
+		synchronized(this.targets) {
+			for(int button = 0; button < this.targets.length; button++) {
+				if(now - this.changeNanos[button] < (this.targets[button] ? FADE_IN_NANOS : FADE_OUT_NANOS)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * <p>Private method which returns the opacity of a flash at a time, with an ease-out
+	 * curve. The caller holds the lock of targets.</p>
+	 */
+	private float alphaAt(int button, long nanos) {
+		float target = this.targets[button] ? 1 : 0;
+		long duration = this.targets[button] ? FADE_IN_NANOS : FADE_OUT_NANOS;
+		double t = (double) (nanos - this.changeNanos[button]) / duration;
+		if(t >= 1) {
+			return target;
+		} else if(t <= 0) {
+			return this.startAlphas[button];
+		}
+		double eased = 1 - Math.pow(1 - t, 3);
+		return (float) (this.startAlphas[button] + (target - this.startAlphas[button]) * eased);
+	}
+
+	/**
+	 * <p>Private method which returns the refresh rate of the display of the canvas.</p>
+	 */
+	private int refreshRate() {
+		GraphicsConfiguration gc = getGraphicsConfiguration();
+		if(gc != null) {
+			DisplayMode mode = gc.getDevice().getDisplayMode();
+			if(mode != null && mode.getRefreshRate() != DisplayMode.REFRESH_RATE_UNKNOWN) {
+				return mode.getRefreshRate();
+			}
+		}
+		return DEFAULT_REFRESH_RATE;
+	}
+}
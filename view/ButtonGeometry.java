@@ -0,0 +1,156 @@
+package view;
+
+import java.awt.Point;
+import java.awt.Shape;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+
+public class ButtonGeometry {
+
+	/**
+	 * <p>The shapes of the game board for one panel size: the outer black circle, the
+	 * inner black circle and the four buttons. Building a button means a CSG subtract on
+	 * {@link Area}s, which is expensive, so the shapes are built once per size and the
+	 * same instances are used for painting. Hit-testing doesn't use the shapes: it is
+	 * done by a {@link PolarHitTester} built from the same numbers.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Number of buttons. Button 0 (red) starts at 90 degrees, the others follow clockwise,
+	//in the order of the button constants of GamePanel
+	public static final int BUTTON_COUNT = 4;
+	private static final double FIRST_START_ANGLE = 90;
+
+	//Every button is pushed 20 pixels horizontally and vertically away from the center,
+	//i.e. 20 * sqrt(2) along its bisector
+	private static final double GAP = 20 * Math.sqrt(2);
+
+	//Instance variables
+	private final int width;
+	private final int height;
+	private final Area outerEllipse;
+	private final Area innerEllipse;
+	private final Area[] buttons;
+	private final PolarHitTester hitTester;
+
+	/**
+	 * <p>Constructor method builds the shapes of the four buttons for a panel of the
+	 * given size.</p>
+	 *
+	 * @param width of the panel.
+	 * @param height of the panel.
+	 */
+	public ButtonGeometry(int width, int height) {
+		this(width, height, BUTTON_COUNT);
+	}
+
+	/**
+	 * <p>Constructor method builds the shapes for a panel of the given size.</p>
+	 *
+	 * @param width of the panel.
+	 * @param height of the panel.
+	 * @param buttonCount number of buttons around the ring, at least 2.
+	 */
+	public ButtonGeometry(int width, int height, int buttonCount) {
+		this.width = width;
+		this.height = height;
+		int left = width/2 - height/2;
+
+		Shape outerEllipseShape = new Ellipse2D.Double(left + 50, 50, height - 100, height - 100);
+		this.outerEllipse = new Area(outerEllipseShape);
+		Shape innerEllipseShape = new Ellipse2D.Double(left + 200, 200, height - 400, height - 400);
+		this.innerEllipse = new Area(innerEllipseShape);
+
+		//Every button is a pie minus the inner circle. The pies are laid out by the hit
+		//tester, so painting and hit-testing agree.
+		double radius = (height - 200) / 2.0;
+		this.hitTester = new PolarHitTester(left + height / 2.0, height / 2.0, (height - 400) / 2.0, radius, GAP, buttonCount, FIRST_START_ANGLE);
+		this.buttons = new Area[buttonCount];
+		for(int i = 0; i < this.buttons.length; i++) {
+			Shape pie = new Arc2D.Double(snap(this.hitTester.getPieCenterX(i) - radius), snap(this.hitTester.getPieCenterY(i) - radius),
+					height - 200, height - 200, this.hitTester.getStartAngle(i), this.hitTester.getSweep(), Arc2D.PIE);
+			this.buttons[i] = new Area(pie);
+			this.buttons[i].subtract(this.innerEllipse);
+		}
+	}
+
+	/**
+	 * <p>Method returns true if the shapes were built for the given size.</p>
+	 *
+	 * @param width of the panel.
+	 * @param height of the panel.
+	 * @return true if the size matches.
+	 */
+	public boolean isSize(int width, int height) {
+		return this.width == width && this.height == height;
+	}
+
+	/**
+	 * <p>Method returns the button under the point, in O(1) with the {@link PolarHitTester}.
+	 * The answer matches the painted buttons for every pixel, except pixels on the edge
+	 * of a button, where the rasterizer and the curves of the Area may differ by a pixel.</p>
+	 *
+	 * @param point in the coordinates of the panel.
+	 * @return index of the button, or -1 if the point is not on a button.
+	 */
+	public int buttonAt(Point point) {
+		return this.hitTester.segmentAt(point.x, point.y);
+	}
+
+	/**
+	 * <p>Accessor method which returns the hit tester of the board.</p>
+	 *
+	 * @return hit tester.
+	 */
+	public PolarHitTester getHitTester() {
+		return this.hitTester;
+	}
+
+	/**
+	 * <p>Accessor method which returns the outer black circle.</p>
+	 *
+	 * @return outer circle.
+	 */
+	public Area getOuterEllipse() {
+		return this.outerEllipse;
+	}
+
+	/**
+	 * <p>Accessor method which returns the inner black circle.</p>
+	 *
+	 * @return inner circle.
+	 */
+	public Area getInnerEllipse() {
+		return this.innerEllipse;
+	}
+
+	/**
+	 * <p>Accessor method which returns the shape of a button. The shape must not be
+	 * modified, because it is shared.</p>
+	 *
+	 * @param button index of the button.
+	 * @return shape of the button.
+	 */
+	public Area getButton(int button) {
+		return this.buttons[button];
+	}
+
+	/**
+	 * <p>Accessor method which returns the number of buttons.</p>
+	 *
+	 * @return number of buttons.
+	 */
+	public int getButtonCount() {
+		return this.buttons.length;
+	}
+
+	/**
+	 * <p>Private method which rounds away the floating point noise of sin and cos, so
+	 * the four buttons keep their whole pixel positions.</p>
+	 */
+	private static double snap(double value) {
+		double rounded = Math.rint(value);
+		return Math.abs(value - rounded) < 1e-9 ? rounded : value;
+	}
+}
@@ -0,0 +1,160 @@
+package view;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+public class ButtonSprites {
+
+	/**
+	 * <p>Pre-rendered images of the game board for one {@link ButtonGeometry}: the board
+	 * with the outer ring, the four buttons in their normal colors and the inner circle,
+	 * and one white sprite for every flashed button. A paint then copies images instead
+	 * of filling four CSG shapes, and a flash only needs the bounding rectangle of its
+	 * button repainted.</p>
+	 * <p>Images are created compatible with the screen, so Java2D keeps them in video
+	 * memory where it can. The board is transparent outside the ring, so the background
+	 * of the color theme is still painted by the panel and the same sprites serve both
+	 * themes.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Instance variables
+	private final ButtonGeometry geometry;
+	private final Rectangle boardBounds;
+	private final BufferedImage board;
+	private final Rectangle[] buttonBounds;
+	private final BufferedImage[] flashed;
+
+	/**
+	 * <p>Constructor method renders the images.</p>
+	 *
+	 * @param geometry shapes of the board.
+	 * @param colors normal colors of the buttons, in the order of the buttons.
+	 * @param flashColor color of a flashed button.
+	 * @param gc configuration of the screen, or null if the panel is not displayed yet.
+	 */
+	public ButtonSprites(ButtonGeometry geometry, Color[] colors, Color flashColor, GraphicsConfiguration gc) {
+		this.geometry = geometry;
+
+		//Board: ring, buttons in their normal color and inner circle
+		this.boardBounds = pixelBounds(geometry.getOuterEllipse());
+		this.board = createImage(gc, this.boardBounds);
+		Graphics2D g2d = this.board.createGraphics();
+		g2d.translate(-this.boardBounds.x, -this.boardBounds.y);
+		g2d.setColor(Color.BLACK);
+		g2d.fill(geometry.getOuterEllipse());
+		for(int i = 0; i < geometry.getButtonCount(); i++) {
+			g2d.setColor(colors[i]);
+			g2d.fill(geometry.getButton(i));
+		}
+		g2d.setColor(Color.BLACK);
+		g2d.fill(geometry.getInnerEllipse());
+		g2d.dispose();
+
+		//One sprite for every flashed button, the size of its bounding rectangle
+		this.buttonBounds = new Rectangle[geometry.getButtonCount()];
+		this.flashed = new BufferedImage[geometry.getButtonCount()];
+		for(int i = 0; i < geometry.getButtonCount(); i++) {
+			this.buttonBounds[i] = pixelBounds(geometry.getButton(i));
+			this.flashed[i] = createImage(gc, this.buttonBounds[i]);
+			g2d = this.flashed[i].createGraphics();
+			g2d.translate(-this.buttonBounds[i].x, -this.buttonBounds[i].y);
+			g2d.setColor(flashColor);
+			g2d.fill(geometry.getButton(i));
+			//The inner circle is drawn over the buttons on the board, so it covers the edge
+			//pixels they share; the sprite must keep them black too
+			g2d.setColor(Color.BLACK);
+			g2d.fill(geometry.getInnerEllipse());
+			g2d.dispose();
+		}
+	}
+
+	/**
+	 * <p>Method draws the board with every button in its normal color.</p>
+	 *
+	 * @param g graphics of the panel.
+	 */
+	public void paintBoard(Graphics g) {
+		g.drawImage(this.board, this.boardBounds.x, this.boardBounds.y, null);
+	}
+
+	/**
+	 * <p>Method draws a button in its flashed color over the board.</p>
+	 *
+	 * @param g graphics of the panel.
+	 * @param button index of the button.
+	 */
+	public void paintFlashed(Graphics g, int button) {
+		Rectangle bounds = this.buttonBounds[button];
+		g.drawImage(this.flashed[button], bounds.x, bounds.y, null);
+	}
+
+	/**
+	 * <p>Method blends a button in its flashed color over the board, e.g. while the
+	 * flash fades in or out.</p>
+	 *
+	 * @param g graphics of the panel.
+	 * @param button index of the button.
+	 * @param alpha opacity of the flashed color, from 0 to 1.
+	 */
+	public void paintFlashed(Graphics2D g, int button, float alpha) {
+		if(alpha >= 1) {
+			paintFlashed(g, button);
+		} else if(alpha > 0) {
+			Composite composite = g.getComposite();
+			g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+			paintFlashed(g, button);
+			g.setComposite(composite);
+		}
+	}
+
+	/**
+	 * <p>Accessor method which returns the bounding rectangle of a button, i.e. the area
+	 * to repaint when the button is flashed.</p>
+	 *
+	 * @param button index of the button.
+	 * @return bounds in the coordinates of the panel. It must not be modified.
+	 */
+	public Rectangle getButtonBounds(int button) {
+		return this.buttonBounds[button];
+	}
+
+	/**
+	 * <p>Accessor method which returns the geometry the images were rendered from.</p>
+	 *
+	 * @return geometry.
+	 */
+	public ButtonGeometry getGeometry() {
+		return this.geometry;
+	}
+
+	/**
+	 * <p>Private method which returns the pixels covered by a shape. The rasterizer can
+	 * touch the pixel just outside getBounds(), so the rectangle is grown by one pixel.</p>
+	 */
+	private static Rectangle pixelBounds(Shape shape) {
+		Rectangle bounds = shape.getBounds();
+		bounds.grow(1, 1);
+		return bounds;
+	}
+
+	/**
+	 * <p>Private method which creates a transparent image of the size of the rectangle.</p>
+	 */
+	private static BufferedImage createImage(GraphicsConfiguration gc, Rectangle bounds) {
+		int width = Math.max(1, bounds.width);
+		int height = Math.max(1, bounds.height);
+		if(gc != null) {
+			return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+		}
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+	}
+}
@@ -6,77 +6,86 @@ import java.awt.Component;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Shape;
+import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.geom.Arc2D;
-import java.awt.geom.Area;
-import java.awt.geom.Ellipse2D;
+import java.awt.font.FontRenderContext;
 import java.util.ResourceBundle;
 
-import javax.sound.midi.MidiChannel;
-import javax.sound.midi.MidiSystem;
-import javax.sound.midi.MidiUnavailableException;
-import javax.sound.midi.Synthesizer;
 import javax.swing.BorderFactory;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import javax.swing.border.BevelBorder;
 
+import audio.AudioService;
 import controller.MemoryGameController;
+import interfaces.IPlaybackListener;
+import model.ColorSequence;
+import model.GameEngine;
+import model.GameState;
+import model.Player;
+import monitoring.GameEvents;
+import monitoring.InputLatencyProbe;
+import monitoring.PanelMetrics;
 
 public class GamePanel extends JPanel {
 	
 	/**
 	 * <p>This custom JPanel displays the virtual Simon game with the four buttons.</p>
-	 * <p>Date of last modification: 27/11/2015.</p>
+	 * <p>Date of last modification: 18/10/2026.</p>
 	 * 
 	 * @author Csaba Farkas csaba.farkas@mycit.ie
 	 */
 	
-	//final static variables to store the different notes played when a button is pressed
-	private static final int PIANO = 0;
-	private static final int E_NOTE = 64;
-	private static final int C_SHARP = 73;
-	private static final int A_NOTE = 69;
-	private static final int E_NOTE_UP = 76;
-	
 	//final static variables to store integer related to the buttons.
 	private final static int RED_BUTTON = 0;
 	private final static int BLUE_BUTTON = 1;
 	private final static int YELLOW_BUTTON = 2;
 	private final static int GREEN_BUTTON = 3;
 	
+	//Normal colors of the buttons, in the order of the constants above
+	private static final Color[] BUTTON_COLORS = new Color[] {Color.RED, Color.BLUE, Color.YELLOW, Color.GREEN};
+	
+	//While the panel is resized, the shapes of the buttons are rebuilt at most once in this many milliseconds
+	private static final int RESIZE_THROTTLE = 50;
+	
+	//Font family of the texts
+	private static final String TEXT_FONT = "Monospaced";
+	
+	//Number of paints and time spent painting this panel
+	private static final PanelMetrics PAINT_METRICS = new PanelMetrics("GamePanel");
+	
 	//Localization
 	private ResourceBundle bundle;
 	
 	//Field variables
-	private Shape outerEllipse;	
-	private Area innerEllipse;
-	private Area redButton;
-	private Area blueButton;
-	private Area yellowButton;
-	private Area greenButton;
-	// private ArrayList<Area> buttons;
+	private ButtonGeometry geometry;
+	private ButtonSprites sprites;
+	private Timer resizeTimer;
 	private boolean redButtonIsFlashed;
 	private boolean blueButtonIsFlashed;
 	private boolean yellowButtonIsFlashed;
 	private boolean greenButtonIsFlashed;
-	private int colorIndex;
-	private ActionListener animate;
-	private Timer flashTimer;
+	private PlaybackScheduler scheduler;
+	private ActiveRenderer renderer;
 	private Graphics2D g2d;
-	private Timer flashDelay;
-	private boolean isListening;
 	private String level;
-	private Synthesizer synthesizer;
-	private MidiChannel[] channels;
+	private String[] texts;
+	private Player textPlayer;
+	private String playerText;
+	private TextCache.NumberText levelText;
+	private TextCache.NumberText pointsText;
+	private TextCache.NumberText highScoreText;
+	private final TextCache.Label[] textLabels = TextCache.createLabels(4);
 	private final Integer highScoreAtStart;
-	private int velocity;
 	private boolean isDarkColor;
 	
 	/**
@@ -98,161 +107,113 @@ public class GamePanel extends JPanel {
 		//If it is set to true, a dark color theme is used, otherwise light color theme is used.
 		this.isDarkColor = isDarkColor;
 		
-		//Color index is used when flashing the buttons. It starts from 0th button and goes
-		//up to the last button.
-		this.colorIndex = 0;
+		//Sound effects are played by the AudioService, which is shared by every game
 		
-		//Velocity is the volume of sound. It's set to 80 initially, and when player mutes
-		//the game, it is set to 0. It has the same effect as noteOff
-		this.velocity = 80;
-		
-		//I created a Synthesizer object (Thank you Karl) which creates the sound effects
-		try {
-			this.synthesizer = MidiSystem.getSynthesizer();
-			this.synthesizer.open();
-		} catch (MidiUnavailableException e1) {
-			e1.printStackTrace();
-		}
-		this.channels = synthesizer.getChannels();
-		
-		//This is the action listener, which makes the buttons flash. It sets the
-		//boolean values paired with each button to false (when they are true) with
-		//a half a second delay. I.e. buttons are flashed for half a second each.
-		//I used Swing Timer to achieve this effect, because Threads are not safe to
-		//use in Swing elements. Swing is running on the so called Event Dispatch 
-		//Thread and making this thread "sleep" can freeze the GUI
-		this.animate = new ActionListener() {
-
+		//The playback scheduler keeps the deadlines of the flashes on its own thread and
+		//calls this listener on the Event Dispatch Thread when a button has to be lit or
+		//turned off. Swing is running on the so called Event Dispatch Thread and making
+		//this thread "sleep" can freeze the GUI, so the flags are only set here.
+		this.scheduler = new PlaybackScheduler(new IPlaybackListener() {
+			
+			//A button of the color sequence is lit. Its tone was started by the scheduler.
 			@Override
-			public void actionPerformed(ActionEvent arg0) {
-				if(redButtonIsFlashed) {
-					redButtonIsFlashed = false;
-				} else if (blueButtonIsFlashed) {
-					blueButtonIsFlashed = false;
-				} else if (yellowButtonIsFlashed) {
-					yellowButtonIsFlashed = false;
-				} else if (greenButtonIsFlashed) {
-					greenButtonIsFlashed = false;
+			public void buttonOn(int button, int index) {
+				GameEngine engine = MemoryGameController.getInstance().getEngine();
+				if(engine.getState() != GameState.PLAYBACK) {
+					return;
 				}
 				
-				repaint();
+				//The engine switches to AWAITING_INPUT after the last color of the sequence
+				int color = engine.nextPlaybackColor();
+				GameEvents.sequenceFlash(color, index, MemoryGameController.getInstance().getGameStage());
+				setFlashed(color, true);
+				repaint(getSprites().getButtonBounds(color));
 			}
 			
-		};
-		
-		this.flashTimer = new Timer(500, this.animate);
+			//Only the button which goes back to its color is repainted
+			@Override
+			public void buttonOff(int button) {
+				setFlashed(button, false);
+				repaint(getSprites().getButtonBounds(button));
+			}
+		}, BUTTON_COLORS.length);
 		
 		//Localization
 		this.bundle = ResourceBundle.getBundle("view.gamePanelProps");
+		this.levelText = new TextCache.NumberText(this.bundle.getString("levelText"));
+		this.pointsText = new TextCache.NumberText(this.bundle.getString("totalPoints"));
+		this.highScoreText = new TextCache.NumberText(this.bundle.getString("highScore"));
+		TextCache.getInstance().invalidateOnChange(this);
 		
 		//Set layout and border
 		this.setLayout(new BorderLayout());
 		this.setBorder(BorderFactory.createBevelBorder(BevelBorder.RAISED, Color.BLACK, Color.GRAY));
 		
-		//Add a mouse listener anonymous class to this custom panel.
+		//The shapes of the buttons are only rebuilt when the size of the panel changes.
+		//While the frame is dragged, componentResized is called for every mouse move, so
+		//the rebuild is throttled: the timer rebuilds the shapes once for the latest size,
+		//and until then the previous shapes are painted and hit-tested.
+		this.resizeTimer = new Timer(RESIZE_THROTTLE, new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				if(geometry == null || !geometry.isSize(getWidth(), getHeight())) {
+					geometry = new ButtonGeometry(getWidth(), getHeight());
+					repaint();
+				}
+			}
+		});
+		this.resizeTimer.setRepeats(false);
+		this.addComponentListener(new ComponentAdapter() {
+			
+			@Override
+			public void componentResized(ComponentEvent e) {
+				if(!resizeTimer.isRunning()) {
+					resizeTimer.start();
+				}
+			}
+		});
+		
+		//Create a mouse listener anonymous class for this custom panel.
 		//It listens for mouse events and triggers different effects.
-		this.addMouseListener(new MouseAdapter() {
+		MouseAdapter mouseListener = new MouseAdapter() {
 
-			//When mouse is pressed, call the doMousePressedCheck method, and pass the 
+			//When mouse is pressed, call the pressButton method, and pass the 
 			//index of the appropriate button to it.
 			@Override
 			public void mousePressed(MouseEvent e) {
 				super.mousePressed(e);
-				if(redButton.contains(e.getPoint())) {
-					doMousePressedCheck(RED_BUTTON);
-					
-				} else if (blueButton.contains(e.getPoint())) {
-					doMousePressedCheck(BLUE_BUTTON);
-					
-				} else if (yellowButton.contains(e.getPoint())) {
-					doMousePressedCheck(YELLOW_BUTTON);
-					
-				} else if (greenButton.contains(e.getPoint())) {
-					doMousePressedCheck(GREEN_BUTTON);
-				} 
-			}
-
-			//When isListening is true, the GUI flash a button when it is clicked.
-			//It only listens after the color sequence is displayed, and it only 
-			//listens as long as the player clicks on the right color. 
-			private void doMousePressedCheck(int buttonColor) {
-				if(isListening) {
-					
-					//If player clicks on the right button, the color index is incremented. If it's 
-					//equal to the size of the arraylist which stores the color sequence, that it is
-					//set to 0, player levels up and the new color sequence is displayed.
-					if(MemoryGameController.getInstance().getColorIndex(colorIndex) == buttonColor) {
-						MemoryGameController.getInstance().increasePlayerPoint();
-						colorIndex++;
-						repaint();
-						if(colorIndex == MemoryGameController.getInstance().getColorSequenceSize()) {
-							colorIndex = 0;
-							MemoryGameController.getInstance().levelUp();
-							isListening = false;
-							flashButtons();
-							repaint();
-						}
-						
-					//If player clicks on the wrong button, high score is saved, isListening is set to
-					//false, and a JOptionPanel is displayed.
-					} else {
-						isFlashed(buttonColor);
-						MemoryGameController.getInstance().getDataPersistor().write(MemoryGameController.getInstance().getHighScore());
-						isListening = false;
-						Timer gameOverTimer = new Timer(MemoryGameController.getInstance().getDifficulty(), new ActionListener() {
-
-
-							@Override
-							public void actionPerformed(ActionEvent arg0) {
-
-								String message = bundle.getString("gameOver") + "\n" + bundle.getString("totalPoints") + MemoryGameController.getInstance().getPlayerScore();
-								
-								//I created a string which holds the message that is displayed in the JOptionPane.
-								//If player achieved a new high score, then the message is extended with some extra text.
-								if(MemoryGameController.getInstance().getHighScore() > highScoreAtStart) {
-									message +=  "\n";
-									message += bundle.getString("newHighScore");
-								} 
-								
-								//I used an OK_CANCEL JOptionPane to ask the user if he/she wants to exit, or play again.
-								//The integer value which is returned by the JOptionPane is used in a condition statement
-								//to decide what's the next step. I.e. exit the game, or call the NewPlayerDialog, and offer
-								//a new game to the user.
-								int answer = JOptionPane.showOptionDialog((Component) MemoryGameController.getInstance().getGuiReference(), message, null, JOptionPane.OK_CANCEL_OPTION, JOptionPane.INFORMATION_MESSAGE, null, new String[] {bundle.getString("exit"), bundle.getString("newGame")}, "default");
-								System.out.println("answer: " + JOptionPane.CANCEL_OPTION);
-								if(answer == 0) {
-									System.exit(1);
-								} else {
-									new NewPlayerDialog((JFrame) MemoryGameController.getInstance().getGuiReference(), MemoryGameController.getInstance().getPlayer().toString());
-								}
-							}
-							
-						});
-						
-						//The above JOptionPane is only displayed half a second after the game is over.
-						//Here I set the timer to no-repeat, and started timer.
-						gameOverTimer.setRepeats(false);
-						gameOverTimer.start();
-						return;
-					}
-					
-					//No matter if player continues the game or this was the last button he/she
-					//clicked on during this game, the button is still flashed.
-					isFlashed(buttonColor);
+				InputLatencyProbe.onInput(e.getWhen());
+				Point point = SwingUtilities.convertPoint(e.getComponent(), e.getPoint(), GamePanel.this);
+				int button = getGeometry().buttonAt(point);
+				if(button >= 0) {
+					pressButton(button);
+				} else {
+					InputLatencyProbe.cancel();
 				}
 			}
-		});
+		};
+		this.addMouseListener(mouseListener);
+		
+		//In active rendering mode a canvas covers the panel and draws the board on its own
+		//thread. The panel still works out what has to be drawn in paintComponent.
+		if(ActiveRenderer.isRequested()) {
+			this.renderer = new ActiveRenderer(BUTTON_COLORS.length);
+			this.renderer.addMouseListener(mouseListener);
+			this.add(this.renderer, BorderLayout.CENTER);
+		}
 	}
 	
 	/**
-	 * <p>This is the method where I the custom painting is done. Shapes are created and converted to
-	 * areas, strings are drawn etc. It is also a large method so I commented the most important 
+	 * <p>This is the method where I the custom painting is done. Shapes of the buttons are taken
+	 * from the {@link ButtonGeometry} of the current size, strings are drawn etc. It is also a large method so I commented the most important 
 	 * steps inside the method.</p>
 	 * 
 	 * @param Graphics object g.
 	 */
 	@Override
 	public void paintComponent(Graphics g) {
+		long paintStart = PAINT_METRICS.paintStarted();
 		this.g2d = (Graphics2D) g;
 		super.paintComponent(g);
 		
@@ -263,160 +224,209 @@ public class GamePanel extends JPanel {
 			this.setBackground(Color.WHITE);
 		}
 		
-		//Create outer and inner ellipse shapes and transform them into Area objects
-		Shape outerEllipseShape = new Ellipse2D.Double(this.getWidth()/2-this.getHeight()/2 + 50, 50, this.getHeight()-100, this.getHeight()-100);
-		this.outerEllipse = new Area(outerEllipseShape);
-		Shape innerEllipseShape = new Ellipse2D.Double(this.getWidth()/2-this.getHeight()/2 + 200, 200, this.getHeight()-400, this.getHeight()-400);
-		this.innerEllipse = new Area(innerEllipseShape);
-		
-		//Create a Shape forming the red button and convert it to an area
-		//Then subtract the area of the inner ellipse from the area of the red button
-		Shape redButtonShape = new Arc2D.Double(this.getWidth()/2-this.getHeight()/2 + 80, 80, this.getHeight()-200, this.getHeight()-200, 90, 90, Arc2D.PIE);
-		this.redButton = new Area(redButtonShape);
-		this.redButton.subtract(this.innerEllipse);
-		
-		//Same procedure for all the other buttons.
-		//I tried to use a for loop here, but for some reason
-		//it kept giving me a compiler error. So the fours steps of the button
-		//creation seems to be code repeating, but I couldn't find any other way
-		//to do it.
-		Shape blueButtonShape = new Arc2D.Double(this.getWidth()/2-this.getHeight()/2 + 120, 80, this.getHeight()-200, this.getHeight()-200, 0, 90, Arc2D.PIE);
-		this.blueButton = new Area(blueButtonShape);
-		this.blueButton.subtract(this.innerEllipse);
+		//Level 'n' text, player's name, total score and high score.
+		//High score is updated every time a new high score is achieved.
+		String[] texts = getTexts();
+		this.level = texts[0];
 		
-		Shape yellowButtonShape = new Arc2D.Double(this.getWidth()/2-this.getHeight()/2 + 120, 120, this.getHeight() - 200, this.getHeight() - 200, 270, 90, Arc2D.PIE);
-		this.yellowButton = new Area(yellowButtonShape);
-		this.yellowButton.subtract(this.innerEllipse);
+		//The ring, the buttons and the inner circle are pre-rendered once per panel size.
+		//When only a flashed button is repainted, the clip limits the copy to its bounds.
+		ButtonSprites sprites = getSprites();
 		
-		Shape greenButtonShape = new Arc2D.Double(this.getWidth()/2-this.getHeight()/2 + 80, 120, this.getHeight()-200, this.getHeight()-200, 180, 90, Arc2D.PIE);
-		this.greenButton = new Area(greenButtonShape);
-		this.greenButton.subtract(this.innerEllipse);
+		//In active rendering mode the render thread draws the scene, flashes included
+		if(this.renderer != null) {
+			this.renderer.publish(new ActiveRenderer.Scene(sprites, this.getBackground(), this.getWidth(), this.getHeight(), texts));
+			PAINT_METRICS.paintFinished(paintStart);
+			return;
+		}
 		
-		//Draw outer black circle
-		g2d.setColor(Color.BLACK);
-		g2d.fill(outerEllipse);
+		sprites.paintBoard(g2d);
 		
-		//Draw red button
+		//Draw the flashed button white over the board
 		if(this.redButtonIsFlashed) {
-			//If this button is flashed, playe the note associated with
-			//this button, and change it's color to white. Also, start
-			//flashTimer, so the screen is repeated in half a second and
-			//button becomes red again.
-			this.channels[PIANO].noteOn(A_NOTE, velocity);
-			g2d.setColor(Color.WHITE);
-			g2d.fill(this.redButton);
-			this.flashTimer.setRepeats(false);
-			this.flashTimer.start();
-		} else {
-			g2d.setColor(Color.RED);
-			g2d.fill(this.redButton);
+			//If this button is flashed, change it's color to white. The scheduler turns
+			//it off again after its on time, and the note of the button was already started.
+			sprites.paintFlashed(g2d, RED_BUTTON);
+			InputLatencyProbe.onPaint();
 		}
 		
 		//Draw blue button with the same procedure as the red button
 		if(this.blueButtonIsFlashed) {
-			this.channels[PIANO].noteOn(E_NOTE, velocity);
-			g2d.setColor(Color.WHITE);
-			g2d.fill(this.blueButton);
-			this.flashTimer.setRepeats(false);
-			this.flashTimer.start();
-		} else {
-			g2d.setColor(Color.BLUE);
-			g2d.fill(this.blueButton);
+			sprites.paintFlashed(g2d, BLUE_BUTTON);
+			InputLatencyProbe.onPaint();
 		}
 		
 		//Draw yellow button with same logic
 		if(this.yellowButtonIsFlashed) {
-			this.channels[PIANO].noteOn(C_SHARP, velocity);
-			g2d.setColor(Color.WHITE);
-			g2d.fill(this.yellowButton);
-			this.flashTimer.setRepeats(false);
-			this.flashTimer.start();
-		} else {
-			g2d.setColor(Color.YELLOW);
-			g2d.fill(this.yellowButton);
+			sprites.paintFlashed(g2d, YELLOW_BUTTON);
+			InputLatencyProbe.onPaint();
 		}
 		
 		//Draw green button with same logic
 		if(this.greenButtonIsFlashed) {
-			this.channels[PIANO].noteOn(E_NOTE_UP, velocity);
-			g2d.setColor(Color.WHITE);
-			g2d.fill(this.greenButton);
-			this.flashTimer.setRepeats(false);
-			this.flashTimer.start();
-		} else {
-			g2d.setColor(Color.GREEN);
-			g2d.fill(this.greenButton);
+			sprites.paintFlashed(g2d, GREEN_BUTTON);
+			InputLatencyProbe.onPaint();
 		}
 		
-		//Draw inner circle
-		g2d.setColor(Color.BLACK);
-		g2d.fill(this.innerEllipse);
+		paintTexts(g2d, this.getWidth(), this.getHeight(), texts, this.textLabels);
+		
+		PAINT_METRICS.paintFinished(paintStart);
+	}
+	
+	/**
+	 * <p>Private method which returns the texts of the panel. The strings are only
+	 * concatenated again when a number changes, and the array is only replaced when a
+	 * string changes, because a published {@link ActiveRenderer.Scene} keeps it.</p>
+	 */
+	private String[] getTexts() {
+		MemoryGameController controller = MemoryGameController.getInstance();
+		String level = this.levelText.get(controller.getGameStage());
+		Player player = controller.getPlayer();
+		if(player != this.textPlayer) {
+			this.textPlayer = player;
+			this.playerText = player.toString().toUpperCase();
+		}
+		String points = this.pointsText.get(controller.getGame().getPlayer().getCurrentScore());
+		String highScore = this.highScoreText.get(controller.getHighScore());
+		if(this.texts == null || this.texts[0] != level || this.texts[1] != this.playerText
+				|| this.texts[2] != points || this.texts[3] != highScore) {
+			this.texts = new String[] {level, this.playerText, points, highScore};
+		}
+		return this.texts;
+	}
+	
+	/**
+	 * <p>Static method which draws the texts of the game panel. It is used by paintComponent
+	 * and by the render thread of the {@link ActiveRenderer}.</p>
+	 * 
+	 * @param g2d graphics in the coordinates of the game panel.
+	 * @param width width of the game panel.
+	 * @param height height of the game panel.
+	 * @param texts level, player, total points and high score.
+	 * @param labels one {@link TextCache.Label} for every text, used by one thread only.
+	 */
+	static void paintTexts(Graphics2D g2d, int width, int height, String[] texts, TextCache.Label[] labels) {
+		//The texts are laid out and measured once, by the TextCache
+		FontRenderContext frc = g2d.getFontRenderContext();
+		int size = (int) (height*0.04);
 		
 		//Draw Level 'n' text to the middle of the screen.
 		//I used the width of the string to position it in the middle.
 		g2d.setColor(Color.WHITE);
-		g2d.setFont(new Font("Monospaced", Font.PLAIN, (int) (this.getHeight()*0.04)));
-		this.level = this.bundle.getString("levelText") + MemoryGameController.getInstance().getGameStage();
-		int levelWidth = (int) g2d.getFontMetrics().getStringBounds(level, g2d).getWidth();
-		int levelHeight = (int) g2d.getFontMetrics().getStringBounds(level, g2d).getHeight();
-		g2d.drawString(level, this.getWidth()/2 - levelWidth/2, this.getHeight()/2 + levelHeight/3);
+		TextCache.Text level = labels[0].get(texts[0], TEXT_FONT, Font.PLAIN, size, frc);
+		level.draw(g2d, width/2 - level.getWidth()/2, height/2 + level.getHeight()/3);
 		
 		//Draw Player's name and total score and high score to the top right corner.
-		//High score is updated every time a new high score is achieved.
 		g2d.setColor(Color.BLACK);
-		String player = MemoryGameController.getInstance().getPlayer().toString();
-		g2d.drawString(player.toUpperCase(), (int)(this.getWidth() - this.getHeight() * 0.35), 50);
-		
-		String total = this.bundle.getString("totalPoints") + MemoryGameController.getInstance().getGame().getPlayer().getCurrentScore();
-		g2d.drawString(total, (int)(this.getWidth() - this.getHeight() * 0.35), 80);
-		
-		String highScore = this.bundle.getString("highScore") + MemoryGameController.getInstance().getHighScore();
-		g2d.drawString(highScore, (int)(this.getWidth() - this.getHeight() * 0.35), 110);
+		labels[1].get(texts[1], TEXT_FONT, Font.PLAIN, size, frc).draw(g2d, (int)(width - height * 0.35), 50);
+		labels[2].get(texts[2], TEXT_FONT, Font.PLAIN, size, frc).draw(g2d, (int)(width - height * 0.35), 80);
+		labels[3].get(texts[3], TEXT_FONT, Font.PLAIN, size, frc).draw(g2d, (int)(width - height * 0.35), 110);
 	}
 	
 	/**
 	 * <p>At the start of each level, this method is called to display the color sequence.</p>
-	 * <p>I used swing timer here as well. Delay is set based on the difficulty of the game.</p>
-	 * <p>The more difficult the game is, the faster the color sequence is shown. To flash buttons,
-	 * it also calls the isFlashed method, which calls a repaint, painting the flashed button to 
-	 * white.</p>
+	 * <p>The sequence is handed to the {@link PlaybackScheduler} with the on and off times
+	 * of the difficulty of the game. The more difficult the game is, the faster the color
+	 * sequence is shown. The scheduler lights every button at its own deadline, so a late
+	 * flash doesn't delay the rest of the sequence.</p>
 	 */
 	protected void flashButtons() {
 		
-		this.flashDelay = new Timer(MemoryGameController.getInstance().getDifficulty(), new ActionListener() {
+		//The engine is in PLAYBACK state at the start of the game, and in LEVEL_COMPLETE
+		//state after a level up. Both can start the playback of the sequence.
+		GameEngine engine = MemoryGameController.getInstance().getEngine();
+		engine.startPlayback();
+		
+		ColorSequence sequence = engine.getGame().getStage().getColorSequence();
+		int[] colors = new int[sequence.size()];
+		sequence.copyTo(0, colors, 0, colors.length);
+		this.scheduler.play(colors, getTiming(), MemoryGameController.getInstance().getGameStage());
+	}
+	
+	/**
+	 * <p>Method stops the playback of the sequence, when this panel is replaced.</p>
+	 */
+	protected void stopPlayback() {
+		this.scheduler.cancel();
+	}
+	
+	/**
+	 * <p>This method handles a button press, either from the mouse listener or from a
+	 * replayed recording. The GUI only flashes a button when the engine is waiting for
+	 * input, i.e. after the color sequence is displayed, and as long as the player clicks
+	 * on the right color. The rules themselves are checked by the GameEngine.</p>
+	 * 
+	 * @param buttonColor indicates the button which was pressed.
+	 */
+	protected void pressButton(int buttonColor) {
+		if(MemoryGameController.getInstance().getEngine().getState() != GameState.AWAITING_INPUT) {
+			InputLatencyProbe.cancel();
+			return;
+		}
+		
+		switch(MemoryGameController.getInstance().submitColor(buttonColor)) {
+		
+		//If player clicks on the right button, repaint the score. The button itself is
+		//repainted by isFlashed.
+		case CORRECT:
+			repaint(getScoreBounds());
+			break;
 			
-			@Override
-			public void actionPerformed(ActionEvent e) {
-				switch(MemoryGameController.getInstance().getColorIndex(colorIndex)) {
-				case RED_BUTTON:
-					isFlashed(RED_BUTTON);
-					break;
-				case BLUE_BUTTON:
-					isFlashed(BLUE_BUTTON);
-					break;
-				case YELLOW_BUTTON:
-					isFlashed(YELLOW_BUTTON);
-					break;
-				case GREEN_BUTTON:
-					isFlashed(GREEN_BUTTON);
-					break;
+		//If it was the last color of the sequence, player leveled up and the
+		//new color sequence is displayed.
+		case LEVEL_COMPLETE:
+			flashButtons();
+			repaint();
+			break;
+			
+		//If player clicks on the wrong button, high score was saved by the controller
+		//and a JOptionPanel is displayed.
+		case WRONG:
+			isFlashed(buttonColor);
+			Timer gameOverTimer = new Timer(MemoryGameController.getInstance().getDifficulty(), new ActionListener() {
+
+
+				@Override
+				public void actionPerformed(ActionEvent arg0) {
+
+					String message = bundle.getString("gameOver") + "\n" + bundle.getString("totalPoints") + MemoryGameController.getInstance().getPlayerScore();
+					
+					//I created a string which holds the message that is displayed in the JOptionPane.
+					//If player achieved a new high score, then the message is extended with some extra text.
+					if(MemoryGameController.getInstance().getHighScore() > highScoreAtStart) {
+						message +=  "\n";
+						message += bundle.getString("newHighScore");
+					} 
+					
+					//I used an OK_CANCEL JOptionPane to ask the user if he/she wants to exit, or play again.
+					//The integer value which is returned by the JOptionPane is used in a condition statement
+					//to decide what's the next step. I.e. exit the game, or call the NewPlayerDialog, and offer
+					//a new game to the user.
+					int answer = JOptionPane.showOptionDialog((Component) MemoryGameController.getInstance().getGuiReference(), message, null, JOptionPane.OK_CANCEL_OPTION, JOptionPane.INFORMATION_MESSAGE, null, new String[] {bundle.getString("exit"), bundle.getString("newGame")}, "default");
+					System.out.println("answer: " + JOptionPane.CANCEL_OPTION);
+					if(answer == 0) {
+						System.exit(1);
+					} else {
+						new NewPlayerDialog((JFrame) MemoryGameController.getInstance().getGuiReference(), MemoryGameController.getInstance().getPlayer().toString());
+					}
 				}
-				colorIndex++;
 				
-				//To let the program know when the color sequence has finished, I created this
-				//if statement. It compares the colorIndex with the size of the color sequence.
-				//If they are equal, colorIndex is reinitialized, timer is stopped and isListening
-				//is set true i.e. program is waiting for user to click on the buttons.
-				if(colorIndex == MemoryGameController.getInstance().getColorSequenceSize()) {
-					colorIndex = 0;
-					flashDelay.stop();
-					isListening = true;
-				}
-			}
-		});
+			});
+			
+			//The above JOptionPane is only displayed half a second after the game is over.
+			//Here I set the timer to no-repeat, and started timer.
+			gameOverTimer.setRepeats(false);
+			gameOverTimer.start();
+			return;
+			
+		default:
+			InputLatencyProbe.cancel();
+			return;
+		}
 		
-		//Start the timer
-		this.flashDelay.start();
+		//No matter if player continues the game or this was the last button he/she
+		//clicked on during this game, the button is still flashed.
+		isFlashed(buttonColor);
 	}
 	
 	/**
@@ -427,39 +437,103 @@ public class GamePanel extends JPanel {
 	public void setIsDarkColor(boolean isDarkColor) {
 		this.isDarkColor = isDarkColor;
 	}
-
+	
 	/**
-	 * <p>Mutator method which sets the velocity to the value of the parameter. This can
-	 * be either 0 or 80 --> mute or with sound.</p>
+	 * <p>Private method which returns the shapes of the buttons. They are built right away
+	 * the first time; after a resize the previous shapes are returned until the throttled
+	 * rebuild runs.</p>
 	 * 
-	 * @param velocity is an integer value.
+	 * @return the shapes of the buttons.
 	 */
-	public void setVelocity(int velocity) {
-		this.velocity = velocity;
+	private ButtonGeometry getGeometry() {
+		if(this.geometry == null) {
+			this.geometry = new ButtonGeometry(this.getWidth(), this.getHeight());
+		} else if(!this.geometry.isSize(this.getWidth(), this.getHeight()) && !this.resizeTimer.isRunning()) {
+			this.resizeTimer.start();
+		}
+		return this.geometry;
 	}
 	
 	/**
-	 * <p>This private method triggers each button flash. It selects the boolean
-	 * parameter associated with the button indicated by the parameter to true, and
-	 * calls a repaint. The rest of it is handled by the methods above.</p>
+	 * <p>Private method which returns the pre-rendered images of the board for the
+	 * current shapes, rendering them again if the shapes were rebuilt.</p>
 	 * 
-	 * @param buttonIndex indicates the button to be flashed.
+	 * @return the images of the board.
 	 */
-	private void isFlashed(int buttonIndex) {
+	private ButtonSprites getSprites() {
+		ButtonGeometry geometry = getGeometry();
+		if(this.sprites == null || this.sprites.getGeometry() != geometry) {
+			this.sprites = new ButtonSprites(geometry, BUTTON_COLORS, Color.WHITE, this.getGraphicsConfiguration());
+		}
+		return this.sprites;
+	}
+	
+	/**
+	 * <p>Private method which returns the on and off times of the buttons for the
+	 * current difficulty, which can be changed during the game.</p>
+	 * 
+	 * @return the timing of the flashes.
+	 */
+	private PlaybackTiming getTiming() {
+		return PlaybackTiming.forDifficulty(MemoryGameController.getInstance().getDifficulty());
+	}
+	
+	/**
+	 * <p>Private method which sets the boolean variable paired with a button.</p>
+	 * 
+	 * @param buttonIndex indicates the button.
+	 * @param isFlashed true if the button is white.
+	 */
+	private void setFlashed(int buttonIndex, boolean isFlashed) {
 		switch(buttonIndex) {
 		case RED_BUTTON:
-			this.redButtonIsFlashed = true;
+			this.redButtonIsFlashed = isFlashed;
 			break;
 		case BLUE_BUTTON:
-			this.blueButtonIsFlashed = true;
+			this.blueButtonIsFlashed = isFlashed;
 			break;
 		case YELLOW_BUTTON:
-			this.yellowButtonIsFlashed = true;
+			this.yellowButtonIsFlashed = isFlashed;
 			break;
 		case GREEN_BUTTON:
-			this.greenButtonIsFlashed = true;
+			this.greenButtonIsFlashed = isFlashed;
 			break;
 		}
-		repaint();
+		if(this.renderer != null) {
+			this.renderer.setFlashed(buttonIndex, isFlashed);
+		}
+	}
+	
+	/**
+	 * <p>Private method which returns the area of the player's name, score and high score
+	 * in the top right corner.</p>
+	 * 
+	 * @return area to repaint when the score changes.
+	 */
+	private Rectangle getScoreBounds() {
+		int x = (int) (this.getWidth() - this.getHeight() * 0.35);
+		int fontSize = (int) (this.getHeight() * 0.04);
+		return new Rectangle(x, 0, this.getWidth() - x, 110 + fontSize);
+	}
+	
+	/**
+	 * <p>This private method flashes a button pressed by the player. It selects the boolean
+	 * parameter associated with the button indicated by the parameter to true, and
+	 * repaints the bounding rectangle of the button. The scheduler turns it off after the
+	 * on time of the difficulty.</p>
+	 * 
+	 * @param buttonIndex indicates the button to be flashed.
+	 */
+	private void isFlashed(int buttonIndex) {
+		setFlashed(buttonIndex, true);
+		int onMillis = getTiming().getOnMillis();
+		this.scheduler.lit(buttonIndex, onMillis);
+		
+		//The tone is handed to the audio backend, which also stops it after the flash
+		InputLatencyProbe.onNoteOn();
+		AudioService.getInstance().playTone(buttonIndex, onMillis);
+		
+		InputLatencyProbe.onRepaintRequested();
+		repaint(getSprites().getButtonBounds(buttonIndex));
 	}
 }
@@ -10,7 +10,15 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.ButtonGroup;
@@ -19,7 +27,7 @@ import javax.swing.JList;
 import javax.swing.JPanel;
 import javax.swing.JRadioButton;
 import javax.swing.JScrollPane;
-import javax.swing.JTextArea;
+import javax.swing.SwingWorker;
 
 @SuppressWarnings("serial")
 public class HistoryPanel extends JPanel {
@@ -29,7 +37,12 @@ public class HistoryPanel extends JPanel {
 	 * history of Simon memory game. I copied the contents of the wiki page of
 	 * the game. This class extends to {@link JPanel}</p>
 	 * 
-	 * <p>Date of last modification: 27/11/2015.</p>
+	 * <p>The text is read from the resource named by the contentFile property, which can
+	 * be megabytes long. It is streamed on a {@link SwingWorker} into a
+	 * {@link StreamingTextView}, so the tab is shown and usable while it loads, and a
+	 * change of the font only lays out the visible paragraphs again.</p>
+	 * 
+	 * <p>Date of last modification: 18/10/2026.</p>
 	 * 
 	 * @author Csaba Farkas csaba.farkas@mycit.ie
 	 */
@@ -39,9 +52,12 @@ public class HistoryPanel extends JPanel {
 	private final static Font ARIAL = new Font("Arial", Font.PLAIN, 20);
 	private final static Font SANS_SERIF = new Font("SansSerif", Font.PLAIN, 20);
 	
+	//Size of the chunks in which the content is read
+	private final static int CHUNK_SIZE = 64 * 1024;
+	
 	//Field variables
 	private ResourceBundle bundle;
-	private JTextArea textArea;
+	private StreamingTextView textView;
 	
 	/**
 	 * <p>Constructor method creates an instance of this class. Object inherits all 
@@ -56,19 +72,19 @@ public class HistoryPanel extends JPanel {
 		//Set layout to BorderLayout
 		this.setLayout(new BorderLayout());
 		
-		//Create JTextArea with text parsed from bundle. Set wrap style to line and word
-		//i.e. line breaks are inserted at the end of words.
+		//Create the text view, which wraps lines at the end of words. The text is
+		//loaded into it in the background.
 		//Add some padding, using an empty border and set font type to arial.
-		this.textArea = new JTextArea(this.bundle.getString("content"));
-		this.textArea.setWrapStyleWord(true);
-		this.textArea.setLineWrap(true);
-		this.textArea.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
-		this.textArea.setFont(ARIAL);
+		this.textView = new StreamingTextView(ARIAL);
+		this.textView.setForeground(Color.BLACK);
+		this.textView.setBackground(Color.WHITE);
+		this.textView.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+		loadContent(this.bundle.getString("contentFile"));
 		
-		//Create JScrollPane object and add text area to it. Set vertical scrollbar to be
+		//Create JScrollPane object and add text view to it. Set vertical scrollbar to be
 		//displayed only when text is too large to display on the screen. Never displays
 		//horizontal scrollbar. Add scrollpane to this panel.
-		JScrollPane scrollPane = new JScrollPane(this.textArea, JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED, JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+		JScrollPane scrollPane = new JScrollPane(this.textView, JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED, JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
 		this.add(scrollPane, BorderLayout.CENTER);
 		
 		//Create a new JPanel, which holds radiobuttons and a jlist to allow user to
@@ -100,8 +116,8 @@ public class HistoryPanel extends JPanel {
 			
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				textArea.setForeground(Color.BLACK);
-				textArea.setBackground(Color.WHITE);
+				textView.setForeground(Color.BLACK);
+				textView.setBackground(Color.WHITE);
 			}
 		});
 		JRadioButton nightModeButton = new JRadioButton();
@@ -114,8 +130,8 @@ public class HistoryPanel extends JPanel {
 			
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				textArea.setForeground(Color.WHITE);
-				textArea.setBackground(Color.BLACK);
+				textView.setForeground(Color.WHITE);
+				textView.setBackground(Color.BLACK);
 			}
 		});
 		
@@ -130,17 +146,17 @@ public class HistoryPanel extends JPanel {
 		list.setSelectedIndex(1);
 		
 		//I attached an actionlistener to the list, so when selection is
-		//changed, the event fires a change in the font type of text area
+		//changed, the event fires a change in the font type of text view
 		list.addMouseListener(new MouseAdapter() {
 			@Override
 			public void mouseClicked(MouseEvent e) {
 				super.mouseClicked(e);
 				if(list.getSelectedIndex() == 0) {
-					textArea.setFont(MONOSPACED);
+					textView.setFont(MONOSPACED);
 				} else if(list.getSelectedIndex() == 1) {
-					textArea.setFont(ARIAL);
+					textView.setFont(ARIAL);
 				} else {
-					textArea.setFont(SANS_SERIF);
+					textView.setFont(SANS_SERIF);
 				}
 			}
 		});
@@ -158,4 +174,47 @@ public class HistoryPanel extends JPanel {
 		northPanel.add(list, c);
 		this.add(northPanel, BorderLayout.NORTH);
 	}
+	
+	/**
+	 * <p>Private method which reads the content on a background thread, and appends it
+	 * to the text view in chunks, as it is read.</p>
+	 * 
+	 * @param resource name of the content file, relative to this class.
+	 */
+	private void loadContent(final String resource) {
+		new SwingWorker<Void, String>() {
+			
+			@Override
+			protected Void doInBackground() throws IOException {
+				InputStream in = HistoryPanel.class.getResourceAsStream(resource);
+				if(in == null) {
+					throw new FileNotFoundException(resource);
+				}
+				try(BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), CHUNK_SIZE)) {
+					String line;
+					while((line = reader.readLine()) != null) {
+						//Lines published while the EDT is busy are appended together
+						publish(line);
+					}
+				}
+				return null;
+			}
+			
+			@Override
+			protected void process(List<String> lines) {
+				textView.append(lines);
+			}
+			
+			@Override
+			protected void done() {
+				try {
+					get();
+				} catch(InterruptedException ix) {
+					Thread.currentThread().interrupt();
+				} catch(ExecutionException eex) {
+					System.out.println(eex.getCause().getMessage());
+				}
+			}
+		}.execute();
+	}
 }
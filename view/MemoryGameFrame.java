@@ -5,19 +5,32 @@ import java.awt.Toolkit;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
+import java.io.IOException;
 import java.util.ResourceBundle;
 
 import javax.swing.ButtonGroup;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
 import javax.swing.JRadioButtonMenuItem;
 import javax.swing.JTabbedPane;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
+import audio.AudioService;
+import audio.MidiToneBackend;
+import audio.PcmToneBackend;
 import controller.MemoryGameController;
+import controller.SessionRecorder;
+import controller.SessionRecording;
 import interfaces.IMemoryGameGui;
 import model.Game;
+import monitoring.StartupTrace;
 
 public class MemoryGameFrame extends JFrame implements IMemoryGameGui{
 	
@@ -25,11 +38,15 @@ public class MemoryGameFrame extends JFrame implements IMemoryGameGui{
 	 * <p>This class is defines the frame of the GUI. It extends {@link JFrame} and inherits all of
 	 * JFrames functionalities. It also implements {@link IMemoryGameGui} with its method.</p>
 	 * 
-	 * <p>Date of last modification: 27/11/2015.</p>
+	 * <p>Date of last modification: 18/10/2026.</p>
 	 * 
 	 * @author Csaba Farkas csaba.farkas@mycit.ie
 	 */
 	
+	//Indexes of the tabs which are created lazily
+	private static final int RULES_TAB = 1;
+	private static final int HISTORY_TAB = 2;
+	
 	//Field variables
 	private GamePanel gamePanel;
 	private RulesPanel rulesPanel;
@@ -38,9 +55,11 @@ public class MemoryGameFrame extends JFrame implements IMemoryGameGui{
 	private JRadioButtonMenuItem easySelect;
 	private JRadioButtonMenuItem mediumSelect;
 	private JRadioButtonMenuItem hardSelect;
+	private JRadioButtonMenuItem expertSelect;
 	private JMenu soundMenu;
 	private ResourceBundle bundle;
 	private OptionsPanel optionsPanel;
+	private ReplayDriver replayDriver;
 
 	/**
 	 * <p>Constructor method which creates an instance of this class. Constructor initializes most of the 
@@ -52,16 +71,34 @@ public class MemoryGameFrame extends JFrame implements IMemoryGameGui{
 		super(title);
 		this.bundle = ResourceBundle.getBundle("view.gameFrameProps");
 		
-		//Create JTabbedPanel and 3 JPanels
-		JTabbedPane jTabbedPane = new JTabbedPane();
-		this.rulesPanel = new RulesPanel();
-		this.historyPanel = new HistoryPanel();
+		//Create JTabbedPanel and the options panel. The rules and the history panels are
+		//created when their tab is selected the first time, until then their tabs hold an
+		//empty JPanel.
+		final JTabbedPane jTabbedPane = new JTabbedPane();
 		
 		//Add custom panels to JTabbedPane
 		this.optionsPanel = new OptionsPanel(this, true);
 		jTabbedPane.addTab(this.bundle.getString("game"), this.optionsPanel);
-		jTabbedPane.addTab(this.bundle.getString("rules"), this.rulesPanel);
-		jTabbedPane.addTab(this.bundle.getString("history"), this.historyPanel);
+		jTabbedPane.addTab(this.bundle.getString("rules"), new JPanel());
+		jTabbedPane.addTab(this.bundle.getString("history"), new JPanel());
+		jTabbedPane.addChangeListener(new ChangeListener() {
+			
+			@Override
+			public void stateChanged(ChangeEvent e) {
+				int index = jTabbedPane.getSelectedIndex();
+				if(index == RULES_TAB && rulesPanel == null) {
+					long start = StartupTrace.begin();
+					rulesPanel = new RulesPanel();
+					jTabbedPane.setComponentAt(RULES_TAB, rulesPanel);
+					StartupTrace.end("rules tab", start);
+				} else if(index == HISTORY_TAB && historyPanel == null) {
+					long start = StartupTrace.begin();
+					historyPanel = new HistoryPanel();
+					jTabbedPane.setComponentAt(HISTORY_TAB, historyPanel);
+					StartupTrace.end("history tab", start);
+				}
+			}
+		});
 		
 		//Add JTabbedPane to ContentPane
 		this.getContentPane().add(jTabbedPane);
@@ -111,11 +148,25 @@ public class MemoryGameFrame extends JFrame implements IMemoryGameGui{
 
 			@Override
 			public void actionPerformed(ActionEvent arg0) {
+				stopReplay();
 				new NewPlayerDialog(MemoryGameFrame.this, "");
 			}
 			
 		});
 		
+		//Create "Open Replay" menu item. It lets user pick a recorded game and the level
+		//where the replay starts.
+		JMenuItem fileOpenReplay = new JMenuItem(this.bundle.getString("openReplay"));
+		fileOpenReplay.setMnemonic(KeyEvent.VK_R);
+		fileOpenReplay.addActionListener(new ActionListener() {
+
+			@Override
+			public void actionPerformed(ActionEvent arg0) {
+				openReplay();
+			}
+			
+		});
+		
 		//Create "Exit" menu item, attach key event, and attach action listener.
 		JMenuItem fileExit = new JMenuItem(this.bundle.getString("exit"));
 		fileExit.setMnemonic(KeyEvent.VK_E);
@@ -130,6 +181,7 @@ public class MemoryGameFrame extends JFrame implements IMemoryGameGui{
 		
 		//Add menu items to file menu
 		jMenuFile.add(fileNewGame);
+		jMenuFile.add(fileOpenReplay);
 		jMenuFile.addSeparator();
 		jMenuFile.add(fileExit);
 		
@@ -197,6 +249,19 @@ public class MemoryGameFrame extends JFrame implements IMemoryGameGui{
 		
 		difficultyButtonGroup.add(this.hardSelect);
 		
+		//Option "Expert", a flash every 90 milliseconds
+		this.expertSelect = new JRadioButtonMenuItem(this.bundle.getString("expert"));
+		this.expertSelect.setMnemonic(KeyEvent.VK_X);
+		this.expertSelect.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				MemoryGameController.getInstance().setDifficulty(MemoryGameController.EXPERT_DIFFICULTY);
+			}
+		});
+		
+		difficultyButtonGroup.add(this.expertSelect);
+		
 		//Create color menu (user can select a light or dark theme) and sound menu (sound on or off)
 		JMenu colorMenu = new JMenu(this.bundle.getString("theme"));
 		colorMenu.setMnemonic(KeyEvent.VK_T);
@@ -251,10 +316,10 @@ public class MemoryGameFrame extends JFrame implements IMemoryGameGui{
 		soundOnSelect.setSelected(true);
 		soundOnSelect.addActionListener(new ActionListener() {
 			
-			//When selected --> sound is on and velocity is set to 80 in gamePanel
+			//When selected --> sound is on
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				gamePanel.setVelocity(80);
+				MemoryGameController.getInstance().setIsSoundOn(true);
 				
 			}
 		});
@@ -264,25 +329,55 @@ public class MemoryGameFrame extends JFrame implements IMemoryGameGui{
 		soundOffSelect.setMnemonic(KeyEvent.VK_F);
 		soundOffSelect.addActionListener(new ActionListener() {
 			
-			//When selected --> sound is off and velocity is set to 0 in gamePanel
+			//When selected --> sound is off, no tone is synthesized
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				gamePanel.setVelocity(0);
+				MemoryGameController.getInstance().setIsSoundOn(false);
 				
 			}
 		});
 		soundButtonGroup.add(soundOffSelect);
 		
+		//A second button group selects how the tones are played: MIDI synthesizer or PCM samples
+		ButtonGroup audioOutputButtonGroup = new ButtonGroup();
+		JRadioButtonMenuItem midiSelect = new JRadioButtonMenuItem(this.bundle.getString("midi"));
+		midiSelect.setMnemonic(KeyEvent.VK_M);
+		midiSelect.setSelected(!PcmToneBackend.NAME.equals(System.getProperty(AudioService.BACKEND_PROPERTY)));
+		midiSelect.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				MemoryGameController.getInstance().setAudioBackend(MidiToneBackend.NAME);
+			}
+		});
+		audioOutputButtonGroup.add(midiSelect);
+		
+		JRadioButtonMenuItem pcmSelect = new JRadioButtonMenuItem(this.bundle.getString("pcm"));
+		pcmSelect.setMnemonic(KeyEvent.VK_P);
+		pcmSelect.setSelected(PcmToneBackend.NAME.equals(System.getProperty(AudioService.BACKEND_PROPERTY)));
+		pcmSelect.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				MemoryGameController.getInstance().setAudioBackend(PcmToneBackend.NAME);
+			}
+		});
+		audioOutputButtonGroup.add(pcmSelect);
+		
 		//Add everything to the right place
 		this.difficultyMenu.add(this.easySelect);
 		this.difficultyMenu.add(this.mediumSelect);
 		this.difficultyMenu.add(this.hardSelect);
+		this.difficultyMenu.add(this.expertSelect);
 		
 		colorMenu.add(lightColorSelect);
 		colorMenu.add(darkColorSelect);
 		
 		this.soundMenu.add(soundOnSelect);
 		this.soundMenu.add(soundOffSelect);
+		this.soundMenu.addSeparator();
+		this.soundMenu.add(midiSelect);
+		this.soundMenu.add(pcmSelect);
 		
 		uiMenu.add(colorMenu);
 		uiMenu.add(this.soundMenu);
@@ -297,6 +392,60 @@ public class MemoryGameFrame extends JFrame implements IMemoryGameGui{
 
 	}
 
+	/**
+	 * <p>This method shows a file chooser in the recordings directory. The selected
+	 * recording is replayed from the level chosen by the user.</p>
+	 */
+	private void openReplay() {
+		JFileChooser chooser = new JFileChooser(MemoryGameController.getRecordingDirectory());
+		chooser.setFileFilter(new FileNameExtensionFilter(this.bundle.getString("recordings"), SessionRecorder.FILE_EXTENSION.substring(1)));
+		if(chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+			return;
+		}
+		
+		SessionRecording recording;
+		try {
+			recording = new SessionRecording(chooser.getSelectedFile());
+		} catch(IOException iox) {
+			JOptionPane.showMessageDialog(this, this.bundle.getString("replayError") + iox.getMessage());
+			return;
+		}
+		
+		//Let user choose the level, the first level of the recording is the default
+		Integer[] levels = new Integer[recording.getLevelCount()];
+		for(int i = 0; i < levels.length; i++) {
+			levels[i] = recording.getLevel(i);
+		}
+		Object level = JOptionPane.showInputDialog(this, this.bundle.getString("replayLevel"), this.bundle.getString("openReplay"), 
+				JOptionPane.QUESTION_MESSAGE, null, levels, levels.length > 0 ? levels[0] : null);
+		if(level == null) {
+			return;
+		}
+		
+		stopReplay();
+		this.replayDriver = new ReplayDriver(this, recording);
+		this.replayDriver.start((Integer) level);
+	}
+	
+	/**
+	 * <p>This method stops the replay which is running, if there is one.</p>
+	 */
+	private void stopReplay() {
+		if(this.replayDriver != null) {
+			this.replayDriver.stop();
+			this.replayDriver = null;
+		}
+	}
+	
+	/**
+	 * <p>Accessor method which returns the panel of the current game.</p>
+	 * 
+	 * @return gamePanel, or null if no game was started yet.
+	 */
+	public GamePanel getGamePanel() {
+		return this.gamePanel;
+	}
+
 	/**
 	 * <p>Implemented {@link IMemoryGameGui} method. It does the following:
 	 * <ul>
@@ -320,8 +469,13 @@ public class MemoryGameFrame extends JFrame implements IMemoryGameGui{
 			this.easySelect.setSelected(true);
 		} else if(difficulty == MemoryGameController.MEDIUM_DIFFICULTY) {
 			this.mediumSelect.setSelected(true);
-		} else {
+		} else if(difficulty == MemoryGameController.HARD_DIFFICULTY) {
 			this.hardSelect.setSelected(true);
+		} else {
+			this.expertSelect.setSelected(true);
+		}
+		if(this.gamePanel != null) {
+			this.gamePanel.stopPlayback();
 		}
 		this.gamePanel = new GamePanel(optionsPanel.getIsDarkColor());
 		this.getContentPane().removeAll();
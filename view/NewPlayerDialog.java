@@ -30,7 +30,7 @@ public class NewPlayerDialog extends JDialog implements KeyListener {
 	 * <p>This dialog is displayed every time a new game is started. This class extends 
 	 * {@link JDialog} and implements {@link KeyListener}.</p>
 	 * 
-	 * <p>Date of last modification: 27/11/2015.</p>
+	 * <p>Date of last modification: 18/10/2026.</p>
 	 * 
 	 * @author Csaba Farkas csaba.farkas@mycit.ie
 	 */
@@ -97,17 +97,18 @@ public class NewPlayerDialog extends JDialog implements KeyListener {
 		//a new game is created.
 		this.nameField.addKeyListener(this);
 		
-		//Create slider with 3 ticks and label them with custom labels, using a hashtable.
+		//Create slider with 4 ticks and label them with custom labels, using a hashtable.
 		//Slider snaps to each tick
 		this.sliderLabel = new JLabel(this.bundle.getString("difficulty"));
-		this.slider = new JSlider();
-		this.slider.setMajorTickSpacing(50);
+		this.slider = new JSlider(0, 99, 33);
+		this.slider.setMajorTickSpacing(33);
 		this.slider.setPaintTicks(true);
 		this.slider.addKeyListener(this);
 		Hashtable<Integer, JLabel> table = new Hashtable<>();
 		table.put(0, new JLabel(this.bundle.getString("easy")));
-		table.put(50, new JLabel(this.bundle.getString("medium")));
-		table.put(99, new JLabel(this.bundle.getString("hard")));
+		table.put(33, new JLabel(this.bundle.getString("medium")));
+		table.put(66, new JLabel(this.bundle.getString("hard")));
+		table.put(99, new JLabel(this.bundle.getString("expert")));
 		this.slider.setLabelTable(table);
 		this.slider.setPaintLabels(true);
 		this.slider.setSnapToTicks(true);
@@ -219,10 +220,12 @@ public class NewPlayerDialog extends JDialog implements KeyListener {
 		//Create game
 		if(slider.getValue() == 0) {
 			MemoryGameController.getInstance().createNewGame(MemoryGameController.EASY_DIFFICULTY);
-		} else if(slider.getValue() == 50) {
+		} else if(slider.getValue() == 33) {
 			MemoryGameController.getInstance().createNewGame(MemoryGameController.MEDIUM_DIFFICULTY);
-		} else {
+		} else if(slider.getValue() == 66) {
 			MemoryGameController.getInstance().createNewGame(MemoryGameController.HARD_DIFFICULTY);
+		} else {
+			MemoryGameController.getInstance().createNewGame(MemoryGameController.EXPERT_DIFFICULTY);
 		}
 		
 		MemoryGameController.getInstance().getGuiReference().runGame();
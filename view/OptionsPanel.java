@@ -8,6 +8,7 @@ import java.awt.Shape;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.awt.font.FontRenderContext;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
 import java.util.ArrayList;
@@ -15,24 +16,35 @@ import java.util.ResourceBundle;
 
 import javax.swing.BorderFactory;
 import javax.swing.JFrame;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.border.BevelBorder;
 
 import controller.MemoryGameController;
+import monitoring.PanelMetrics;
+import monitoring.StartupTrace;
 
 public class OptionsPanel extends JPanel {
 	
 	/**
 	 * <p>A custom JPanel which is displayed when the game is started. It contains to 
-	 * custom buttons (New Game, and Exit) and a title.</p>
+	 * custom buttons (New Game, Load Game and Exit) and a title. Load Game resumes the
+	 * last unfinished game at the start of its last level.</p>
 	 * 
-	 * <p>Date of last modification: 27/11/2015.</p>
+	 * <p>Date of last modification: 18/10/2026.</p>
 	 * 
 	 * @author Csaba Farkas csaba.farkas@mycit.ie
 	 */
 	
 	private static final long serialVersionUID = -4098926890860876544L;
 	
+	//Number of paints and time spent painting this panel
+	private static final PanelMetrics PAINT_METRICS = new PanelMetrics("OptionsPanel");
+	
+	//Font of the title and of the buttons
+	private static final String TEXT_FONT = "Arial";
+	private static final int TEXT_SIZE = 35;
+	
 	//final static Color variables used when different color themes are selected.
 	private final static Color DARK_BUTTON_BGCOLOR = new Color(39, 36, 49);
 	private final static Color DARK_BUTTON_BGCOLOR_ONHOVER = new Color(88, 87, 96);
@@ -45,17 +57,24 @@ public class OptionsPanel extends JPanel {
 	//Field variables
 	private boolean isDarkColor;
 	private boolean newGameIsOnHover;
+	private boolean loadGameIsOnHover;
 	private boolean exitIsOnHover;
 	private boolean newGameButtonPressed;
+	private boolean loadGameButtonPressed;
 	private boolean exitButtonPressed;
 	private final JFrame parent;
 	private Shape newGameButton;
+	private Shape loadGameButton;
 	private Shape exitButton;
 	private ArrayList<String> buttonLabels;
 	private ResourceBundle bundle;
+	private String gameName;
+	private final TextCache.Label[] textLabels = TextCache.createLabels(4);
 	private Color newGameBgColor;
+	private Color loadGameBgColor;
 	private Color exitBgColor;
 	private Color newGameLabelColor;
+	private Color loadGameLabelColor;
 	private Color exitLabelColor;
 	
 	/**
@@ -74,18 +93,23 @@ public class OptionsPanel extends JPanel {
 		//Or press any button. Buttons are changing their colors when hovering over them, or 
 		//when they are pressed.
 		this.newGameIsOnHover = false;
+		this.loadGameIsOnHover = false;
 		this.exitIsOnHover = false;
 		this.newGameButtonPressed = false;
+		this.loadGameButtonPressed = false;
 		this.exitButtonPressed = false;
 		this.parent = parent;
 		
 		//Create a border and create the ResourceBundle
 		this.setBorder(BorderFactory.createBevelBorder(BevelBorder.RAISED, Color.BLACK, Color.GRAY));
 		this.bundle = ResourceBundle.getBundle("view.optionsPanelProps");
+		this.gameName = this.bundle.getString("gameName");
+		TextCache.getInstance().invalidateOnChange(this);
 		
-		//Create an ArrayList to store the text which is displayed in the two buttons
+		//Create an ArrayList to store the text which is displayed in the three buttons
 		this.buttonLabels = new ArrayList<String>();
 		this.buttonLabels.add(this.bundle.getString("newGame"));
+		this.buttonLabels.add(this.bundle.getString("loadGame"));
 		this.buttonLabels.add(this.bundle.getString("exit"));
 		
 		//Add a MouseMotionListener to the panel so it can be detected when user hovers the mouse over a 
@@ -101,12 +125,17 @@ public class OptionsPanel extends JPanel {
 				if(newGameButton.contains(e.getPoint())) {
 					newGameIsOnHover = true;
 					repaint();
+				} else if(loadGameButton.contains(e.getPoint())) {
+					loadGameIsOnHover = true;
+					repaint();
 				} else if(exitButton.contains(e.getPoint())) {
 					exitIsOnHover = true;
 					repaint();
 				} else if(newGameBgColor.equals(DARK_BUTTON_BGCOLOR_ONHOVER) || exitBgColor.equals(DARK_BUTTON_BGCOLOR_ONHOVER)
-					   || newGameBgColor.equals(LIGHT_BUTTON_BGCOLOR_ONHOVER) || exitBgColor.equals(LIGHT_BUTTON_BGCOLOR_ONHOVER)) {
+					   || newGameBgColor.equals(LIGHT_BUTTON_BGCOLOR_ONHOVER) || exitBgColor.equals(LIGHT_BUTTON_BGCOLOR_ONHOVER)
+					   || loadGameBgColor.equals(DARK_BUTTON_BGCOLOR_ONHOVER) || loadGameBgColor.equals(LIGHT_BUTTON_BGCOLOR_ONHOVER)) {
 					newGameIsOnHover = false;
+					loadGameIsOnHover = false;
 					exitIsOnHover = false;
 			
 					repaint();
@@ -129,10 +158,19 @@ public class OptionsPanel extends JPanel {
 				//If "New Game" button was clicked, a NewPlayerDialog" called
 				if(newGameButton.contains(arg0.getPoint())) {
 					new NewPlayerDialog(parent, "");
+				} else if(loadGameButton.contains(arg0.getPoint())) {
+					//If "Load Game" was clicked, the last unfinished game is resumed from its checkpoint
+					if(MemoryGameController.getInstance().loadGame()) {
+						MemoryGameController.getInstance().getGuiReference().runGame();
+					} else {
+						JOptionPane.showMessageDialog(parent, bundle.getString("noSavedGame"));
+					}
 				} else if(exitButton.contains(arg0.getPoint())) {
 					//If player clicks on "Exit", total score is saved (maybe it's not necessary, I just wanted to make sure it's saved)
-					//And program exits.
-					MemoryGameController.getInstance().getDataPersistor().write(MemoryGameController.getInstance().getHighScore());
+					//And program exits. The shutdown hook of the persistor finishes the write.
+					if(MemoryGameController.getInstance().getDataPersistor() != null) {
+						MemoryGameController.getInstance().getDataPersistor().write(MemoryGameController.getInstance().getHighScore());
+					}
 					System.exit(0);
 				}
 				
@@ -155,6 +193,9 @@ public class OptionsPanel extends JPanel {
 				if(newGameButton.contains(arg0.getPoint())) {
 					newGameButtonPressed = true;
 					repaint();
+				} else if(loadGameButton.contains(arg0.getPoint())) {
+					loadGameButtonPressed = true;
+					repaint();
 				} else if(exitButton.contains(arg0.getPoint())) {
 					exitButtonPressed = true;
 					repaint();
@@ -166,6 +207,7 @@ public class OptionsPanel extends JPanel {
 			@Override
 			public void mouseReleased(MouseEvent arg0) {
 				newGameButtonPressed = false;
+				loadGameButtonPressed = false;
 				exitButtonPressed = false;
 				repaint();
 			}
@@ -179,6 +221,7 @@ public class OptionsPanel extends JPanel {
 	 */
 	@Override
 	public void paintComponent(Graphics g) {
+		long paintStart = PAINT_METRICS.paintStarted();
 		Graphics2D g2d = (Graphics2D) g;
 		super.paintComponent(g);
 		
@@ -187,18 +230,22 @@ public class OptionsPanel extends JPanel {
 		if(this.isDarkColor) {
 			this.setBackground(Color.GRAY);
 			this.newGameBgColor = DARK_BUTTON_BGCOLOR; 
+			this.loadGameBgColor = DARK_BUTTON_BGCOLOR;
 			this.exitBgColor = DARK_BUTTON_BGCOLOR;
 			this.newGameLabelColor = Color.WHITE;
+			this.loadGameLabelColor = Color.WHITE;
 			this.exitLabelColor = Color.WHITE;
 		} else {
 			this.setBackground(Color.WHITE);
 			this.newGameBgColor = LIGHT_BUTTON_BGCOLOR;
+			this.loadGameBgColor = LIGHT_BUTTON_BGCOLOR;
 			this.exitBgColor = LIGHT_BUTTON_BGCOLOR;
 			this.newGameLabelColor = Color.BLACK;
+			this.loadGameLabelColor = Color.BLACK;
 			this.exitLabelColor = Color.BLACK;
 		}
 		
-		//Check if mouse is hovered over "New Game" button, "Exit Button" or 
+		//Check if mouse is hovered over "New Game" button, "Load Game" button, "Exit Button" or 
 		//no button, and use different colors
 		//if light or dark theme is selected to indicate mouse hover.
 		if(this.newGameIsOnHover) {
@@ -209,6 +256,14 @@ public class OptionsPanel extends JPanel {
 				newGameBgColor = LIGHT_BUTTON_BGCOLOR_ONHOVER;
 				newGameLabelColor = LIGHT_LABEL_COLOR_ONHOVER;
 			}
+		} else if(this.loadGameIsOnHover) {
+			if(this.isDarkColor) {
+				loadGameBgColor = DARK_BUTTON_BGCOLOR_ONHOVER;
+				loadGameLabelColor = DARK_LABEL_COLOR_ONHOVER;
+			} else {
+				loadGameBgColor = LIGHT_BUTTON_BGCOLOR_ONHOVER;
+				loadGameLabelColor = LIGHT_LABEL_COLOR_ONHOVER;
+			}
 		} else if(this.exitIsOnHover) {
 			if(this.isDarkColor) {
 				exitBgColor = DARK_BUTTON_BGCOLOR_ONHOVER;
@@ -219,9 +274,11 @@ public class OptionsPanel extends JPanel {
 			}
 		}
 		
-		//If any of the two buttons is pressed paint them red
+		//If any of the three buttons is pressed paint them red
 		if(this.newGameButtonPressed) {
 			newGameBgColor = Color.RED;
+		} else if(this.loadGameButtonPressed) {
+			loadGameBgColor = Color.RED;
 		} else if(this.exitButtonPressed) {
 			exitBgColor = Color.RED;
 		}
@@ -236,8 +293,10 @@ public class OptionsPanel extends JPanel {
 		double buttonsWidth = 300;
 		double buttonsHeight = 70;
 		
-		g2d.setFont(new Font("Arial", Font.BOLD, 35));
-		textWidth = (int) g2d.getFontMetrics().getStringBounds(this.bundle.getString("gameName"), g2d).getWidth();
+		//The texts are laid out and measured once, by the TextCache
+		FontRenderContext frc = g2d.getFontRenderContext();
+		TextCache.Text text = this.textLabels[0].get(this.gameName, TEXT_FONT, Font.BOLD, TEXT_SIZE, frc);
+		textWidth = text.getWidth();
 		
 		//Draw the title of the panel: "SIMON MEMORY GAME". Use white color if dark theme is selected, and
 		//use black color if dark theme is selected.
@@ -246,7 +305,7 @@ public class OptionsPanel extends JPanel {
 		} else {
 			g2d.setColor(Color.BLACK);
 		}
-		g2d.drawString(this.bundle.getString("gameName"), width/2 - textWidth/2, verticalOffset);
+		text.draw(g2d, width/2 - textWidth/2, verticalOffset);
 
 		//variable which calculates the offset between two buttons
 		double offsetMultiplier = 0.25;
@@ -261,8 +320,9 @@ public class OptionsPanel extends JPanel {
 		Rectangle2D r2d = this.newGameButton.getBounds2D();
 		
 		//Get the width and height of the string which is to be drawn into the button
-		textWidth = (int) g2d.getFontMetrics().getStringBounds(this.buttonLabels.get(0), g2d).getWidth();
-		textHeight = (int) g2d.getFontMetrics().getStringBounds(this.buttonLabels.get(0), g2d).getHeight();
+		text = this.textLabels[1].get(this.buttonLabels.get(0), TEXT_FONT, Font.BOLD, TEXT_SIZE, frc);
+		textWidth = text.getWidth();
+		textHeight = text.getHeight();
 		
 		//Set color and draw it with "fill" command
 		g2d.setColor(this.newGameBgColor);
@@ -277,18 +337,33 @@ public class OptionsPanel extends JPanel {
 		//Draw text in the middle of the button. To get the x coordinate, I subtracted half the width of the string from half the width of 
 		//the screen. To get the Y coordinate, I subtracted the (third of text height subtracted from height of button) from the coordinate of
 		//the bottom of the button.
-		g2d.drawString(this.buttonLabels.get(0), width/2 - textWidth/2, (int) (r2d.getY() + r2d.getHeight() - r2d.getHeight()/2 + textHeight/3));
+		text.draw(g2d, width/2 - textWidth/2, (int) (r2d.getY() + r2d.getHeight() - r2d.getHeight()/2 + textHeight/3));
+		
+		//Load Game and Exit buttons are painted in the same way as New Game button was.
+		this.loadGameButton = new RoundRectangle2D.Double(width/2 - buttonsWidth/2, verticalOffset, buttonsWidth, buttonsHeight, 10.0, 10.0);
+		r2d = this.loadGameButton.getBounds2D();
+		text = this.textLabels[2].get(this.buttonLabels.get(1), TEXT_FONT, Font.BOLD, TEXT_SIZE, frc);
+		textWidth = text.getWidth();
+		textHeight = text.getHeight();
+		g2d.setColor(this.loadGameBgColor);
+		g2d.fill(this.loadGameButton);
+		verticalOffset += r2d.getHeight() + 15;
+		g2d.setColor(this.loadGameLabelColor);
+		text.draw(g2d, width/2 - textWidth/2, (int) (r2d.getY() + r2d.getHeight() - r2d.getHeight()/2 + textHeight/3));
 		
-		//Exit button is painted in the same way as New Game button was.
 		this.exitButton = new RoundRectangle2D.Double(width/2 - buttonsWidth/2, verticalOffset, buttonsWidth, buttonsHeight, 10.0, 10.0);
 		r2d = this.exitButton.getBounds2D();
-		textWidth = (int) g2d.getFontMetrics().getStringBounds(this.buttonLabels.get(1), g2d).getWidth();
-		textHeight = (int) g2d.getFontMetrics().getStringBounds(this.buttonLabels.get(1), g2d).getHeight();
+		text = this.textLabels[3].get(this.buttonLabels.get(2), TEXT_FONT, Font.BOLD, TEXT_SIZE, frc);
+		textWidth = text.getWidth();
+		textHeight = text.getHeight();
 		g2d.setColor(this.exitBgColor);
 		g2d.fill(this.exitButton);
 		verticalOffset += r2d.getHeight() + 15;
 		g2d.setColor(this.exitLabelColor);
-		g2d.drawString(this.buttonLabels.get(1), width/2 - textWidth/2, (int) (r2d.getY() + r2d.getHeight() - r2d.getHeight()/2 + textHeight/3));
+		text.draw(g2d, width/2 - textWidth/2, (int) (r2d.getY() + r2d.getHeight() - r2d.getHeight()/2 + textHeight/3));
+		
+		PAINT_METRICS.paintFinished(paintStart);
+		StartupTrace.firstFrame();
 	}
 	
 	public void setIsDarkColor(boolean isDarkColor) {
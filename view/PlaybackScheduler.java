@@ -0,0 +1,258 @@
+package view;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import audio.AudioService;
+import interfaces.IPlaybackListener;
+import monitoring.GameEvents;
+import monitoring.GameMetrics;
+import monitoring.LatencyHistogram;
+
+public class PlaybackScheduler {
+
+	/**
+	 * <p>Plays back the color sequence of a level, and turns off the buttons lit by the
+	 * player, with deadlines measured by System.nanoTime().</p>
+	 * <p>Every deadline is absolute: button k of the sequence is lit at start + (k + 1) *
+	 * period and turned off "on" milliseconds later, whenever the previous button was
+	 * actually lit. So a late button doesn't delay the ones after it, and the error
+	 * doesn't add up over a long sequence. The deadlines are kept by one shared
+	 * "simon-playback" thread:</p>
+	 * <ul>
+	 * <li>At the deadline of a button, the tone is started on the playback thread, and the
+	 * button is lit on the Event Dispatch Thread with IPlaybackListener.buttonOn().</li>
+	 * <li>At the end of its on time, it is turned off with IPlaybackListener.buttonOff(),
+	 * unless the same button was lit again in the meantime.</li>
+	 * </ul>
+	 * <p>The lateness of every tone and of every lit button is recorded. When the last button
+	 * of the level is turned off, the statistics of the level are committed as a
+	 * {@link monitoring.PlaybackJitterEvent}.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Deadlines of every game panel are kept by this one thread
+	private static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+	/**
+	 * <p>State of the playback of one level.</p>
+	 */
+	private static class Playback {
+		private final int[] colors;
+		private final PlaybackTiming timing;
+		private final int level;
+		private final long startNanos;
+		private final int[] generations;
+		private final LatencyHistogram audioLateness;
+		private final LatencyHistogram visualLateness;
+		private volatile boolean isCancelled;
+
+		private Playback(int[] colors, PlaybackTiming timing, int level) {
+			this.colors = colors;
+			this.timing = timing;
+			this.level = level;
+			this.startNanos = System.nanoTime();
+			this.generations = new int[colors.length];
+			this.audioLateness = new LatencyHistogram("playback audio");
+			this.visualLateness = new LatencyHistogram("playback visual");
+		}
+
+		private long onDeadline(int index) {
+			return this.startNanos + (index + 1) * TimeUnit.MILLISECONDS.toNanos(this.timing.getPeriodMillis());
+		}
+
+		private long offDeadline(int index) {
+			return onDeadline(index) + TimeUnit.MILLISECONDS.toNanos(this.timing.getOnMillis());
+		}
+	}
+
+	//Instance variables
+	private final IPlaybackListener listener;
+	private final int[] generations;
+	private Playback playback;
+
+	/**
+	 * <p>Constructor method creates an instance of this class.</p>
+	 *
+	 * @param listener which shows the buttons, e.g. the {@link GamePanel}.
+	 * @param buttons number of buttons.
+	 */
+	public PlaybackScheduler(IPlaybackListener listener, int buttons) {
+		this.listener = listener;
+		this.generations = new int[buttons];
+	}
+
+	/**
+	 * <p>Method starts playing back a sequence. The playback which is running is
+	 * cancelled. It must be called on the Event Dispatch Thread.</p>
+	 *
+	 * @param colors the colors of the sequence.
+	 * @param timing on and off times of the buttons.
+	 * @param level level whose sequence is played.
+	 */
+	public void play(int[] colors, PlaybackTiming timing, int level) {
+		cancel();
+		if(colors.length == 0) {
+			return;
+		}
+		this.playback = new Playback(colors, timing, level);
+		scheduleOn(this.playback, 0);
+	}
+
+	/**
+	 * <p>Method is called after a button was lit by the player. The button is turned off
+	 * after the given time, unless it is lit again before that. It must be called on the
+	 * Event Dispatch Thread.</p>
+	 *
+	 * @param button index of the button.
+	 * @param onMillis how long the button stays lit.
+	 */
+	public void lit(final int button, long onMillis) {
+		final int generation = ++this.generations[button];
+		schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				SwingUtilities.invokeLater(new Runnable() {
+
+					@Override
+					public void run() {
+						if(generations[button] == generation) {
+							listener.buttonOff(button);
+						}
+					}
+				});
+			}
+		}, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(onMillis));
+	}
+
+	/**
+	 * <p>Method stops the playback which is running. Buttons which are lit are still
+	 * turned off.</p>
+	 */
+	public void cancel() {
+		if(this.playback != null) {
+			this.playback.isCancelled = true;
+			this.playback = null;
+		}
+	}
+
+	/**
+	 * <p>Private method which schedules the button at the index of the sequence. The tone
+	 * is started on the playback thread, which is closest to the deadline.</p>
+	 */
+	private void scheduleOn(final Playback playback, final int index) {
+		final long deadline = playback.onDeadline(index);
+		schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				if(playback.isCancelled) {
+					return;
+				}
+				int color = playback.colors[index];
+				AudioService.getInstance().playTone(color, playback.timing.getOnMillis());
+				long lateness = System.nanoTime() - deadline;
+				playback.audioLateness.record(lateness);
+				GameMetrics.PLAYBACK_LATENESS_AUDIO.record(lateness);
+				SwingUtilities.invokeLater(new Runnable() {
+
+					@Override
+					public void run() {
+						lightUp(playback, index, deadline);
+					}
+				});
+				scheduleOff(playback, index);
+				if(index + 1 < playback.colors.length) {
+					scheduleOn(playback, index + 1);
+				}
+			}
+		}, deadline);
+	}
+
+	/**
+	 * <p>Private method which schedules turning off the button at the index of the
+	 * sequence.</p>
+	 */
+	private void scheduleOff(final Playback playback, final int index) {
+		schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				SwingUtilities.invokeLater(new Runnable() {
+
+					@Override
+					public void run() {
+						turnOff(playback, index);
+					}
+				});
+			}
+		}, playback.offDeadline(index));
+	}
+
+	/**
+	 * <p>Private method which lights a button of the sequence, on the Event Dispatch Thread.</p>
+	 */
+	private void lightUp(Playback playback, int index, long deadline) {
+		if(playback.isCancelled) {
+			return;
+		}
+		long lateness = System.nanoTime() - deadline;
+		playback.visualLateness.record(lateness);
+		GameMetrics.PLAYBACK_LATENESS_VISUAL.record(lateness);
+		int color = playback.colors[index];
+		playback.generations[index] = ++this.generations[color];
+		this.listener.buttonOn(color, index);
+	}
+
+	/**
+	 * <p>Private method which turns off a button of the sequence, on the Event Dispatch
+	 * Thread, and commits the statistics after the last one.</p>
+	 */
+	private void turnOff(Playback playback, int index) {
+		int color = playback.colors[index];
+		if(this.generations[color] == playback.generations[index]) {
+			this.listener.buttonOff(color);
+		}
+		if(index == playback.colors.length - 1 && !playback.isCancelled) {
+			GameEvents.playbackJitter(playback.level, playback.colors.length, playback.timing.getPeriodMillis(),
+					playback.audioLateness, playback.visualLateness);
+			if(this.playback == playback) {
+				this.playback = null;
+			}
+		}
+	}
+
+	/**
+	 * <p>Private static method which runs a task at an absolute deadline of System.nanoTime().</p>
+	 */
+	private static void schedule(Runnable task, long deadline) {
+		try {
+			EXECUTOR.schedule(task, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		} catch(RejectedExecutionException rex) {
+			//The program is exiting
+		}
+	}
+
+	/**
+	 * <p>Private static method which creates the playback thread.</p>
+	 */
+	private static ScheduledThreadPoolExecutor createExecutor() {
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "simon-playback");
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MAX_PRIORITY);
+				return thread;
+			}
+		});
+		executor.setRemoveOnCancelPolicy(true);
+		return executor;
+	}
+}
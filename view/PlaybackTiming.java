@@ -0,0 +1,114 @@
+package view;
+
+import controller.MemoryGameController;
+
+public class PlaybackTiming {
+
+	/**
+	 * <p>How long a button of the color sequence is lit ("on") and how long the board is
+	 * dark before the next button ("off"). The period, on + off, is the difficulty of the
+	 * game. By default a button is lit for half a second, or for two thirds of the period
+	 * when the period is shorter than 750 ms (e.g. 60 ms on, 30 ms off in expert mode).</p>
+	 * <p>The timing of a difficulty can be changed with a system property, e.g.
+	 * -Dsimon.playback.hard=400/600 or -Dsimon.playback.expert=50/40.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final String PROPERTY_PREFIX = "simon.playback.";
+
+	//A button is never lit for longer than this many milliseconds by default
+	private static final int MAX_ON_MILLIS = 500;
+
+	//Instance variables
+	private final int onMillis;
+	private final int offMillis;
+
+	/**
+	 * <p>Constructor method creates an instance of this class.</p>
+	 *
+	 * @param onMillis how long a button is lit.
+	 * @param offMillis how long the board is dark between two buttons.
+	 */
+	public PlaybackTiming(int onMillis, int offMillis) {
+		if(onMillis <= 0 || offMillis < 0) {
+			throw new IllegalArgumentException("Invalid playback timing " + onMillis + "/" + offMillis);
+		}
+		this.onMillis = onMillis;
+		this.offMillis = offMillis;
+	}
+
+	/**
+	 * <p>Static method which returns the timing of a difficulty, taking the system
+	 * property of the difficulty into account.</p>
+	 *
+	 * @param difficulty delay between two flashes in milliseconds.
+	 * @return the timing.
+	 */
+	public static PlaybackTiming forDifficulty(int difficulty) {
+		String value = System.getProperty(PROPERTY_PREFIX + nameOf(difficulty));
+		if(value != null) {
+			String[] parts = value.split("/");
+			try {
+				return new PlaybackTiming(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+			} catch(RuntimeException rex) {
+				System.out.println("Ignoring " + PROPERTY_PREFIX + nameOf(difficulty) + "=" + value + ": " + rex.getMessage());
+			}
+		}
+		int on = Math.min(MAX_ON_MILLIS, difficulty * 2 / 3);
+		return new PlaybackTiming(on, difficulty - on);
+	}
+
+	/**
+	 * <p>Static method which returns the name of a difficulty, as used in the system
+	 * properties.</p>
+	 *
+	 * @param difficulty delay between two flashes in milliseconds.
+	 * @return "easy", "medium", "hard", "expert", or the delay for any other value.
+	 */
+	public static String nameOf(int difficulty) {
+		switch(difficulty) {
+		case MemoryGameController.EASY_DIFFICULTY:
+			return "easy";
+		case MemoryGameController.MEDIUM_DIFFICULTY:
+			return "medium";
+		case MemoryGameController.HARD_DIFFICULTY:
+			return "hard";
+		case MemoryGameController.EXPERT_DIFFICULTY:
+			return "expert";
+		default:
+			return String.valueOf(difficulty);
+		}
+	}
+
+	/**
+	 * <p>Accessor method which returns how long a button is lit.</p>
+	 *
+	 * @return milliseconds.
+	 */
+	public int getOnMillis() {
+		return this.onMillis;
+	}
+
+	/**
+	 * <p>Accessor method which returns how long the board is dark between two buttons.</p>
+	 *
+	 * @return milliseconds.
+	 */
+	public int getOffMillis() {
+		return this.offMillis;
+	}
+
+	/**
+	 * <p>Accessor method which returns the time between the start of two buttons.</p>
+	 *
+	 * @return milliseconds.
+	 */
+	public int getPeriodMillis() {
+		return this.onMillis + this.offMillis;
+	}
+
+	@Override
+	public String toString() {
+		return this.onMillis + "/" + this.offMillis + " ms";
+	}
+}
@@ -0,0 +1,178 @@
+package view;
+
+public class PolarHitTester {
+
+	/**
+	 * <p>Finds the button under a point of the game board with a few multiplications and
+	 * one atan2, instead of testing the point against every CSG {@link java.awt.geom.Area}.
+	 * It only needs the size of the board, so it works before the board is painted.</p>
+	 * <p>The board is a ring around a center point, split into N equal segments which
+	 * follow each other clockwise. Segment k is a pie slice of the given radius starting
+	 * at angle firstStartAngle - k * 360 / N (degrees, counter-clockwise from 3 o'clock,
+	 * as in {@link java.awt.geom.Arc2D}). Every pie is pushed away from the center along
+	 * its bisector by the gap, which leaves the black lines between the buttons, and the
+	 * inner circle is cut out of every pie.</p>
+	 * <p>Because a pushed pie stays inside the angular sector of its segment (as seen from
+	 * the center of the board), the angle of the point selects the only candidate
+	 * segment, and two cross products and a distance check decide if the point is on it.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Instance variables
+	private final double centerX;
+	private final double centerY;
+	private final double innerRadiusSq;
+	private final double radius;
+	private final double radiusSq;
+	private final int segments;
+	private final double sweep;
+	private final double firstStartAngle;
+	private final double[] pieX;
+	private final double[] pieY;
+	private final double[] startX;
+	private final double[] startY;
+	private final double[] endX;
+	private final double[] endY;
+
+	/**
+	 * <p>Constructor method precomputes the pie centers and the edge directions of every
+	 * segment.</p>
+	 *
+	 * @param centerX x coordinate of the center of the board.
+	 * @param centerY y coordinate of the center of the board.
+	 * @param innerRadius radius of the inner circle, which is not part of any segment.
+	 * @param radius radius of the pie of a segment.
+	 * @param gap distance between the center of the board and the center of every pie.
+	 * @param segments number of segments, at least 2.
+	 * @param firstStartAngle start angle of segment 0 in degrees.
+	 */
+	public PolarHitTester(double centerX, double centerY, double innerRadius, double radius, double gap, int segments, double firstStartAngle) {
+		if(segments < 2) {
+			throw new IllegalArgumentException("At least 2 segments are needed: " + segments);
+		}
+		this.centerX = centerX;
+		this.centerY = centerY;
+		this.innerRadiusSq = innerRadius > 0 ? innerRadius * innerRadius : 0;
+		this.radius = radius;
+		this.radiusSq = radius > 0 ? radius * radius : 0;
+		this.segments = segments;
+		this.sweep = 360.0 / segments;
+		this.firstStartAngle = firstStartAngle;
+		this.pieX = new double[segments];
+		this.pieY = new double[segments];
+		this.startX = new double[segments];
+		this.startY = new double[segments];
+		this.endX = new double[segments];
+		this.endY = new double[segments];
+		for(int k = 0; k < segments; k++) {
+			double start = Math.toRadians(getStartAngle(k));
+			double end = Math.toRadians(getStartAngle(k) + this.sweep);
+			double bisector = Math.toRadians(getStartAngle(k) + this.sweep / 2);
+			//Directions are in screen coordinates, where y grows downwards
+			this.pieX[k] = centerX + gap * Math.cos(bisector);
+			this.pieY[k] = centerY - gap * Math.sin(bisector);
+			this.startX[k] = Math.cos(start);
+			this.startY[k] = -Math.sin(start);
+			this.endX[k] = Math.cos(end);
+			this.endY[k] = -Math.sin(end);
+		}
+	}
+
+	/**
+	 * <p>Method returns the segment under the point.</p>
+	 *
+	 * @param x coordinate of the point.
+	 * @param y coordinate of the point.
+	 * @return index of the segment, or -1 if the point is not on any segment.
+	 */
+	public int segmentAt(double x, double y) {
+		double dx = x - this.centerX;
+		double dy = y - this.centerY;
+		if(dx * dx + dy * dy < this.innerRadiusSq) {
+			return -1;
+		}
+
+		//The angle from the center of the board selects the candidate segment
+		double angle = Math.toDegrees(Math.atan2(-dy, dx));
+		double fromFirst = (this.firstStartAngle + this.sweep - angle) % 360.0;
+		if(fromFirst < 0) {
+			fromFirst += 360.0;
+		}
+		int k = (int) (fromFirst / this.sweep);
+		if(k >= this.segments) {
+			k = this.segments - 1;
+		}
+
+		//The point must be within the radius of the pie, and between its two edges
+		double px = x - this.pieX[k];
+		double py = y - this.pieY[k];
+		if(px * px + py * py > this.radiusSq) {
+			return -1;
+		}
+		//Cross products are negated, because y grows downwards on the screen
+		double fromStart = -(this.startX[k] * py - this.startY[k] * px);
+		double toEnd = -(px * this.endY[k] - py * this.endX[k]);
+		if(fromStart < 0 || toEnd < 0) {
+			return -1;
+		}
+		return k;
+	}
+
+	/**
+	 * <p>Accessor method which returns the start angle of a segment.</p>
+	 *
+	 * @param segment index of the segment.
+	 * @return angle in degrees between 0 and 360.
+	 */
+	public double getStartAngle(int segment) {
+		double angle = (this.firstStartAngle - segment * this.sweep) % 360.0;
+		return angle < 0 ? angle + 360.0 : angle;
+	}
+
+	/**
+	 * <p>Accessor method which returns the angular extent of every segment.</p>
+	 *
+	 * @return angle in degrees.
+	 */
+	public double getSweep() {
+		return this.sweep;
+	}
+
+	/**
+	 * <p>Accessor method which returns the x coordinate of the center of a pie.</p>
+	 *
+	 * @param segment index of the segment.
+	 * @return x coordinate.
+	 */
+	public double getPieCenterX(int segment) {
+		return this.pieX[segment];
+	}
+
+	/**
+	 * <p>Accessor method which returns the y coordinate of the center of a pie.</p>
+	 *
+	 * @param segment index of the segment.
+	 * @return y coordinate.
+	 */
+	public double getPieCenterY(int segment) {
+		return this.pieY[segment];
+	}
+
+	/**
+	 * <p>Accessor method which returns the radius of the pies.</p>
+	 *
+	 * @return radius.
+	 */
+	public double getRadius() {
+		return this.radius;
+	}
+
+	/**
+	 * <p>Accessor method which returns the number of segments.</p>
+	 *
+	 * @return number of segments.
+	 */
+	public int getSegmentCount() {
+		return this.segments;
+	}
+}
@@ -0,0 +1,118 @@
+package view;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.IOException;
+
+import javax.swing.Timer;
+
+import controller.MemoryGameController;
+import controller.SessionRecording;
+import model.GameState;
+
+public class ReplayDriver {
+
+	/**
+	 * <p>Replays a {@link SessionRecording} through the normal game screen. The game is
+	 * recreated from the seed at the start of the chosen level, then every recorded
+	 * press is fed to {@link GamePanel}.pressButton() after its recorded delay, so the
+	 * replay is painted and played exactly like a real game. When a press comes while
+	 * the sequence is still being shown, it waits until the game is listening again.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	//Delay used while waiting for the playback of the sequence to finish
+	private static final int WAIT_DELAY = 50;
+
+	//Instance variables
+	private final MemoryGameFrame frame;
+	private final SessionRecording recording;
+	private Timer timer;
+
+	/**
+	 * <p>Constructor method creates an instance of this class.</p>
+	 *
+	 * @param frame the frame the replay is shown in.
+	 * @param recording the recording to replay.
+	 */
+	public ReplayDriver(MemoryGameFrame frame, SessionRecording recording) {
+		this.frame = frame;
+		this.recording = recording;
+	}
+
+	/**
+	 * <p>Method starts the replay at the start of the given level.</p>
+	 *
+	 * @param level the level to start at, it must be one of the levels of the recording.
+	 */
+	public void start(int level) {
+		int keyframe = this.recording.seek(level);
+		MemoryGameController controller = MemoryGameController.getInstance();
+		controller.setIsReplaying(true);
+		controller.createPlayer(this.recording.getPlayerName());
+		controller.resumeGame(this.recording.getDifficulty(), this.recording.getSeed(), level, this.recording.getScore(keyframe));
+		controller.getGuiReference().runGame();
+
+		this.timer = new Timer(0, new ActionListener() {
+
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				step();
+			}
+		});
+		this.timer.setRepeats(false);
+		scheduleNext();
+	}
+
+	/**
+	 * <p>Method stops the replay.</p>
+	 */
+	public void stop() {
+		if(this.timer != null) {
+			this.timer.stop();
+		}
+		MemoryGameController.getInstance().setIsReplaying(false);
+	}
+
+	/**
+	 * <p>Private method which presses the pending button, or waits if the game is not
+	 * listening yet.</p>
+	 */
+	private void step() {
+		GameState state = MemoryGameController.getInstance().getEngine().getState();
+		if(state == GameState.GAME_OVER) {
+			stop();
+			return;
+		}
+		if(state != GameState.AWAITING_INPUT) {
+			this.timer.setInitialDelay(WAIT_DELAY);
+			this.timer.start();
+			return;
+		}
+		this.frame.getGamePanel().pressButton(this.recording.getColor());
+		if(MemoryGameController.getInstance().getEngine().getState() == GameState.GAME_OVER) {
+			stop();
+			return;
+		}
+		scheduleNext();
+	}
+
+	/**
+	 * <p>Private method which decodes the next press and starts the timer with its delay.</p>
+	 */
+	private void scheduleNext() {
+		if(!this.recording.hasNext()) {
+			stop();
+			return;
+		}
+		try {
+			this.recording.next();
+		} catch(IOException iox) {
+			System.out.println(iox.getMessage());
+			stop();
+			return;
+		}
+		this.timer.setInitialDelay((int) Math.min(Integer.MAX_VALUE, this.recording.getDeltaNanos() / 1000000L));
+		this.timer.start();
+	}
+}
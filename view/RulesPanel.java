@@ -8,11 +8,14 @@ import java.awt.Graphics2D;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.font.FontRenderContext;
 import java.util.ResourceBundle;
 
 import javax.swing.JComboBox;
 import javax.swing.JPanel;
 
+import monitoring.PanelMetrics;
+
 public class RulesPanel  extends JPanel {
 
 	/**
@@ -20,16 +23,24 @@ public class RulesPanel  extends JPanel {
 	 * JComboBox which allows user to change between night mode and 
 	 * day mode..</p>
 	 * 
-	 * <p>Date of last modification: 27/11/2015.</p>
+	 * <p>Date of last modification: 18/10/2026.</p>
 	 * 
 	 * @author Csaba Farkas csaba.farkas@mycit.ie
 	 */
 	
+	//Number of paints and time spent painting this panel
+	private static final PanelMetrics PAINT_METRICS = new PanelMetrics("RulesPanel");
+	
+	//Font family of the texts
+	private static final String TEXT_FONT = "Monospaced";
+	
 	//Field variables
 	private boolean isDarkColor;
 	private JComboBox<String> colorSelectBox;
 	private ResourceBundle bundle;
 	private String[] lines;
+	private String rules;
+	private TextCache.Label[] textLabels;
 	
 	public RulesPanel() {
 		super();
@@ -76,6 +87,9 @@ public class RulesPanel  extends JPanel {
 				this.bundle.getString("line5"),	
 				this.bundle.getString("line6")	
 			};
+		this.rules = this.bundle.getString("rules");
+		this.textLabels = TextCache.createLabels(this.lines.length + 1);
+		TextCache.getInstance().invalidateOnChange(this);
 	}
 	
 	/**
@@ -84,6 +98,7 @@ public class RulesPanel  extends JPanel {
 	 */
 	@Override
 	public void paintComponent(Graphics g) {
+		long paintStart = PAINT_METRICS.paintStarted();
 		Graphics2D g2d = (Graphics2D) g;
 		super.paintComponent(g2d);
 		
@@ -98,34 +113,25 @@ public class RulesPanel  extends JPanel {
 		}
 		
 		//Draw "RULES" undelined and center aligned.
-		String rules = bundle.getString("rules");
-		
-		g2d.setFont(new Font("Monospaced", Font.BOLD, (int) (this.getHeight()*0.07)));
-		int stringWidth = getStringWidth(rules, g2d);
-		g2d.drawString(rules, this.getWidth()/2-stringWidth/2, (int) (this.getHeight()*0.25));
+		//The texts are laid out and measured once, by the TextCache
+		FontRenderContext frc = g2d.getFontRenderContext();
+		TextCache.Text text = this.textLabels[0].get(this.rules, TEXT_FONT, Font.BOLD, (int) (this.getHeight()*0.07), frc);
+		int stringWidth = text.getWidth();
+		text.draw(g2d, this.getWidth()/2-stringWidth/2, (int) (this.getHeight()*0.25));
 		
 		g2d.drawLine(this.getWidth()/2-stringWidth/2, (int) (this.getHeight()*0.26), this.getWidth()/2+stringWidth/2, (int) (this.getHeight()*0.26));
 		
 		//Draw six lines of rules with some line spacing
-		g2d.setFont(new Font("Monospaced", Font.PLAIN, (int) (this.getHeight()*0.03)));
+		int lineSize = (int) (this.getHeight()*0.03);
 		double textOffsetRatio = 0.31;
 		
-		for(String s : this.lines) {
-			stringWidth = getStringWidth(s, g2d);
-			g2d.drawString(s, this.getWidth()/2-stringWidth/2, (int) (this.getHeight()*textOffsetRatio));
+		for(int i = 0; i < this.lines.length; i++) {
+			text = this.textLabels[i + 1].get(this.lines[i], TEXT_FONT, Font.PLAIN, lineSize, frc);
+			stringWidth = text.getWidth();
+			text.draw(g2d, this.getWidth()/2-stringWidth/2, (int) (this.getHeight()*textOffsetRatio));
 			textOffsetRatio += 0.06;
 		}
-	}
-	
-	/**
-	 * <p>Private method which returns an integer value indicating the width of the string in the 
-	 * given graphics context.</p>
-	 * 
-	 * @param string of which width is to be returned.
-	 * @param g2d given Graphics2D context
-	 * @return the width of the string
-	 */
-	private int getStringWidth(String string, Graphics2D g2d) {
-		return (int) g2d.getFontMetrics().getStringBounds(string, g2d).getWidth();
+		
+		PAINT_METRICS.paintFinished(paintStart);
 	}
 }
@@ -0,0 +1,369 @@
+package view;
+
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Insets;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineBreakMeasurer;
+import java.awt.font.TextAttribute;
+import java.awt.font.TextLayout;
+import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+
+@SuppressWarnings("serial")
+public class StreamingTextView extends JComponent implements Scrollable {
+
+	/**
+	 * <p>Read-only view of a long text which is wrapped at word boundaries, like a
+	 * JTextArea with line and word wrap. It is made for documents of megabytes, which
+	 * arrive in chunks while the view is already shown.</p>
+	 * <ul>
+	 * <li>Every line of the text is a paragraph. append() adds paragraphs, and its cost
+	 * only depends on the number of the new paragraphs.</li>
+	 * <li>A paragraph is only laid out with a LineBreakMeasurer when it is painted. Until
+	 * then, its height is estimated from its length and the average width of a
+	 * character.</li>
+	 * <li>When the font or the width changes, every layout is dropped and the heights are
+	 * estimated again, which is cheap. Only the visible paragraphs are laid out again,
+	 * and the paragraph at the top of the viewport stays at the top.</li>
+	 * <li>The layouts of the last MAX_LAYOUTS painted paragraphs are kept.</li>
+	 * </ul>
+	 * <p>The view is only used on the Event Dispatch Thread.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final int MAX_LAYOUTS = 512;
+
+	//String used to estimate the average width of a character
+	private static final String SAMPLE_TEXT = "the quick brown fox jumps over the lazy dog";
+
+	//Instance variables
+	private final ArrayList<String> paragraphs;
+	private int[] heights;
+	private int[] tops;
+	private int topsValidUntil;
+	private int layoutWidth;
+	private int lineHeight;
+	private int ascent;
+	private float charWidth;
+	private FontRenderContext frc;
+	private final LinkedHashMap<Integer, TextLayout[]> layouts;
+
+	/**
+	 * <p>Constructor method creates an empty view.</p>
+	 *
+	 * @param font font of the text.
+	 */
+	public StreamingTextView(Font font) {
+		super();
+		this.paragraphs = new ArrayList<String>();
+		this.heights = new int[64];
+		this.tops = new int[65];
+		this.layouts = new LinkedHashMap<Integer, TextLayout[]>(MAX_LAYOUTS * 2, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, TextLayout[]> eldest) {
+				return size() > MAX_LAYOUTS;
+			}
+		};
+		this.setOpaque(true);
+		this.setFont(font);
+	}
+
+	/**
+	 * <p>Method adds paragraphs to the end of the text.</p>
+	 *
+	 * @param lines the new paragraphs, without line separators.
+	 */
+	public void append(List<String> lines) {
+		int count = this.paragraphs.size();
+		int newCount = count + lines.size();
+		if(newCount > this.heights.length) {
+			int capacity = Math.max(newCount, this.heights.length * 2);
+			this.heights = Arrays.copyOf(this.heights, capacity);
+			this.tops = Arrays.copyOf(this.tops, capacity + 1);
+		}
+		for(String line : lines) {
+			int index = this.paragraphs.size();
+			this.paragraphs.add(line);
+			this.heights[index] = estimateHeight(line);
+		}
+		this.topsValidUntil = Math.min(this.topsValidUntil, count);
+		revalidate();
+
+		//Only repaint when the new paragraphs are visible
+		updateTops();
+		Rectangle visible = getVisibleRect();
+		if(getInsets().top + this.tops[count] < visible.y + visible.height) {
+			repaint();
+		}
+	}
+
+	/**
+	 * <p>Accessor method which returns the number of paragraphs.</p>
+	 *
+	 * @return number of paragraphs.
+	 */
+	public int getParagraphCount() {
+		return this.paragraphs.size();
+	}
+
+	/**
+	 * <p>Overriden setFont method. The text is laid out again lazily, and the paragraph at
+	 * the top of the viewport stays at the top.</p>
+	 */
+	@Override
+	public void setFont(Font font) {
+		super.setFont(font);
+		if(this.paragraphs != null) {
+			relayout();
+		}
+	}
+
+	/**
+	 * <p>Overriden setBounds method. When the width changes, the text is wrapped again
+	 * lazily.</p>
+	 */
+	@Override
+	public void setBounds(int x, int y, int width, int height) {
+		boolean isResized = width != getWidth();
+		super.setBounds(x, y, width, height);
+		if(isResized && this.paragraphs != null) {
+			relayout();
+		}
+	}
+
+	/**
+	 * <p>Overriden getPreferredSize method. The height is the sum of the heights of the
+	 * paragraphs, estimated for the ones which weren't painted yet.</p>
+	 */
+	@Override
+	public Dimension getPreferredSize() {
+		if(isPreferredSizeSet()) {
+			return super.getPreferredSize();
+		}
+		updateTops();
+		Insets insets = getInsets();
+		return new Dimension(insets.left + insets.right,
+				insets.top + insets.bottom + this.tops[this.paragraphs.size()]);
+	}
+
+	/**
+	 * <p>Overriden paintComponent method. It lays out and draws the paragraphs in the clip
+	 * only.</p>
+	 */
+	@Override
+	protected void paintComponent(Graphics g) {
+		Graphics2D g2d = (Graphics2D) g;
+		Rectangle clip = g2d.getClipBounds();
+		if(clip == null) {
+			clip = getVisibleRect();
+		}
+		if(isOpaque()) {
+			g2d.setColor(getBackground());
+			g2d.fillRect(clip.x, clip.y, clip.width, clip.height);
+		}
+		int count = this.paragraphs.size();
+		if(count == 0 || this.layoutWidth <= 0) {
+			return;
+		}
+
+		//Text is drawn with the antialiasing of the desktop, like Swing's text components
+		Map<?, ?> hints = (Map<?, ?>) getToolkit().getDesktopProperty("awt.font.desktophints");
+		if(hints != null) {
+			g2d.addRenderingHints(hints);
+		}
+		FontRenderContext paintFrc = g2d.getFontRenderContext();
+		if(!paintFrc.equals(this.frc)) {
+			this.frc = paintFrc;
+			this.layouts.clear();
+		}
+
+		Insets insets = getInsets();
+		g2d.setColor(getForeground());
+		updateTops();
+		boolean isChanged = false;
+		int index = paragraphAt(clip.y - insets.top);
+		int y = insets.top + this.tops[index];
+		while(index < count && y < clip.y + clip.height) {
+			int estimate = this.heights[index];
+			TextLayout[] lines = getLayout(index);
+			isChanged |= this.heights[index] != estimate;
+			float baseline = y + this.ascent;
+			for(TextLayout line : lines) {
+				line.draw(g2d, insets.left, baseline);
+				baseline += this.lineHeight;
+			}
+			y += this.heights[index];
+			index++;
+		}
+
+		//Estimates were replaced by the measured heights, so the paragraphs below moved
+		if(isChanged) {
+			revalidate();
+			repaint();
+		}
+	}
+
+	@Override
+	public Dimension getPreferredScrollableViewportSize() {
+		return getPreferredSize();
+	}
+
+	@Override
+	public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+		return orientation == SwingConstants.VERTICAL ? this.lineHeight : 10;
+	}
+
+	@Override
+	public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+		if(orientation == SwingConstants.VERTICAL) {
+			return Math.max(this.lineHeight, visibleRect.height - this.lineHeight);
+		}
+		return visibleRect.width;
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportWidth() {
+		return true;
+	}
+
+	@Override
+	public boolean getScrollableTracksViewportHeight() {
+		return getParent() instanceof JViewport && getParent().getHeight() > getPreferredSize().height;
+	}
+
+	/**
+	 * <p>Private method which drops every layout and estimates the heights for the current
+	 * font and width. The paragraph at the top of the viewport is scrolled back to the
+	 * top.</p>
+	 */
+	private void relayout() {
+		int count = this.paragraphs.size();
+		int anchor = -1;
+		double anchorOffset = 0;
+		if(count > 0 && getParent() instanceof JViewport) {
+			updateTops();
+			int y = ((JViewport) getParent()).getViewPosition().y - getInsets().top;
+			anchor = paragraphAt(y);
+			anchorOffset = (y - this.tops[anchor]) / (double) Math.max(1, this.heights[anchor]);
+		}
+
+		FontMetrics metrics = getFontMetrics(getFont());
+		Insets insets = getInsets();
+		this.lineHeight = metrics.getHeight();
+		this.ascent = metrics.getAscent();
+		this.charWidth = metrics.stringWidth(SAMPLE_TEXT) / (float) SAMPLE_TEXT.length();
+		this.layoutWidth = getWidth() - insets.left - insets.right;
+		this.layouts.clear();
+		for(int i = 0; i < count; i++) {
+			this.heights[i] = estimateHeight(this.paragraphs.get(i));
+		}
+		this.topsValidUntil = 0;
+		revalidate();
+		repaint();
+
+		if(anchor >= 0) {
+			updateTops();
+			final JViewport viewport = (JViewport) getParent();
+			final int y = getInsets().top + this.tops[anchor] + (int) (anchorOffset * this.heights[anchor]);
+
+			//The viewport is laid out again first
+			SwingUtilities.invokeLater(new Runnable() {
+
+				@Override
+				public void run() {
+					int maxY = Math.max(0, getHeight() - viewport.getExtentSize().height);
+					viewport.setViewPosition(new Point(0, Math.min(y, maxY)));
+				}
+			});
+		}
+	}
+
+	/**
+	 * <p>Private method which returns the estimated height of a paragraph.</p>
+	 */
+	private int estimateHeight(String paragraph) {
+		if(this.layoutWidth <= 0) {
+			return this.lineHeight;
+		}
+		int lines = (int) Math.ceil(paragraph.length() * this.charWidth / this.layoutWidth);
+		return Math.max(1, lines) * this.lineHeight;
+	}
+
+	/**
+	 * <p>Private method which returns the lines of a paragraph, and lays it out if it is
+	 * not cached. The measured height replaces the estimate.</p>
+	 */
+	private TextLayout[] getLayout(int index) {
+		TextLayout[] lines = this.layouts.get(index);
+		if(lines != null) {
+			return lines;
+		}
+		String paragraph = this.paragraphs.get(index);
+		ArrayList<TextLayout> wrapped = new ArrayList<TextLayout>();
+		if(!paragraph.isEmpty()) {
+			AttributedString text = new AttributedString(paragraph);
+			text.addAttribute(TextAttribute.FONT, getFont());
+			LineBreakMeasurer measurer = new LineBreakMeasurer(text.getIterator(), this.frc);
+			while(measurer.getPosition() < paragraph.length()) {
+				wrapped.add(measurer.nextLayout(this.layoutWidth));
+			}
+		}
+		lines = wrapped.toArray(new TextLayout[wrapped.size()]);
+		this.layouts.put(index, lines);
+
+		int height = Math.max(1, lines.length) * this.lineHeight;
+		if(height != this.heights[index]) {
+			this.heights[index] = height;
+			this.topsValidUntil = Math.min(this.topsValidUntil, index);
+		}
+		return lines;
+	}
+
+	/**
+	 * <p>Private method which computes the y coordinates of the paragraphs which changed
+	 * since the last call.</p>
+	 */
+	private void updateTops() {
+		int count = this.paragraphs.size();
+		for(int i = this.topsValidUntil; i < count; i++) {
+			this.tops[i + 1] = this.tops[i] + this.heights[i];
+		}
+		this.topsValidUntil = count;
+	}
+
+	/**
+	 * <p>Private method which returns the paragraph at a y coordinate, relative to the top
+	 * of the text.</p>
+	 */
+	private int paragraphAt(int y) {
+		int low = 0;
+		int high = this.paragraphs.size() - 1;
+		while(low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if(this.tops[middle] <= y) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+}
@@ -0,0 +1,352 @@
+package view;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Rectangle2D;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.JComponent;
+
+public class TextCache {
+
+	/**
+	 * <p>Cache of the fonts and the measured texts of the custom-painted panels, shared by
+	 * every panel. A text is laid out once into a GlyphVector and measured once; painting
+	 * it afterwards only draws the glyphs.</p>
+	 * <ul>
+	 * <li>Fonts are cached by family, style and size.</li>
+	 * <li>Texts are cached by string, font and FontRenderContext, in the order of their
+	 * last use; when there are more than MAX_TEXTS, the least recently used is evicted.</li>
+	 * <li>Every panel keeps a {@link Label} for every string it draws. A label remembers
+	 * the text it found last time, so when nothing changed, a paint doesn't even look up
+	 * the cache, and nothing is allocated or measured.</li>
+	 * <li>invalidate() empties the cache and makes every label look up its text again. It
+	 * is called when a panel is resized and when its locale changes.</li>
+	 * </ul>
+	 * <p>The cache is used by the Event Dispatch Thread and by the render thread of the
+	 * {@link ActiveRenderer}, so its methods are synchronized. A label belongs to one
+	 * thread.</p>
+	 * <p>Date of last modification: 18/10/2026</p>
+	 */
+
+	public static final int MAX_TEXTS = 256;
+
+	//Singleton class
+	private static final TextCache INSTANCE = new TextCache();
+
+	/**
+	 * <p>Static function which returns the shared cache.</p>
+	 *
+	 * @return the text cache.
+	 */
+	public static TextCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * <p>A string laid out in a font: its glyphs and the bounds returned by
+	 * FontMetrics.getStringBounds.</p>
+	 */
+	public static class Text {
+		private final Font font;
+		private final GlyphVector glyphs;
+		private final int width;
+		private final int height;
+
+		private Text(String string, Font font, FontRenderContext frc) {
+			this.font = font;
+			this.glyphs = font.createGlyphVector(frc, string);
+			Rectangle2D bounds = font.getStringBounds(string, frc);
+			this.width = (int) bounds.getWidth();
+			this.height = (int) bounds.getHeight();
+		}
+
+		/**
+		 * <p>Method draws the text with its baseline at y, like Graphics.drawString.</p>
+		 *
+		 * @param g2d graphics to draw into, with the color of the text set.
+		 * @param x left end of the baseline.
+		 * @param y baseline.
+		 */
+		public void draw(Graphics2D g2d, float x, float y) {
+			g2d.drawGlyphVector(this.glyphs, x, y);
+		}
+
+		/**
+		 * <p>Accessor method which returns the font of the text.</p>
+		 *
+		 * @return font.
+		 */
+		public Font getFont() {
+			return this.font;
+		}
+
+		/**
+		 * <p>Accessor method which returns the width of the text.</p>
+		 *
+		 * @return width in pixels.
+		 */
+		public int getWidth() {
+			return this.width;
+		}
+
+		/**
+		 * <p>Accessor method which returns the height of the text.</p>
+		 *
+		 * @return height in pixels.
+		 */
+		public int getHeight() {
+			return this.height;
+		}
+	}
+
+	/**
+	 * <p>One string drawn by a panel. get() returns the text of the last call when the
+	 * string, the font and the FontRenderContext are the same and the cache wasn't
+	 * invalidated since.</p>
+	 */
+	public static class Label {
+		private String string;
+		private String family;
+		private int style;
+		private int size;
+		private FontRenderContext frc;
+		private int generation = -1;
+		private Text text;
+
+		/**
+		 * <p>Method returns the laid out text.</p>
+		 *
+		 * @param string the string to draw.
+		 * @param family font family.
+		 * @param style font style.
+		 * @param size font size.
+		 * @param frc FontRenderContext of the graphics.
+		 * @return the text.
+		 */
+		public Text get(String string, String family, int style, int size, FontRenderContext frc) {
+			TextCache cache = INSTANCE;
+			if(this.generation != cache.generation || size != this.size || style != this.style
+					|| !string.equals(this.string) || !family.equals(this.family) || !frc.equals(this.frc)) {
+				this.text = cache.getText(string, family, style, size, frc);
+				this.string = string;
+				this.family = family;
+				this.style = style;
+				this.size = size;
+				this.frc = frc;
+				this.generation = cache.generation;
+			}
+			return this.text;
+		}
+
+		/**
+		 * <p>Method returns the laid out text in the font and with the FontRenderContext of
+		 * the graphics.</p>
+		 *
+		 * @param string the string to draw.
+		 * @param g2d graphics with the font set.
+		 * @return the text.
+		 */
+		public Text get(String string, Graphics2D g2d) {
+			Font font = g2d.getFont();
+			return get(string, font.getFamily(), font.getStyle(), font.getSize(), g2d.getFontRenderContext());
+		}
+	}
+
+	/**
+	 * <p>A string made of a constant prefix and a number, eg. "LEVEL " + 5. The string is
+	 * only concatenated again when the number changes.</p>
+	 */
+	public static class NumberText {
+		private final String prefix;
+		private boolean isSet;
+		private long value;
+		private String string;
+
+		/**
+		 * <p>Constructor method creates an instance of this class.</p>
+		 *
+		 * @param prefix the text before the number.
+		 */
+		public NumberText(String prefix) {
+			this.prefix = prefix;
+		}
+
+		/**
+		 * <p>Method returns the prefix followed by the number.</p>
+		 *
+		 * @param value the number.
+		 * @return the string.
+		 */
+		public String get(long value) {
+			if(!this.isSet || value != this.value) {
+				this.string = this.prefix + value;
+				this.value = value;
+				this.isSet = true;
+			}
+			return this.string;
+		}
+	}
+
+	/**
+	 * <p>Key of a text in the cache.</p>
+	 */
+	private static class Key {
+		private final String string;
+		private final Font font;
+		private final FontRenderContext frc;
+
+		private Key(String string, Font font, FontRenderContext frc) {
+			this.string = string;
+			this.font = font;
+			this.frc = frc;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if(!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return this.string.equals(other.string) && this.font.equals(other.font) && this.frc.equals(other.frc);
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.string.hashCode() * 31 + this.font.hashCode()) * 31 + this.frc.hashCode();
+		}
+	}
+
+	//Instance variables
+	private final Map<String, Font> fonts;
+	private final LinkedHashMap<Key, Text> texts;
+	private volatile int generation;
+	private long hits;
+	private long misses;
+
+	private TextCache() {
+		this.fonts = new HashMap<String, Font>();
+		this.texts = new LinkedHashMap<Key, Text>(MAX_TEXTS * 2, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Text> eldest) {
+				return size() > MAX_TEXTS;
+			}
+		};
+	}
+
+	/**
+	 * <p>Static method which creates labels for the strings of a panel.</p>
+	 *
+	 * @param count number of labels.
+	 * @return new labels.
+	 */
+	public static Label[] createLabels(int count) {
+		Label[] labels = new Label[count];
+		for(int i = 0; i < count; i++) {
+			labels[i] = new Label();
+		}
+		return labels;
+	}
+
+	/**
+	 * <p>Method invalidates the cache whenever the component is resized or its locale
+	 * changes.</p>
+	 *
+	 * @param component a panel which paints texts of the cache.
+	 */
+	public void invalidateOnChange(JComponent component) {
+		component.addComponentListener(new ComponentAdapter() {
+
+			@Override
+			public void componentResized(ComponentEvent e) {
+				invalidate();
+			}
+		});
+		component.addPropertyChangeListener("locale", new PropertyChangeListener() {
+
+			@Override
+			public void propertyChange(PropertyChangeEvent evt) {
+				invalidate();
+			}
+		});
+	}
+
+	/**
+	 * <p>Method returns the font of the family, style and size. A font is created once.</p>
+	 *
+	 * @param family font family.
+	 * @param style font style.
+	 * @param size font size.
+	 * @return the font.
+	 */
+	public synchronized Font getFont(String family, int style, int size) {
+		String key = family + '/' + style + '/' + size;
+		Font font = this.fonts.get(key);
+		if(font == null) {
+			font = new Font(family, style, size);
+			this.fonts.put(key, font);
+		}
+		return font;
+	}
+
+	/**
+	 * <p>Method returns a text laid out in a font, and lays it out if it is not cached.</p>
+	 *
+	 * @param string the string.
+	 * @param family font family.
+	 * @param style font style.
+	 * @param size font size.
+	 * @param frc FontRenderContext of the graphics.
+	 * @return the text.
+	 */
+	public synchronized Text getText(String string, String family, int style, int size, FontRenderContext frc) {
+		Font font = getFont(family, style, size);
+		Key key = new Key(string, font, frc);
+		Text text = this.texts.get(key);
+		if(text == null) {
+			this.misses++;
+			text = new Text(string, font, frc);
+			this.texts.put(key, text);
+		} else {
+			this.hits++;
+		}
+		return text;
+	}
+
+	/**
+	 * <p>Method empties the cache. Every {@link Label} looks up its text again.</p>
+	 */
+	public synchronized void invalidate() {
+		this.fonts.clear();
+		this.texts.clear();
+		this.generation++;
+	}
+
+	/**
+	 * <p>Accessor method which returns the number of lookups which found the text.</p>
+	 *
+	 * @return number of hits.
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * <p>Accessor method which returns the number of lookups which laid out the text.</p>
+	 *
+	 * @return number of misses.
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+}